@@ -46,8 +46,11 @@ public class AbandonedTrace implements TrackedUse, AutoCloseable {
     /** A list of objects created by children of this object. */
     private final List<WeakReference<AbandonedTrace>> traceList = new ArrayList<>();
 
-    /** Last time this connection was used. */
-    private volatile Instant lastUsedInstant = Instant.EPOCH;
+    /**
+     * Last time this connection was used, in milliseconds since the epoch. Kept as a primitive so that recording a use,
+     * which happens on every statement execution, does not allocate.
+     */
+    private volatile long lastUsedMillis;
 
     /**
      * Creates a new AbandonedTrace without config and without doing abandoned tracing.
@@ -117,12 +120,12 @@ public class AbandonedTrace implements TrackedUse, AutoCloseable {
     @Override
     @Deprecated
     public long getLastUsed() {
-        return lastUsedInstant.toEpochMilli();
+        return lastUsedMillis;
     }
 
     @Override
     public Instant getLastUsedInstant() {
-        return lastUsedInstant;
+        return Instant.ofEpochMilli(lastUsedMillis);
     }
 
     /**
@@ -200,7 +203,7 @@ public class AbandonedTrace implements TrackedUse, AutoCloseable {
      * Sets the time this object was last used to the current time in milliseconds.
      */
     protected void setLastUsed() {
-        lastUsedInstant = Instant.now();
+        lastUsedMillis = System.currentTimeMillis();
     }
 
     /**
@@ -211,7 +214,7 @@ public class AbandonedTrace implements TrackedUse, AutoCloseable {
      * @since 2.10.0
      */
     protected void setLastUsed(final Instant lastUsedInstant) {
-        this.lastUsedInstant = lastUsedInstant;
+        this.lastUsedMillis = lastUsedInstant.toEpochMilli();
     }
 
     /**
@@ -223,6 +226,6 @@ public class AbandonedTrace implements TrackedUse, AutoCloseable {
      */
     @Deprecated
     protected void setLastUsed(final long lastUsedMillis) {
-        this.lastUsedInstant = Instant.ofEpochMilli(lastUsedMillis);
+        this.lastUsedMillis = lastUsedMillis;
     }
 }
@@ -32,9 +32,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 import java.util.stream.Collector;
@@ -140,6 +144,26 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
 
     private Duration defaultQueryTimeoutDuration;
 
+    /**
+     * The default fetch size of statements created from connections of this pool.
+     */
+    private Integer defaultFetchSize;
+
+    /**
+     * The default maximum number of rows of statements created from connections of this pool.
+     */
+    private Integer defaultMaxRows;
+
+    /**
+     * Whether statements track their open result sets in a plain list instead of weakly referenced traces.
+     */
+    private volatile boolean thinResultSetTracking;
+
+    /**
+     * Whether result sets resolve each column label to its index once.
+     */
+    private volatile boolean cacheColumnLabels;
+
     /**
      * The default "catalog" of connections created by this pool.
      */
@@ -222,6 +246,62 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
 
     private volatile boolean clearStatementPoolOnReturn;
 
+    /**
+     * Whether a statement request that finds every pooled statement in use gets an unpooled statement instead of
+     * failing.
+     */
+    private volatile boolean bypassStatementPoolWhenExhausted;
+
+    /**
+     * Statement pool statistics of all connections, kept across restarts.
+     */
+    private final StatementPoolStatistics statementPoolStatistics = new StatementPoolStatistics();
+
+    /**
+     * Whether pooled prepared statements cache their metadata.
+     */
+    private volatile boolean cacheStatementMetaData;
+
+    /**
+     * The version of the metadata that pooled prepared statements cache, kept across restarts.
+     */
+    private final AtomicLong statementMetaDataVersion = new AtomicLong();
+
+    /**
+     * Whether connections answer database metadata from a cache shared by the pool.
+     */
+    private volatile boolean cacheDatabaseMetaData;
+
+    /**
+     * How long the database metadata cache keeps catalog query results.
+     */
+    private volatile Duration databaseMetaDataTimeToLive = Duration.ZERO;
+
+    /**
+     * The database metadata cache of the current pool, if any.
+     */
+    private volatile DatabaseMetaDataCache databaseMetaDataCache;
+
+    /**
+     * Whether a shared timer enforces the query timeouts of statements instead of the driver.
+     */
+    private volatile boolean sharedQueryTimeoutTimer;
+
+    /**
+     * The query timeout timer of the current pool, if any.
+     */
+    private volatile ScheduledThreadPoolExecutor queryTimeoutScheduler;
+
+    /**
+     * The executor that closes destroyed connections, if any.
+     */
+    private volatile Executor abortExecutor;
+
+    /**
+     * The executor that returns closed connections to the pool, if any.
+     */
+    private volatile Executor returnExecutor;
+
     /**
      * <p>
      * The maximum number of open statements that can be allocated from the statement pool at the same time, or negative
@@ -265,6 +345,16 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      */
     private int numTestsPerEvictionRun = BaseObjectPoolConfig.DEFAULT_NUM_TESTS_PER_EVICTION_RUN;
 
+    /**
+     * The number of threads that test idle connections in parallel, or 0 to test them on the evictor thread of the pool.
+     */
+    private int evictionThreads;
+
+    /**
+     * The evictor that tests idle connections in parallel, if any.
+     */
+    private volatile ConcurrentEvictor concurrentEvictor;
+
     /**
      * The minimum amount of time an object may sit idle in the pool before it is eligible for eviction by the idle
      * object evictor (if any).
@@ -314,6 +404,11 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      */
     private volatile Duration validationQueryTimeoutDuration = Duration.ofSeconds(-1);
 
+    /**
+     * The duration during which a connection that completed a call to the database is not validated again.
+     */
+    private volatile Duration validationSkipWindow = Duration.ZERO;
+
     /**
      * The fully qualified Java class name of a {@link ConnectionFactory} implementation.
      */
@@ -328,6 +423,16 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      */
     private volatile List<String> connectionInitSqls;
 
+    /**
+     * Whether the connectionInitSqls are sent to the database as a single batch.
+     */
+    private volatile boolean batchConnectionInitSqls;
+
+    /**
+     * These SQL statements are prepared into the statement pool of each new Connection.
+     */
+    private volatile List<String> warmUpSqls;
+
     /**
      * Controls access to the underlying connection.
      */
@@ -445,6 +550,9 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
             throw e;
         } catch (final Exception e) {
             throw new SQLException(Utils.getMessage("pool.close.fail"), e);
+        } finally {
+            stopConcurrentEvictor();
+            stopQueryTimeoutScheduler();
         }
     }
 
@@ -455,6 +563,8 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         final GenericObjectPool<?> oldPool = connectionPool;
         connectionPool = null;
         Utils.closeQuietly(oldPool);
+        stopConcurrentEvictor();
+        stopQueryTimeoutScheduler();
     }
 
     /**
@@ -552,6 +662,12 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
                 poolableConnectionFactory = createPoolableConnectionFactory(driverConnectionFactory);
                 poolableConnectionFactory.setPoolStatements(poolPreparedStatements);
                 poolableConnectionFactory.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+                databaseMetaDataCache = cacheDatabaseMetaData ? new DatabaseMetaDataCache(databaseMetaDataTimeToLive) : null;
+                poolableConnectionFactory.setDatabaseMetaDataCache(databaseMetaDataCache);
+                if (sharedQueryTimeoutTimer) {
+                    queryTimeoutScheduler = createQueryTimeoutScheduler();
+                    poolableConnectionFactory.setQueryTimeoutScheduler(queryTimeoutScheduler);
+                }
                 // create a pool for our connections
                 createConnectionPool(poolableConnectionFactory);
                 final DataSource newDataSource = createDataSourceInstance();
@@ -573,6 +689,21 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         }
     }
 
+    /**
+     * Creates the single daemon thread timer that cancels statements exceeding their query timeout.
+     *
+     * @return A new query timeout timer.
+     */
+    private ScheduledThreadPoolExecutor createQueryTimeoutScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "commons-dbcp2-query-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     /**
      * Creates the actual data source instance. This method only exists so that subclasses can replace the
      * implementation class.
@@ -625,7 +756,10 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
             }
             connectionFactory.setValidationQuery(validationQuery);
             connectionFactory.setValidationQueryTimeout(validationQueryTimeoutDuration);
+            connectionFactory.setValidationSkipWindow(validationSkipWindow);
             connectionFactory.setConnectionInitSql(connectionInitSqls);
+            connectionFactory.setBatchConnectionInitSqls(batchConnectionInitSqls);
+            connectionFactory.setWarmUpSqls(warmUpSqls);
             connectionFactory.setDefaultReadOnly(defaultReadOnly);
             connectionFactory.setDefaultAutoCommit(defaultAutoCommit);
             connectionFactory.setDefaultTransactionIsolation(defaultTransactionIsolation);
@@ -634,11 +768,20 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
             connectionFactory.setCacheState(cacheState);
             connectionFactory.setPoolStatements(poolPreparedStatements);
             connectionFactory.setClearStatementPoolOnReturn(clearStatementPoolOnReturn);
+            connectionFactory.setBypassStatementPoolWhenExhausted(bypassStatementPoolWhenExhausted);
+            connectionFactory.setStatementPoolStatistics(statementPoolStatistics);
+            connectionFactory.setStatementMetaDataVersion(cacheStatementMetaData ? this::getStatementMetaDataVersion : null);
             connectionFactory.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
             connectionFactory.setMaxConn(maxConnDuration);
             connectionFactory.setRollbackOnReturn(getRollbackOnReturn());
             connectionFactory.setAutoCommitOnReturn(getAutoCommitOnReturn());
             connectionFactory.setDefaultQueryTimeout(getDefaultQueryTimeoutDuration());
+            connectionFactory.setDefaultFetchSize(defaultFetchSize);
+            connectionFactory.setDefaultMaxRows(defaultMaxRows);
+            connectionFactory.setThinResultSetTracking(thinResultSetTracking);
+            connectionFactory.setCacheColumnLabels(cacheColumnLabels);
+            connectionFactory.setAbortExecutor(abortExecutor);
+            connectionFactory.setReturnExecutor(returnExecutor);
             connectionFactory.setFastFailValidation(fastFailValidation);
             connectionFactory.setDisconnectionSqlCodes(disconnectionSqlCodes);
             connectionFactory.setDisconnectionIgnoreSqlCodes(disconnectionIgnoreSqlCodes);
@@ -662,6 +805,17 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         }
     }
 
+    /**
+     * Gets the executor that closes destroyed connections.
+     *
+     * @return The abort executor, or null if connections are closed on the thread that destroys them.
+     * @see #setAbortExecutor(Executor)
+     * @since 2.15.0
+     */
+    public Executor getAbortExecutor() {
+        return abortExecutor;
+    }
+
     /**
      * Gets the print writer used by this configuration to log information on abandoned objects.
      *
@@ -789,6 +943,29 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return connectionProperties;
     }
 
+    /**
+     * Gets the database metadata cache of the current pool.
+     *
+     * @return the database metadata cache, or null if database metadata is not cached or the pool has not been
+     *         initialized.
+     * @see #setCacheDatabaseMetaData(boolean)
+     * @since 2.15.0
+     */
+    public DatabaseMetaDataCache getDatabaseMetaDataCache() {
+        return databaseMetaDataCache;
+    }
+
+    /**
+     * Gets how long the database metadata cache keeps catalog query results.
+     *
+     * @return how long catalog query results are kept, zero if they are not cached.
+     * @see #setDatabaseMetaDataTimeToLive(Duration)
+     * @since 2.15.0
+     */
+    public Duration getDatabaseMetaDataTimeToLive() {
+        return databaseMetaDataTimeToLive;
+    }
+
     /**
      * Gets the default auto-commit property.
      *
@@ -809,6 +986,28 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return this.defaultCatalog;
     }
 
+    /**
+     * Gets the default fetch size that will be used for {@link java.sql.Statement Statement}s created from this
+     * connection. {@code null} means that the driver default will be used.
+     *
+     * @return The default fetch size.
+     * @since 2.15.0
+     */
+    public Integer getDefaultFetchSize() {
+        return defaultFetchSize;
+    }
+
+    /**
+     * Gets the default maximum number of rows that will be used for {@link java.sql.Statement Statement}s created from
+     * this connection. {@code null} means that the driver default will be used.
+     *
+     * @return The default maximum number of rows.
+     * @since 2.15.0
+     */
+    public Integer getDefaultMaxRows() {
+        return defaultMaxRows;
+    }
+
     /**
      * Gets the default query timeout that will be used for {@link java.sql.Statement Statement}s created from this
      * connection. {@code null} means that the driver default will be used.
@@ -977,6 +1176,58 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return autoCommitOnReturn;
     }
 
+    /**
+     * Gets how many connections the last eviction sweep destroyed.
+     *
+     * @return The destroyed connection count of the last sweep, or 0 if idle connections are not tested in parallel.
+     * @see #setEvictionThreads(int)
+     * @since 2.15.0
+     */
+    @Override
+    public int getEvictionLastSweepDestroyedCount() {
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        return evictor == null ? 0 : evictor.getLastSweepDestroyedCount();
+    }
+
+    /**
+     * Gets how many milliseconds the last eviction sweep took.
+     *
+     * @return The duration of the last sweep, or 0 if idle connections are not tested in parallel.
+     * @see #setEvictionThreads(int)
+     * @since 2.15.0
+     */
+    @Override
+    public long getEvictionLastSweepDurationMillis() {
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        return evictor == null ? 0 : evictor.getLastSweepDuration().toMillis();
+    }
+
+    /**
+     * Gets how many connections the last eviction sweep tested.
+     *
+     * @return The tested connection count of the last sweep, or 0 if idle connections are not tested in parallel.
+     * @see #setEvictionThreads(int)
+     * @since 2.15.0
+     */
+    @Override
+    public int getEvictionLastSweepTestedCount() {
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        return evictor == null ? 0 : evictor.getLastSweepTestedCount();
+    }
+
+    /**
+     * Gets how many milliseconds the longest eviction sweep took.
+     *
+     * @return The duration of the longest sweep, or 0 if idle connections are not tested in parallel.
+     * @see #setEvictionThreads(int)
+     * @since 2.15.0
+     */
+    @Override
+    public long getEvictionMaxSweepDurationMillis() {
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        return evictor == null ? 0 : evictor.getMaxSweepDuration().toMillis();
+    }
+
     /**
      * Gets the EvictionPolicy implementation in use with this connection pool.
      *
@@ -986,6 +1237,30 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return evictionPolicyClassName;
     }
 
+    /**
+     * Gets how many eviction sweeps ran.
+     *
+     * @return The sweep count, or 0 if idle connections are not tested in parallel.
+     * @see #setEvictionThreads(int)
+     * @since 2.15.0
+     */
+    @Override
+    public long getEvictionSweepCount() {
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        return evictor == null ? 0 : evictor.getSweepCount();
+    }
+
+    /**
+     * Gets the number of threads that test idle connections in parallel.
+     *
+     * @return The number of eviction threads, 0 if idle connections are tested on the evictor thread of the pool.
+     * @see #setEvictionThreads(int)
+     * @since 2.15.0
+     */
+    public synchronized int getEvictionThreads() {
+        return evictionThreads;
+    }
+
     /**
      * True means that validation will fail immediately for connections that have previously thrown SQLExceptions with
      * SQL State indicating fatal disconnection errors.
@@ -1367,6 +1642,17 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return abandonedConfig == null ? Duration.ofSeconds(300) : abandonedConfig.getRemoveAbandonedTimeoutDuration();
     }
 
+    /**
+     * Gets the executor that returns closed connections to the pool.
+     *
+     * @return The return executor, or null if connections are returned on the thread that closes them.
+     * @see #setReturnExecutor(Executor)
+     * @since 2.15.0
+     */
+    public Executor getReturnExecutor() {
+        return returnExecutor;
+    }
+
     /**
      * Gets the current value of the flag that controls whether a connection will be rolled back when it is returned to
      * the pool if auto commit is not enabled and the connection is not read only.
@@ -1417,6 +1703,87 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return softMinEvictableIdleDuration.toMillis();
     }
 
+    /**
+     * Gets the version of the metadata that pooled prepared statements cache.
+     *
+     * @return The statement metadata version.
+     * @see #invalidateStatementMetaData()
+     * @since 2.15.0
+     */
+    public long getStatementMetaDataVersion() {
+        return statementMetaDataVersion.get();
+    }
+
+    /**
+     * [Read Only] The number of pooled statements removed from the statement pool of an open connection, summed over
+     * all connections, for example to make room for another statement. A high count relative to the miss count
+     * suggests that {@link #getMaxOpenPreparedStatements() maxOpenPreparedStatements} is too small.
+     *
+     * @return The statement pool eviction count.
+     * @since 2.15.0
+     */
+    @Override
+    public long getStatementPoolEvictionCount() {
+        return statementPoolStatistics.getEvictionCount();
+    }
+
+    /**
+     * [Read Only] The number of prepared statement requests served from a statement pool, summed over all connections.
+     *
+     * @return The statement pool hit count.
+     * @since 2.15.0
+     */
+    @Override
+    public long getStatementPoolHitCount() {
+        return statementPoolStatistics.getHitCount();
+    }
+
+    /**
+     * [Read Only] The fraction of prepared statement requests served from a statement pool, over all connections, or 0
+     * if there have been no requests.
+     *
+     * @return The statement pool hit ratio.
+     * @since 2.15.0
+     */
+    @Override
+    public double getStatementPoolHitRatio() {
+        return statementPoolStatistics.getHitRatio();
+    }
+
+    /**
+     * [Read Only] The number of prepared statement requests that had to prepare a new statement, summed over all
+     * connections.
+     *
+     * @return The statement pool miss count.
+     * @since 2.15.0
+     */
+    @Override
+    public long getStatementPoolMissCount() {
+        return statementPoolStatistics.getMissCount();
+    }
+
+    /**
+     * [Read Only] The SQL of the statements currently held by the statement pools, mapped to the number of connections
+     * holding it, most widely held first.
+     *
+     * @return The resident SQL.
+     * @since 2.15.0
+     */
+    @Override
+    public Map<String, Long> getStatementPoolResidentSqls() {
+        return statementPoolStatistics.getResidentSqls();
+    }
+
+    /**
+     * Gets the statement pool statistics aggregated over all connections of this data source.
+     *
+     * @return The statement pool statistics.
+     * @since 2.15.0
+     */
+    public StatementPoolStatistics getStatementPoolStatistics() {
+        return statementPoolStatistics;
+    }
+
     /**
      * Gets the {code testOnBorrow} property.
      *
@@ -1527,6 +1894,30 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return validationQueryTimeoutDuration;
     }
 
+    /**
+     * Gets the list of SQL statements prepared into the statement pool of each new physical connection. Returns an
+     * empty list if there are no warm-up statements configured.
+     *
+     * @return warm-up SQL statements
+     * @see #setWarmUpSqls(List)
+     * @since 2.15.0
+     */
+    public List<String> getWarmUpSqls() {
+        final List<String> result = warmUpSqls;
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    /**
+     * Gets the duration during which a connection that completed a call to the database is not validated again.
+     *
+     * @return The validation skip window, zero or negative when connections are validated every time.
+     * @see #setValidationSkipWindow(Duration)
+     * @since 2.15.0
+     */
+    public Duration getValidationSkipWindow() {
+        return validationSkipWindow;
+    }
+
     /**
      * Manually invalidates a connection, effectively requesting the pool to try to close it, remove it from the pool
      * and reclaim pool capacity.
@@ -1562,6 +1953,18 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         }
     }
 
+    /**
+     * Discards the metadata that pooled prepared statements cache, for example after a schema change. Each statement
+     * reads its metadata again from the driver the next time it is asked for it.
+     *
+     * @see #setCacheStatementMetaData(boolean)
+     * @since 2.15.0
+     */
+    @Override
+    public void invalidateStatementMetaData() {
+        statementMetaDataVersion.incrementAndGet();
+    }
+
     /**
      * Gets the value of the accessToUnderlyingConnectionAllowed property.
      *
@@ -1572,6 +1975,62 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return this.accessToUnderlyingConnectionAllowed;
     }
 
+    /**
+     * Tests whether the connectionInitSqls are sent to the database as a single batch.
+     *
+     * @return true if the connectionInitSqls are batched.
+     * @see #setBatchConnectionInitSqls(boolean)
+     * @since 2.15.0
+     */
+    public boolean isBatchConnectionInitSqls() {
+        return batchConnectionInitSqls;
+    }
+
+    /**
+     * Tests whether a statement request that finds every pooled statement of a connection in use gets an unpooled
+     * statement instead of failing.
+     *
+     * @return true if an exhausted statement pool is bypassed.
+     * @see #setBypassStatementPoolWhenExhausted(boolean)
+     * @since 2.15.0
+     */
+    public boolean isBypassStatementPoolWhenExhausted() {
+        return bypassStatementPoolWhenExhausted;
+    }
+
+    /**
+     * Tests whether result sets resolve each column label to its index once.
+     *
+     * @return true if column label resolutions are cached.
+     * @see #setCacheColumnLabels(boolean)
+     * @since 2.15.0
+     */
+    public boolean isCacheColumnLabels() {
+        return cacheColumnLabels;
+    }
+
+    /**
+     * Tests whether connections answer database metadata from a cache shared by the pool.
+     *
+     * @return true if database metadata is cached.
+     * @see #setCacheDatabaseMetaData(boolean)
+     * @since 2.15.0
+     */
+    public boolean isCacheDatabaseMetaData() {
+        return cacheDatabaseMetaData;
+    }
+
+    /**
+     * Tests whether pooled prepared statements cache their metadata.
+     *
+     * @return true if pooled prepared statements cache their metadata.
+     * @see #setCacheStatementMetaData(boolean)
+     * @since 2.15.0
+     */
+    public boolean isCacheStatementMetaData() {
+        return cacheStatementMetaData;
+    }
+
     /**
      * Returns true if the statement pool is cleared when the connection is returned to its pool.
      *
@@ -1613,6 +2072,28 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return this.poolPreparedStatements;
     }
 
+    /**
+     * Tests whether a shared timer enforces the query timeouts of statements instead of the driver.
+     *
+     * @return true if a shared timer enforces query timeouts.
+     * @see #setSharedQueryTimeoutTimer(boolean)
+     * @since 2.15.0
+     */
+    public boolean isSharedQueryTimeoutTimer() {
+        return sharedQueryTimeoutTimer;
+    }
+
+    /**
+     * Tests whether statements track their open result sets in a plain list.
+     *
+     * @return true if thin result set tracking is on.
+     * @see #setThinResultSetTracking(boolean)
+     * @since 2.15.0
+     */
+    public boolean isThinResultSetTracking() {
+        return thinResultSetTracking;
+    }
+
     @Override
     public boolean isWrapperFor(final Class<?> iface) throws SQLException {
         return iface != null && iface.isInstance(this);
@@ -1744,6 +2225,25 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         }
     }
 
+    /**
+     * Sets the executor that closes destroyed connections. Destroying abandoned, expired or evicted connections then
+     * no longer blocks borrowers or the evictor while the driver closes a hung socket. Connections still closing on the
+     * executor keep counting against {@link #setMaxTotal(int) maxTotal}; creating a connection waits for them, up to
+     * {@link #setMaxWait(Duration) maxWait}, while the pool is full. The executor is not shut down when this data
+     * source is closed. Default is null, which closes connections on the thread that destroys them.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param abortExecutor the executor that closes destroyed connections, or null.
+     * @since 2.15.0
+     */
+    public void setAbortExecutor(final Executor abortExecutor) {
+        this.abortExecutor = abortExecutor;
+    }
+
     /**
      * Sets the print writer to be used by this configuration to log information on abandoned objects.
      *
@@ -1793,6 +2293,103 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.autoCommitOnReturn = autoCommitOnReturn;
     }
 
+    /**
+     * Sets whether the connectionInitSqls are sent to the database as a single JDBC batch instead of one round trip per
+     * statement. The statements must then not return result sets, for example session settings like {@code SET} or
+     * {@code ALTER SESSION} commands. Drivers that do not support batch updates execute the statements one at a time.
+     * Default is false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param batchConnectionInitSqls Whether to batch the connectionInitSqls.
+     * @since 2.15.0
+     */
+    public void setBatchConnectionInitSqls(final boolean batchConnectionInitSqls) {
+        this.batchConnectionInitSqls = batchConnectionInitSqls;
+    }
+
+    /**
+     * Sets whether a statement request that finds every pooled statement of a connection in use gets a new statement
+     * that bypasses the statement pool, and is closed for real when the application closes it, instead of failing
+     * with a "MaxOpenPreparedStatements limit reached" {@link SQLException}. Idle pooled statements are evicted least
+     * recently used first whenever a new statement needs room, so this setting only matters when
+     * {@link #setMaxOpenPreparedStatements(int) maxOpenPreparedStatements} statements are open at once. Default is
+     * false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param bypassStatementPoolWhenExhausted bypass or not
+     * @since 2.15.0
+     */
+    public void setBypassStatementPoolWhenExhausted(final boolean bypassStatementPoolWhenExhausted) {
+        this.bypassStatementPoolWhenExhausted = bypassStatementPoolWhenExhausted;
+    }
+
+    /**
+     * Sets whether result sets resolve each column label to its index the first time the label is used and call the
+     * driver's index-based getters for it afterwards. This saves a label lookup in the driver on every label-based
+     * getter call, which adds up for row mappers that read each column by name. Leave it off for drivers whose
+     * {@link java.sql.ResultSet#findColumn(String)} resolves labels differently from their label-based getters.
+     * Default is false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param cacheColumnLabels whether to cache column label resolutions.
+     * @since 2.15.0
+     */
+    public void setCacheColumnLabels(final boolean cacheColumnLabels) {
+        this.cacheColumnLabels = cacheColumnLabels;
+    }
+
+    /**
+     * Sets whether connections answer {@link java.sql.DatabaseMetaData} calls from a cache shared by the pool.
+     * Answers that describe the database and its driver, such as the product name, the identifier quote string, the
+     * SQL keywords and the {@code supports} methods, are kept for the life of the pool. Catalog queries such as
+     * {@code getTables} and {@code getColumns} are also cached, as disconnected row sets, if
+     * {@link #setDatabaseMetaDataTimeToLive(Duration) databaseMetaDataTimeToLive} is positive. This cuts the startup
+     * time of frameworks that ask for the same metadata many times. Default is false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param cacheDatabaseMetaData whether to cache database metadata.
+     * @see #getDatabaseMetaDataCache()
+     * @since 2.15.0
+     */
+    public void setCacheDatabaseMetaData(final boolean cacheDatabaseMetaData) {
+        this.cacheDatabaseMetaData = cacheDatabaseMetaData;
+    }
+
+    /**
+     * Sets whether pooled prepared statements keep a copy of their {@link java.sql.PreparedStatement#getMetaData()
+     * metadata}, {@link java.sql.PreparedStatement#getParameterMetaData() parameter metadata} and query result set
+     * metadata, so that frameworks that ask for it on every execution do not go to the driver each time. The copies
+     * live as long as their statement stays in the statement pool; call {@link #invalidateStatementMetaData()} after a
+     * schema change to discard them. This only has an effect when prepared statements are pooled. Default is false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param cacheStatementMetaData whether pooled prepared statements cache their metadata.
+     * @since 2.15.0
+     */
+    public void setCacheStatementMetaData(final boolean cacheStatementMetaData) {
+        this.cacheStatementMetaData = cacheStatementMetaData;
+    }
+
     /**
      * Sets the state caching flag.
      *
@@ -1890,6 +2487,23 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.connectionProperties = properties;
     }
 
+    /**
+     * Sets how long the database metadata cache keeps catalog query results such as those of {@code getTables} and
+     * {@code getColumns}. Zero, the default, caches only the answers that describe the database and its driver.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param databaseMetaDataTimeToLive how long to keep catalog query results.
+     * @see #setCacheDatabaseMetaData(boolean)
+     * @since 2.15.0
+     */
+    public void setDatabaseMetaDataTimeToLive(final Duration databaseMetaDataTimeToLive) {
+        this.databaseMetaDataTimeToLive = databaseMetaDataTimeToLive != null ? databaseMetaDataTimeToLive : Duration.ZERO;
+    }
+
     /**
      * Sets default auto-commit state of connections returned by this datasource.
      * <p>
@@ -1918,6 +2532,40 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.defaultCatalog = isEmpty(defaultCatalog) ? null : defaultCatalog;
     }
 
+    /**
+     * Sets the default fetch size that will be used for {@link java.sql.Statement Statement}s created from this
+     * connection. {@code null} means that the driver default will be used. The driver default is read from the first
+     * statement of each connection only, later statements are set without asking the driver.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param defaultFetchSize The default fetch size.
+     * @since 2.15.0
+     */
+    public void setDefaultFetchSize(final Integer defaultFetchSize) {
+        this.defaultFetchSize = defaultFetchSize;
+    }
+
+    /**
+     * Sets the default maximum number of rows that will be used for {@link java.sql.Statement Statement}s created from
+     * this connection. {@code null} means that the driver default will be used. The driver default is read from the
+     * first statement of each connection only, later statements are set without asking the driver.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param defaultMaxRows The default maximum number of rows; zero means there is no limit.
+     * @since 2.15.0
+     */
+    public void setDefaultMaxRows(final Integer defaultMaxRows) {
+        this.defaultMaxRows = defaultMaxRows;
+    }
+
     /**
      * Sets the default query timeout that will be used for {@link java.sql.Statement Statement}s created from this
      * connection. {@code null} means that the driver default will be used.
@@ -2096,6 +2744,10 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
     public synchronized void setDurationBetweenEvictionRuns(final Duration timeBetweenEvictionRunsMillis) {
         this.durationBetweenEvictionRuns = timeBetweenEvictionRunsMillis;
         setConnectionPool(GenericObjectPool::setDurationBetweenEvictionRuns, timeBetweenEvictionRunsMillis);
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        if (evictor != null) {
+            evictor.setDurationBetweenEvictionRuns(timeBetweenEvictionRunsMillis);
+        }
     }
 
     /**
@@ -2122,6 +2774,26 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.evictionPolicyClassName = evictionPolicyClassName;
     }
 
+    /**
+     * Sets the number of threads that validate idle connections in parallel. When positive, each run of the evictor
+     * validates up to {@link #setNumTestsPerEvictionRun(int) numTestsPerEvictionRun} idle connections on these threads
+     * if {@link #setTestWhileIdle(boolean) testWhileIdle} is set, several at a time, instead of one at a time on the
+     * evictor thread that all pools share. That thread keeps the checks that need no round trip: the eviction policy,
+     * the removal of abandoned connections and {@link #setMinIdle(int) minIdle}. The duration and results of each
+     * sweep are reported by {@link #getEvictionLastSweepDurationMillis()} and related methods. Default is 0.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param evictionThreads the number of eviction threads, or 0 to test idle connections on the evictor thread.
+     * @since 2.15.0
+     */
+    public synchronized void setEvictionThreads(final int evictionThreads) {
+        this.evictionThreads = evictionThreads;
+    }
+
     /**
      * Sets whether connections created by this factory will fast fail validation.
      *
@@ -2368,6 +3040,10 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
     public synchronized void setNumTestsPerEvictionRun(final int numTestsPerEvictionRun) {
         this.numTestsPerEvictionRun = numTestsPerEvictionRun;
         setConnectionPool(GenericObjectPool::setNumTestsPerEvictionRun, numTestsPerEvictionRun);
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        if (evictor != null) {
+            evictor.setNumTestsPerEvictionRun(numTestsPerEvictionRun);
+        }
     }
 
     /**
@@ -2463,6 +3139,25 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         setAbandoned(AbandonedConfig::setRemoveAbandonedTimeout, Duration.ofSeconds(removeAbandonedTimeout));
     }
 
+    /**
+     * Sets the executor that returns closed connections to the pool. {@link Connection#close()} then only marks the
+     * connection closed and returns; the executor runs the round trips of the return, such as the rollback, the
+     * restoration of auto-commit and {@link #setTestOnReturn(boolean) testOnReturn} validation, before the connection
+     * is available to borrowers again. The executor is not shut down when this data source is closed. Default is null,
+     * which returns connections on the thread that closes them.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param returnExecutor the executor that returns closed connections to the pool, or null.
+     * @since 2.15.0
+     */
+    public void setReturnExecutor(final Executor returnExecutor) {
+        this.returnExecutor = returnExecutor;
+    }
+
     /**
      * Sets the flag that controls if a connection will be rolled back when it is returned to the pool if auto commit is
      * not enabled and the connection is not read only.
@@ -2473,6 +3168,25 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.rollbackOnReturn = rollbackOnReturn;
     }
 
+    /**
+     * Sets whether a shared timer enforces the query timeouts of statements instead of the driver. When set, the
+     * {@link java.sql.Statement#setQueryTimeout(int) query timeout} of a statement is kept by the pool and not passed to
+     * the driver; a single daemon thread per pool cancels statements whose execution runs past it and the execution
+     * then fails with a {@link java.sql.SQLTimeoutException}. This helps with drivers that start a thread or a timer
+     * for each statement with a query timeout. Default is false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param sharedQueryTimeoutTimer whether a shared timer enforces query timeouts.
+     * @since 2.15.0
+     */
+    public void setSharedQueryTimeoutTimer(final boolean sharedQueryTimeoutTimer) {
+        this.sharedQueryTimeoutTimer = sharedQueryTimeoutTimer;
+    }
+
     /**
      * Sets the minimum amount of time a connection may sit idle in the pool before it is eligible for eviction by the
      * idle object evictor, with the extra condition that at least "minIdle" connections remain in the pool.
@@ -2544,7 +3258,31 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      */
     public synchronized void setTestWhileIdle(final boolean testWhileIdle) {
         this.testWhileIdle = testWhileIdle;
-        setConnectionPool(GenericObjectPool::setTestWhileIdle, testWhileIdle);
+        final ConcurrentEvictor evictor = concurrentEvictor;
+        if (evictor != null) {
+            evictor.setTestWhileIdle(testWhileIdle);
+        } else {
+            setConnectionPool(GenericObjectPool::setTestWhileIdle, testWhileIdle);
+        }
+    }
+
+    /**
+     * Sets whether statements track their open result sets in a plain list instead of registering each one as a
+     * weakly referenced abandoned-trace child. This saves a weak reference and a synchronized list update per result
+     * set, which matters for applications that run many short queries. Open result sets are still closed when their
+     * statement is closed or returned to the statement pool, but a result set the application drops without closing
+     * stays reachable until then. Default is false.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param thinResultSetTracking whether to use thin result set tracking.
+     * @since 2.15.0
+     */
+    public void setThinResultSetTracking(final boolean thinResultSetTracking) {
+        this.thinResultSetTracking = thinResultSetTracking;
     }
 
     /**
@@ -2634,6 +3372,45 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.validationQueryTimeoutDuration = Duration.ofSeconds(validationQueryTimeoutSeconds);
     }
 
+    /**
+     * Sets the duration during which a connection that completed a call to the database, like a statement execution, a
+     * commit, or a previous validation, is not validated again by {@link #getTestOnBorrow() testOnBorrow},
+     * {@link #getTestOnReturn() testOnReturn}, or {@link #getTestWhileIdle() testWhileIdle}. Any
+     * {@link java.sql.SQLException} thrown by the connection ends this grace period. Use a value less than or equal to 0
+     * to validate connections every time, which is the default.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param validationSkipWindow new validation skip window.
+     * @since 2.15.0
+     */
+    public void setValidationSkipWindow(final Duration validationSkipWindow) {
+        this.validationSkipWindow = validationSkipWindow == null ? Duration.ZERO : validationSkipWindow;
+    }
+
+    /**
+     * Sets the list of SQL statements prepared into the statement pool of each new physical connection, so that the
+     * hot statements of an application are ready before the first request needs them. Warm-up only happens when
+     * {@link #setPoolPreparedStatements(boolean) poolPreparedStatements} is {@code true}. A statement that fails to
+     * prepare is logged and skipped.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: {@link #getConnection()}, {@link #setLogWriter(PrintWriter)},
+     * {@link #setLoginTimeout(int)}, {@link #getLoginTimeout()}, {@link #getLogWriter()}.
+     * </p>
+     *
+     * @param warmUpSqls Collection of SQL statements to prepare on connection creation
+     * @since 2.15.0
+     */
+    public void setWarmUpSqls(final List<String> warmUpSqls) {
+        final List<String> collect = Utils.isEmpty(warmUpSqls) ? null
+                : warmUpSqls.stream().filter(s -> !isEmpty(s)).collect(Collectors.toList());
+        this.warmUpSqls = Utils.isEmpty(collect) ? null : collect;
+    }
+
     /**
      * Starts the datasource.
      * <p>
@@ -2664,6 +3441,37 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         if (connectionPool != null && durationBetweenEvictionRuns.compareTo(Duration.ZERO) > 0) {
             connectionPool.setDurationBetweenEvictionRuns(durationBetweenEvictionRuns);
         }
+        if (connectionPool != null && evictionThreads > 0) {
+            final PoolableConnectionFactory factory = (PoolableConnectionFactory) connectionPool.getFactory();
+            final ConcurrentEvictor evictor = new ConcurrentEvictor(connectionPool, factory, evictionThreads);
+            // The pool's own evictor keeps the checks that need no round trip
+            connectionPool.setTestWhileIdle(false);
+            evictor.setTestWhileIdle(testWhileIdle);
+            evictor.setDurationBetweenEvictionRuns(durationBetweenEvictionRuns);
+            concurrentEvictor = evictor;
+        }
+    }
+
+    /**
+     * Stops the evictor that tests idle connections in parallel, if any.
+     */
+    private void stopConcurrentEvictor() {
+        final ConcurrentEvictor oldEvictor = concurrentEvictor;
+        concurrentEvictor = null;
+        if (oldEvictor != null) {
+            oldEvictor.close();
+        }
+    }
+
+    /**
+     * Stops the query timeout timer of the current pool, if any.
+     */
+    private void stopQueryTimeoutScheduler() {
+        final ScheduledThreadPoolExecutor oldScheduler = queryTimeoutScheduler;
+        queryTimeoutScheduler = null;
+        if (oldScheduler != null) {
+            oldScheduler.shutdownNow();
+        }
     }
 
     private Collector<String, ?, LinkedHashSet<String>> toLinkedHashSet() {
@@ -19,6 +19,9 @@ package org.apache.commons.dbcp2;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
@@ -36,6 +39,7 @@ import java.util.Properties;
 import java.util.StringTokenizer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.naming.Context;
 import javax.naming.Name;
@@ -84,12 +88,14 @@ public class BasicDataSourceFactory implements ObjectFactory {
     private static final String PROP_MIN_EVICTABLE_IDLE_TIME_MILLIS = "minEvictableIdleTimeMillis";
     private static final String PROP_SOFT_MIN_EVICTABLE_IDLE_TIME_MILLIS = "softMinEvictableIdleTimeMillis";
     private static final String PROP_EVICTION_POLICY_CLASS_NAME = "evictionPolicyClassName";
+    private static final String PROP_EVICTION_THREADS = "evictionThreads";
     private static final String PROP_TEST_WHILE_IDLE = "testWhileIdle";
     private static final String PROP_PASSWORD = Constants.KEY_PASSWORD;
     private static final String PROP_URL = "url";
     private static final String PROP_USER_NAME = "username";
     private static final String PROP_VALIDATION_QUERY = "validationQuery";
     private static final String PROP_VALIDATION_QUERY_TIMEOUT = "validationQueryTimeout";
+    private static final String PROP_VALIDATION_SKIP_WINDOW_MILLIS = "validationSkipWindowMillis";
     private static final String PROP_JMX_NAME = "jmxName";
     private static final String PROP_REGISTER_CONNECTION_MBEAN = "registerConnectionMBean";
     private static final String PROP_CONNECTION_FACTORY_CLASS_NAME = "connectionFactoryClassName";
@@ -98,6 +104,7 @@ public class BasicDataSourceFactory implements ObjectFactory {
      * The property name for connectionInitSqls. The associated value String must be of the form [query;]*
      */
     private static final String PROP_CONNECTION_INIT_SQLS = "connectionInitSqls";
+    private static final String PROP_BATCH_CONNECTION_INIT_SQLS = "batchConnectionInitSqls";
     private static final String PROP_ACCESS_TO_UNDERLYING_CONNECTION_ALLOWED = "accessToUnderlyingConnectionAllowed";
     private static final String PROP_REMOVE_ABANDONED_ON_BORROW = "removeAbandonedOnBorrow";
     private static final String PROP_REMOVE_ABANDONED_ON_MAINTENANCE = "removeAbandonedOnMaintenance";
@@ -106,13 +113,24 @@ public class BasicDataSourceFactory implements ObjectFactory {
     private static final String PROP_ABANDONED_USAGE_TRACKING = "abandonedUsageTracking";
     private static final String PROP_POOL_PREPARED_STATEMENTS = "poolPreparedStatements";
     private static final String PROP_CLEAR_STATEMENT_POOL_ON_RETURN = "clearStatementPoolOnReturn";
+    private static final String PROP_BYPASS_STATEMENT_POOL_WHEN_EXHAUSTED = "bypassStatementPoolWhenExhausted";
+    private static final String PROP_CACHE_STATEMENT_META_DATA = "cacheStatementMetaData";
+    private static final String PROP_CACHE_DATABASE_META_DATA = "cacheDatabaseMetaData";
+    private static final String PROP_DATABASE_META_DATA_TIME_TO_LIVE_MILLIS = "databaseMetaDataTimeToLiveMillis";
+    private static final String PROP_SHARED_QUERY_TIMEOUT_TIMER = "sharedQueryTimeoutTimer";
     private static final String PROP_MAX_OPEN_PREPARED_STATEMENTS = "maxOpenPreparedStatements";
+    private static final String PROP_WARM_UP_SQLS = "warmUpSqls";
+    private static final String PROP_WARM_UP_SQLS_FILE = "warmUpSqlsFile";
     private static final String PROP_CONNECTION_PROPERTIES = "connectionProperties";
     private static final String PROP_MAX_CONN_LIFETIME_MILLIS = "maxConnLifetimeMillis";
     private static final String PROP_LOG_EXPIRED_CONNECTIONS = "logExpiredConnections";
     private static final String PROP_ROLLBACK_ON_RETURN = "rollbackOnReturn";
     private static final String PROP_ENABLE_AUTO_COMMIT_ON_RETURN = "enableAutoCommitOnReturn";
     private static final String PROP_DEFAULT_QUERY_TIMEOUT = "defaultQueryTimeout";
+    private static final String PROP_DEFAULT_FETCH_SIZE = "defaultFetchSize";
+    private static final String PROP_DEFAULT_MAX_ROWS = "defaultMaxRows";
+    private static final String PROP_THIN_RESULT_SET_TRACKING = "thinResultSetTracking";
+    private static final String PROP_CACHE_COLUMN_LABELS = "cacheColumnLabels";
     private static final String PROP_FAST_FAIL_VALIDATION = "fastFailValidation";
 
     /**
@@ -154,15 +172,20 @@ public class BasicDataSourceFactory implements ObjectFactory {
             PROP_DRIVER_CLASS_NAME, PROP_LIFO, PROP_MAX_TOTAL, PROP_MAX_IDLE, PROP_MIN_IDLE, PROP_INITIAL_SIZE,
             PROP_MAX_WAIT_MILLIS, PROP_TEST_ON_CREATE, PROP_TEST_ON_BORROW, PROP_TEST_ON_RETURN,
             PROP_TIME_BETWEEN_EVICTION_RUNS_MILLIS, PROP_NUM_TESTS_PER_EVICTION_RUN, PROP_MIN_EVICTABLE_IDLE_TIME_MILLIS,
-            PROP_SOFT_MIN_EVICTABLE_IDLE_TIME_MILLIS, PROP_EVICTION_POLICY_CLASS_NAME, PROP_TEST_WHILE_IDLE, PROP_PASSWORD,
-            PROP_URL, PROP_USER_NAME, PROP_VALIDATION_QUERY, PROP_VALIDATION_QUERY_TIMEOUT, PROP_CONNECTION_INIT_SQLS,
+            PROP_SOFT_MIN_EVICTABLE_IDLE_TIME_MILLIS, PROP_EVICTION_POLICY_CLASS_NAME, PROP_EVICTION_THREADS,
+            PROP_TEST_WHILE_IDLE, PROP_PASSWORD,
+            PROP_URL, PROP_USER_NAME, PROP_VALIDATION_QUERY, PROP_VALIDATION_QUERY_TIMEOUT, PROP_VALIDATION_SKIP_WINDOW_MILLIS,
+            PROP_CONNECTION_INIT_SQLS, PROP_BATCH_CONNECTION_INIT_SQLS,
             PROP_ACCESS_TO_UNDERLYING_CONNECTION_ALLOWED, PROP_REMOVE_ABANDONED_ON_BORROW, PROP_REMOVE_ABANDONED_ON_MAINTENANCE,
             PROP_REMOVE_ABANDONED_TIMEOUT, PROP_LOG_ABANDONED, PROP_ABANDONED_USAGE_TRACKING, PROP_POOL_PREPARED_STATEMENTS,
-            PROP_CLEAR_STATEMENT_POOL_ON_RETURN,
-            PROP_MAX_OPEN_PREPARED_STATEMENTS, PROP_CONNECTION_PROPERTIES, PROP_MAX_CONN_LIFETIME_MILLIS,
+            PROP_CLEAR_STATEMENT_POOL_ON_RETURN, PROP_BYPASS_STATEMENT_POOL_WHEN_EXHAUSTED, PROP_CACHE_STATEMENT_META_DATA,
+            PROP_MAX_OPEN_PREPARED_STATEMENTS, PROP_WARM_UP_SQLS, PROP_WARM_UP_SQLS_FILE, PROP_CONNECTION_PROPERTIES, PROP_MAX_CONN_LIFETIME_MILLIS,
             PROP_LOG_EXPIRED_CONNECTIONS, PROP_ROLLBACK_ON_RETURN, PROP_ENABLE_AUTO_COMMIT_ON_RETURN,
-            PROP_DEFAULT_QUERY_TIMEOUT, PROP_FAST_FAIL_VALIDATION, PROP_DISCONNECTION_SQL_CODES, PROP_DISCONNECTION_IGNORE_SQL_CODES,
-            PROP_JMX_NAME, PROP_REGISTER_CONNECTION_MBEAN, PROP_CONNECTION_FACTORY_CLASS_NAME);
+            PROP_DEFAULT_QUERY_TIMEOUT, PROP_SHARED_QUERY_TIMEOUT_TIMER, PROP_DEFAULT_FETCH_SIZE, PROP_DEFAULT_MAX_ROWS,
+            PROP_THIN_RESULT_SET_TRACKING, PROP_CACHE_COLUMN_LABELS, PROP_CACHE_DATABASE_META_DATA,
+            PROP_DATABASE_META_DATA_TIME_TO_LIVE_MILLIS,
+            PROP_FAST_FAIL_VALIDATION, PROP_DISCONNECTION_SQL_CODES, PROP_DISCONNECTION_IGNORE_SQL_CODES, PROP_JMX_NAME,
+            PROP_REGISTER_CONNECTION_MBEAN, PROP_CONNECTION_FACTORY_CLASS_NAME);
 
     /**
      * Obsolete properties from DBCP 1.x. with warning strings suggesting new properties. LinkedHashMap will guarantee
@@ -287,12 +310,14 @@ public class BasicDataSourceFactory implements ObjectFactory {
         acceptDurationOfMillis(properties, PROP_MIN_EVICTABLE_IDLE_TIME_MILLIS, dataSource::setMinEvictableIdle);
         acceptDurationOfMillis(properties, PROP_SOFT_MIN_EVICTABLE_IDLE_TIME_MILLIS, dataSource::setSoftMinEvictableIdle);
         acceptString(properties, PROP_EVICTION_POLICY_CLASS_NAME, dataSource::setEvictionPolicyClassName);
+        acceptInt(properties, PROP_EVICTION_THREADS, dataSource::setEvictionThreads);
         acceptBoolean(properties, PROP_TEST_WHILE_IDLE, dataSource::setTestWhileIdle);
         acceptString(properties, PROP_PASSWORD, dataSource::setPassword);
         acceptString(properties, PROP_URL, dataSource::setUrl);
         acceptString(properties, PROP_USER_NAME, dataSource::setUsername);
         acceptString(properties, PROP_VALIDATION_QUERY, dataSource::setValidationQuery);
         acceptDurationOfSeconds(properties, PROP_VALIDATION_QUERY_TIMEOUT, dataSource::setValidationQueryTimeout);
+        acceptDurationOfMillis(properties, PROP_VALIDATION_SKIP_WINDOW_MILLIS, dataSource::setValidationSkipWindow);
         acceptBoolean(properties, PROP_ACCESS_TO_UNDERLYING_CONNECTION_ALLOWED, dataSource::setAccessToUnderlyingConnectionAllowed);
         acceptBoolean(properties, PROP_REMOVE_ABANDONED_ON_BORROW, dataSource::setRemoveAbandonedOnBorrow);
         acceptBoolean(properties, PROP_REMOVE_ABANDONED_ON_MAINTENANCE, dataSource::setRemoveAbandonedOnMaintenance);
@@ -301,8 +326,21 @@ public class BasicDataSourceFactory implements ObjectFactory {
         acceptBoolean(properties, PROP_ABANDONED_USAGE_TRACKING, dataSource::setAbandonedUsageTracking);
         acceptBoolean(properties, PROP_POOL_PREPARED_STATEMENTS, dataSource::setPoolPreparedStatements);
         acceptBoolean(properties, PROP_CLEAR_STATEMENT_POOL_ON_RETURN, dataSource::setClearStatementPoolOnReturn);
+        acceptBoolean(properties, PROP_BYPASS_STATEMENT_POOL_WHEN_EXHAUSTED, dataSource::setBypassStatementPoolWhenExhausted);
+        acceptBoolean(properties, PROP_CACHE_STATEMENT_META_DATA, dataSource::setCacheStatementMetaData);
         acceptInt(properties, PROP_MAX_OPEN_PREPARED_STATEMENTS, dataSource::setMaxOpenPreparedStatements);
         getOptional(properties, PROP_CONNECTION_INIT_SQLS).ifPresent(v -> dataSource.setConnectionInitSqls(parseList(v, ';')));
+        acceptBoolean(properties, PROP_BATCH_CONNECTION_INIT_SQLS, dataSource::setBatchConnectionInitSqls);
+
+        final List<String> warmUpSqls = new ArrayList<>();
+        getOptional(properties, PROP_WARM_UP_SQLS).ifPresent(v -> warmUpSqls.addAll(parseList(v, ';')));
+        final String warmUpSqlsFile = properties.getProperty(PROP_WARM_UP_SQLS_FILE);
+        if (warmUpSqlsFile != null) {
+            warmUpSqls.addAll(readSqlFile(warmUpSqlsFile));
+        }
+        if (!warmUpSqls.isEmpty()) {
+            dataSource.setWarmUpSqls(warmUpSqls);
+        }
 
         final String value = properties.getProperty(PROP_CONNECTION_PROPERTIES);
         if (value != null) {
@@ -320,6 +358,13 @@ public class BasicDataSourceFactory implements ObjectFactory {
         acceptBoolean(properties, PROP_ENABLE_AUTO_COMMIT_ON_RETURN, dataSource::setAutoCommitOnReturn);
         acceptBoolean(properties, PROP_ROLLBACK_ON_RETURN, dataSource::setRollbackOnReturn);
         acceptDurationOfSeconds(properties, PROP_DEFAULT_QUERY_TIMEOUT, dataSource::setDefaultQueryTimeout);
+        acceptBoolean(properties, PROP_SHARED_QUERY_TIMEOUT_TIMER, dataSource::setSharedQueryTimeoutTimer);
+        acceptInt(properties, PROP_DEFAULT_FETCH_SIZE, dataSource::setDefaultFetchSize);
+        acceptInt(properties, PROP_DEFAULT_MAX_ROWS, dataSource::setDefaultMaxRows);
+        acceptBoolean(properties, PROP_THIN_RESULT_SET_TRACKING, dataSource::setThinResultSetTracking);
+        acceptBoolean(properties, PROP_CACHE_COLUMN_LABELS, dataSource::setCacheColumnLabels);
+        acceptBoolean(properties, PROP_CACHE_DATABASE_META_DATA, dataSource::setCacheDatabaseMetaData);
+        acceptDurationOfMillis(properties, PROP_DATABASE_META_DATA_TIME_TO_LIVE_MILLIS, dataSource::setDatabaseMetaDataTimeToLive);
         acceptBoolean(properties, PROP_FAST_FAIL_VALIDATION, dataSource::setFastFailValidation);
         getOptional(properties, PROP_DISCONNECTION_SQL_CODES).ifPresent(v -> dataSource.setDisconnectionSqlCodes(parseList(v, ',')));
         getOptional(properties, PROP_DISCONNECTION_IGNORE_SQL_CODES).ifPresent(v -> dataSource.setDisconnectionIgnoreSqlCodes(parseList(v, ',')));
@@ -376,6 +421,24 @@ public class BasicDataSourceFactory implements ObjectFactory {
         return tokens;
     }
 
+    /**
+     * Reads SQL statements from a file, one statement per line. Blank lines and lines starting with {@code --} are
+     * ignored.
+     *
+     * @param fileName
+     *            the file to read
+     * @return the SQL statements in file order
+     * @throws SQLException When the file cannot be read
+     */
+    private static List<String> readSqlFile(final String fileName) throws SQLException {
+        try {
+            return Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8).stream().map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("--")).collect(Collectors.toList());
+        } catch (final IOException | InvalidPathException e) {
+            throw new SQLException(fileName, e);
+        }
+    }
+
     /**
      * Constructs a new instance.
      */
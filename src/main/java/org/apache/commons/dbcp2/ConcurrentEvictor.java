@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.PooledObjectState;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * Validates the idle connections of a pool in sweeps that test several connections at a time on a bounded executor,
+ * instead of one at a time on the eviction timer thread that all pools share.
+ * <p>
+ * Each sweep claims up to {@link #setNumTestsPerEvictionRun(int) numTestsPerEvictionRun} idle connections, in
+ * creation order and resuming where the previous sweep stopped, so that borrowers skip them while they are tested.
+ * Connections that fail validation are invalidated; the others go back to the pool, which counts a connection that a
+ * borrower skipped while it was tested as returned once more. The pool's own evictor should run without
+ * {@link GenericObjectPool#getTestWhileIdle() testWhileIdle}: it then only applies the eviction policy, removes
+ * abandoned connections and maintains {@code minIdle}, none of which needs a round trip.
+ * </p>
+ * <p>
+ * The validating threads must not also serve as the
+ * {@link PoolableConnectionFactory#setAbortExecutor(java.util.concurrent.Executor) abort executor}: invalidating a
+ * connection while borrowers wait makes the pool create a replacement on the same thread, and that creation can wait
+ * for a close queued behind it.
+ * </p>
+ *
+ * @since 2.15.0
+ */
+public class ConcurrentEvictor implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(ConcurrentEvictor.class);
+
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final GenericObjectPool<PoolableConnection> pool;
+
+    private final PoolableConnectionFactory factory;
+
+    /** Runs the sweeps, one at a time. */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /** Tests the connections of a sweep. */
+    private final ThreadPoolExecutor executor;
+
+    private volatile int numTestsPerEvictionRun;
+
+    private volatile boolean testWhileIdle = true;
+
+    private volatile Duration durationBetweenEvictionRuns = Duration.ZERO;
+
+    private ScheduledFuture<?> nextSweep;
+
+    /** The creation time of the last connection a sweep tested, where the next sweep resumes. */
+    private Instant cursor = Instant.MIN;
+
+    private final AtomicLong sweepCount = new AtomicLong();
+
+    private volatile Duration lastSweepDuration = Duration.ZERO;
+
+    private volatile Duration maxSweepDuration = Duration.ZERO;
+
+    private volatile int lastSweepTestedCount;
+
+    private volatile int lastSweepDestroyedCount;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param pool the pool whose idle connections to validate.
+     * @param factory the factory of the pool, which tracks its connections.
+     * @param threads the number of threads that validate connections, at least 1.
+     */
+    public ConcurrentEvictor(final GenericObjectPool<PoolableConnection> pool, final PoolableConnectionFactory factory,
+            final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        this.pool = pool;
+        this.factory = factory;
+        this.numTestsPerEvictionRun = pool.getNumTestsPerEvictionRun();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("commons-dbcp2-evictor"));
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                daemonThreadFactory("commons-dbcp2-evictor-worker"));
+    }
+
+    /**
+     * Claims the idle connections to test in the next sweep.
+     */
+    private List<PooledObject<PoolableConnection>> claim() {
+        final List<PooledObject<PoolableConnection>> idle = new ArrayList<>();
+        if (!testWhileIdle) {
+            return idle;
+        }
+        factory.getPooledObjects().forEach(p -> {
+            if (p.getState() == PooledObjectState.IDLE) {
+                idle.add(p);
+            }
+        });
+        final int numTests = numTestsPerEvictionRun;
+        final int limit = numTests >= 0 ? Math.min(numTests, idle.size())
+                : (int) Math.ceil(idle.size() / Math.abs((double) numTests));
+        idle.sort(Comparator.comparing(PooledObject::getCreateInstant));
+        final List<PooledObject<PoolableConnection>> claimed = new ArrayList<>(limit);
+        // Resume after the last connection tested, then wrap around
+        int start = 0;
+        while (start < idle.size() && !idle.get(start).getCreateInstant().isAfter(cursor)) {
+            start++;
+        }
+        for (int i = 0; i < idle.size() && claimed.size() < limit; i++) {
+            final PooledObject<PoolableConnection> p = idle.get((start + i) % idle.size());
+            if (p.startEvictionTest()) {
+                claimed.add(p);
+                cursor = p.getCreateInstant();
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Stops the sweeps and the threads that validate connections. A running sweep finishes its tests.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the interval between the start of a sweep and the start of the next.
+     *
+     * @return The interval between sweeps; zero or negative if no sweeps are scheduled.
+     */
+    public Duration getDurationBetweenEvictionRuns() {
+        return durationBetweenEvictionRuns;
+    }
+
+    /**
+     * Gets how many connections failed validation in the last sweep and were destroyed.
+     *
+     * @return The destroyed connection count of the last sweep.
+     */
+    public int getLastSweepDestroyedCount() {
+        return lastSweepDestroyedCount;
+    }
+
+    /**
+     * Gets how long the last sweep took.
+     *
+     * @return The duration of the last sweep.
+     */
+    public Duration getLastSweepDuration() {
+        return lastSweepDuration;
+    }
+
+    /**
+     * Gets how many connections the last sweep validated.
+     *
+     * @return The validated connection count of the last sweep.
+     */
+    public int getLastSweepTestedCount() {
+        return lastSweepTestedCount;
+    }
+
+    /**
+     * Gets how long the longest sweep took.
+     *
+     * @return The duration of the longest sweep.
+     */
+    public Duration getMaxSweepDuration() {
+        return maxSweepDuration;
+    }
+
+    /**
+     * Gets the number of idle connections a sweep validates.
+     *
+     * @return The number of tests per sweep.
+     * @see GenericObjectPool#getNumTestsPerEvictionRun()
+     */
+    public int getNumTestsPerEvictionRun() {
+        return numTestsPerEvictionRun;
+    }
+
+    /**
+     * Gets how many sweeps ran.
+     *
+     * @return The sweep count.
+     */
+    public long getSweepCount() {
+        return sweepCount.get();
+    }
+
+    /**
+     * Tests whether sweeps validate idle connections.
+     *
+     * @return whether sweeps validate idle connections.
+     */
+    public boolean isTestWhileIdle() {
+        return testWhileIdle;
+    }
+
+    /**
+     * Puts back a connection that passed validation. If a borrower found it while it was tested, the pool removed it
+     * from its idle connections, so it goes back through a return. The pool's idle connections are not reachable from
+     * here, so that return is counted by {@link GenericObjectPool#getReturnedCount()} and the mean active time
+     * although no caller borrowed the connection.
+     */
+    private void release(final PooledObject<PoolableConnection> p) throws Exception {
+        final Deque<PooledObject<PoolableConnection>> requeue = new ArrayDeque<>(1);
+        p.endEvictionTest(requeue);
+        if (!requeue.isEmpty() && p.allocate()) {
+            factory.activateObject(p);
+            pool.returnObject(p.getObject());
+        }
+    }
+
+    private void scheduleNextSweep() {
+        final Duration period = durationBetweenEvictionRuns;
+        if (period.compareTo(Duration.ZERO) > 0 && !scheduler.isShutdown()) {
+            try {
+                nextSweep = scheduler.schedule(this::sweepAndReschedule, period.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (final RejectedExecutionException e) {
+                // closed
+            }
+        }
+    }
+
+    /**
+     * Sets the interval between the start of a sweep and the start of the next, and schedules the next sweep after
+     * that interval.
+     *
+     * @param durationBetweenEvictionRuns the interval between sweeps; zero or negative stops the sweeps.
+     */
+    public synchronized void setDurationBetweenEvictionRuns(final Duration durationBetweenEvictionRuns) {
+        this.durationBetweenEvictionRuns = durationBetweenEvictionRuns;
+        if (nextSweep != null) {
+            nextSweep.cancel(false);
+            nextSweep = null;
+        }
+        scheduleNextSweep();
+    }
+
+    /**
+     * Sets the number of idle connections a sweep validates, with the meaning of
+     * {@link GenericObjectPool#setNumTestsPerEvictionRun(int)}.
+     *
+     * @param numTestsPerEvictionRun the number of tests per sweep.
+     */
+    public void setNumTestsPerEvictionRun(final int numTestsPerEvictionRun) {
+        this.numTestsPerEvictionRun = numTestsPerEvictionRun;
+    }
+
+    /**
+     * Sets whether sweeps validate idle connections; when false, sweeps claim no connections.
+     *
+     * @param testWhileIdle whether sweeps validate idle connections.
+     */
+    public void setTestWhileIdle(final boolean testWhileIdle) {
+        this.testWhileIdle = testWhileIdle;
+    }
+
+    /**
+     * Runs one sweep on the calling thread, validating the claimed connections in parallel, and waits for it to finish.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the tests.
+     */
+    public void sweep() throws InterruptedException {
+        final long startNanos = System.nanoTime();
+        final List<PooledObject<PoolableConnection>> claimed;
+        synchronized (this) {
+            claimed = claim();
+        }
+        final AtomicInteger destroyed = new AtomicInteger();
+        final List<Future<?>> tests = new ArrayList<>(claimed.size());
+        for (final PooledObject<PoolableConnection> p : claimed) {
+            final Runnable test = () -> {
+                if (test(p)) {
+                    destroyed.incrementAndGet();
+                }
+            };
+            try {
+                tests.add(executor.submit(test));
+            } catch (final RejectedExecutionException e) {
+                test.run();
+            }
+        }
+        for (final Future<?> test : tests) {
+            try {
+                test.get();
+            } catch (final ExecutionException e) {
+                log.warn(Utils.getMessage("concurrentEvictor.test.fail"), e.getCause());
+            }
+        }
+        final Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        lastSweepTestedCount = claimed.size();
+        lastSweepDestroyedCount = destroyed.get();
+        lastSweepDuration = duration;
+        if (duration.compareTo(maxSweepDuration) > 0) {
+            maxSweepDuration = duration;
+        }
+        sweepCount.incrementAndGet();
+    }
+
+    private void sweepAndReschedule() {
+        try {
+            sweep();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (final RuntimeException e) {
+            log.warn(Utils.getMessage("concurrentEvictor.test.fail"), e);
+        }
+        synchronized (this) {
+            scheduleNextSweep();
+        }
+    }
+
+    /**
+     * Validates a claimed connection and either invalidates it or puts it back.
+     *
+     * @return whether the connection was destroyed.
+     */
+    private boolean test(final PooledObject<PoolableConnection> p) {
+        boolean destroy;
+        try {
+            factory.activateObject(p);
+            destroy = !factory.validateObject(p);
+            if (!destroy) {
+                factory.passivateObject(p);
+            }
+        } catch (final Exception e) {
+            destroy = true;
+        }
+        try {
+            if (destroy) {
+                pool.invalidateObject(p.getObject());
+            } else {
+                release(p);
+            }
+        } catch (final Exception e) {
+            log.debug(Utils.getMessage("concurrentEvictor.test.fail"), e);
+        }
+        return destroy;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[sweepCount=" + sweepCount.get() + ", lastSweepDuration=" + lastSweepDuration
+                + ", lastSweepTestedCount=" + lastSweepTestedCount + ", lastSweepDestroyedCount="
+                + lastSweepDestroyedCount + "]";
+    }
+}
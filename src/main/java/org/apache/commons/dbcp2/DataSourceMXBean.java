@@ -17,6 +17,8 @@
 package org.apache.commons.dbcp2;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * Defines the methods that will be made available via
@@ -110,6 +112,56 @@ public interface DataSourceMXBean {
      */
     String getDriverClassName();
 
+    /**
+     * See {@link BasicDataSource#getEvictionLastSweepDestroyedCount()}.
+     *
+     * @return {@link BasicDataSource#getEvictionLastSweepDestroyedCount()}.
+     * @since 2.15.0
+     */
+    default int getEvictionLastSweepDestroyedCount() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getEvictionLastSweepDurationMillis()}.
+     *
+     * @return {@link BasicDataSource#getEvictionLastSweepDurationMillis()}.
+     * @since 2.15.0
+     */
+    default long getEvictionLastSweepDurationMillis() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getEvictionLastSweepTestedCount()}.
+     *
+     * @return {@link BasicDataSource#getEvictionLastSweepTestedCount()}.
+     * @since 2.15.0
+     */
+    default int getEvictionLastSweepTestedCount() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getEvictionMaxSweepDurationMillis()}.
+     *
+     * @return {@link BasicDataSource#getEvictionMaxSweepDurationMillis()}.
+     * @since 2.15.0
+     */
+    default long getEvictionMaxSweepDurationMillis() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getEvictionSweepCount()}.
+     *
+     * @return {@link BasicDataSource#getEvictionSweepCount()}.
+     * @since 2.15.0
+     */
+    default long getEvictionSweepCount() {
+        return 0;
+    }
+
     /**
      * See {@link BasicDataSource#getFastFailValidation()}.
      *
@@ -245,6 +297,56 @@ public interface DataSourceMXBean {
      */
     long getSoftMinEvictableIdleTimeMillis();
 
+    /**
+     * See {@link BasicDataSource#getStatementPoolEvictionCount()}.
+     *
+     * @return {@link BasicDataSource#getStatementPoolEvictionCount()}.
+     * @since 2.15.0
+     */
+    default long getStatementPoolEvictionCount() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getStatementPoolHitCount()}.
+     *
+     * @return {@link BasicDataSource#getStatementPoolHitCount()}.
+     * @since 2.15.0
+     */
+    default long getStatementPoolHitCount() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getStatementPoolHitRatio()}.
+     *
+     * @return {@link BasicDataSource#getStatementPoolHitRatio()}.
+     * @since 2.15.0
+     */
+    default double getStatementPoolHitRatio() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getStatementPoolMissCount()}.
+     *
+     * @return {@link BasicDataSource#getStatementPoolMissCount()}.
+     * @since 2.15.0
+     */
+    default long getStatementPoolMissCount() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getStatementPoolResidentSqls()}.
+     *
+     * @return {@link BasicDataSource#getStatementPoolResidentSqls()}.
+     * @since 2.15.0
+     */
+    default Map<String, Long> getStatementPoolResidentSqls() {
+        return Collections.emptyMap();
+    }
+
     /**
      * See {@link BasicDataSource#getTestOnBorrow()}.
      *
@@ -313,6 +415,15 @@ public interface DataSourceMXBean {
      */
     int getValidationQueryTimeout();
 
+    /**
+     * See {@link BasicDataSource#invalidateStatementMetaData()}.
+     *
+     * @since 2.15.0
+     */
+    default void invalidateStatementMetaData() {
+        // do nothing by default
+    }
+
     /**
      * See {@link BasicDataSource#isAccessToUnderlyingConnectionAllowed()}.
      *
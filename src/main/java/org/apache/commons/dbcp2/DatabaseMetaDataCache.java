@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+
+/**
+ * Caches {@link DatabaseMetaData} answers for the connections of a data source.
+ * <p>
+ * Answers that describe the database and its driver, such as {@link DatabaseMetaData#getDatabaseProductName()},
+ * {@link DatabaseMetaData#getIdentifierQuoteString()} or the {@code supports} methods, cannot change while the pool
+ * is open and are kept until {@link #clear()}. Catalog queries such as {@link DatabaseMetaData#getTables(String,
+ * String, String, String[])} or {@link DatabaseMetaData#getColumns(String, String, String, String)} are kept as
+ * disconnected {@link CachedRowSet}s for the configured time to live, if any; each caller gets its own copy.
+ * </p>
+ *
+ * @since 2.15.0
+ */
+public class DatabaseMetaDataCache {
+
+    /**
+     * A disconnected catalog query result and when it expires.
+     */
+    private static final class CachedResult {
+
+        private final CachedRowSet rowSet;
+
+        private final long expiresAtNanos;
+
+        private CachedResult(final CachedRowSet rowSet, final long expiresAtNanos) {
+            this.rowSet = rowSet;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(final long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<List<Object>, CachedResult> results = new ConcurrentHashMap<>();
+
+    private final Duration resultSetTimeToLive;
+
+    /** When the next miss sweeps expired catalog query results out of the cache. */
+    private final AtomicLong nextSweepNanos;
+
+    private volatile RowSetFactory rowSetFactory;
+
+    /**
+     * Constructs a cache that keeps catalog query results for the given time.
+     *
+     * @param resultSetTimeToLive how long to keep catalog query results; zero, negative or null to not cache them.
+     */
+    public DatabaseMetaDataCache(final Duration resultSetTimeToLive) {
+        this.resultSetTimeToLive = resultSetTimeToLive != null && !resultSetTimeToLive.isNegative() ? resultSetTimeToLive : Duration.ZERO;
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + this.resultSetTimeToLive.toNanos());
+    }
+
+    /**
+     * Discards all cached answers and catalog query results, for example after a schema change.
+     */
+    public void clear() {
+        values.clear();
+        results.clear();
+    }
+
+    /**
+     * Gets a cached answer, calling the driver the first time.
+     *
+     * @param <T> the answer type.
+     * @param key the method name and arguments.
+     * @param callable calls the driver.
+     * @return the answer.
+     * @throws Exception thrown by the driver.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(final String key, final Callable<T> callable) throws Exception {
+        T value = (T) values.get(key);
+        if (value == null) {
+            value = callable.call();
+            if (value != null) {
+                values.putIfAbsent(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Gets the number of cached catalog query results, including expired ones not yet discarded.
+     *
+     * @return the number of cached catalog query results.
+     */
+    public int getResultSetCount() {
+        return results.size();
+    }
+
+    /**
+     * Gets a copy of a cached catalog query result, running the query the first time and after the cached result
+     * expired.
+     *
+     * @param key the method name, the connection's catalog and schema, and the arguments.
+     * @param callable runs the query.
+     * @return a disconnected copy of the result.
+     * @throws Exception thrown by the driver.
+     */
+    ResultSet getResultSet(final List<Object> key, final Callable<ResultSet> callable) throws Exception {
+        final long now = System.nanoTime();
+        final CachedResult cached = results.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached.rowSet.createCopy();
+            }
+            results.remove(key, cached);
+        }
+        final CachedRowSet rowSet = getRowSetFactory().createCachedRowSet();
+        try (ResultSet resultSet = callable.call()) {
+            if (resultSet == null) {
+                return null;
+            }
+            rowSet.populate(resultSet);
+        }
+        sweep(now);
+        results.put(key, new CachedResult(rowSet, now + resultSetTimeToLive.toNanos()));
+        return rowSet.createCopy();
+    }
+
+    /**
+     * Gets how long catalog query results are kept.
+     *
+     * @return how long catalog query results are kept, zero if they are not cached.
+     */
+    public Duration getResultSetTimeToLive() {
+        return resultSetTimeToLive;
+    }
+
+    private RowSetFactory getRowSetFactory() throws SQLException {
+        RowSetFactory factory = rowSetFactory;
+        if (factory == null) {
+            factory = RowSetProvider.newFactory();
+            rowSetFactory = factory;
+        }
+        return factory;
+    }
+
+    /**
+     * Tests whether catalog query results are cached.
+     *
+     * @return whether catalog query results are cached.
+     */
+    boolean isCachingResultSets() {
+        return !resultSetTimeToLive.isZero();
+    }
+
+    /**
+     * Discards expired catalog query results that were not asked for again, at most once per time to live so that a
+     * miss does not have to scan the whole cache.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}.
+     */
+    private void sweep(final long nowNanos) {
+        final long sweepAt = nextSweepNanos.get();
+        if (nowNanos - sweepAt >= 0 && nextSweepNanos.compareAndSet(sweepAt, nowNanos + resultSetTimeToLive.toNanos())) {
+            results.values().removeIf(result -> result.isExpired(nowNanos));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[values=" + values.size() + ", resultSets=" + results.size() + ", resultSetTimeToLive="
+                + resultSetTimeToLive + "]";
+    }
+}
@@ -40,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.commons.dbcp2.managed.ManagedConnection;
 
@@ -65,16 +66,34 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
     private static final Map<String, ClientInfoStatus> EMPTY_FAILED_PROPERTIES = Collections
             .<String, ClientInfoStatus>emptyMap();
 
+    /** Marks a driver statement default that has not been read yet. */
+    private static final int UNKNOWN_DRIVER_DEFAULT = Integer.MIN_VALUE;
+
     /** My delegate {@link Connection}. */
     private volatile C connection;
 
     private volatile boolean closed;
     private volatile boolean cacheState = true;
+    private volatile boolean cacheColumnLabels;
+    private volatile DatabaseMetaDataCache databaseMetaDataCache;
+    private volatile ScheduledExecutorService queryTimeoutScheduler;
     private Boolean cachedAutoCommit;
     private Boolean cachedReadOnly;
     private String cachedCatalog;
     private String cachedSchema;
     private Duration defaultQueryTimeoutDuration;
+    private Integer defaultFetchSize;
+    private Integer defaultMaxRows;
+    private volatile boolean thinResultSetTracking;
+
+    /*
+     * The values the driver gives new statements, read once from the first statement that needs them so that later
+     * statements do not pay a getter call to the driver. Statements from a statement pool always get the defaults, as a
+     * previous user may have changed them.
+     */
+    private int driverQueryTimeout = UNKNOWN_DRIVER_DEFAULT;
+    private int driverFetchSize = UNKNOWN_DRIVER_DEFAULT;
+    private int driverMaxRows = UNKNOWN_DRIVER_DEFAULT;
 
     /**
      * Creates a wrapper for the Connection which traces this Connection in the AbandonedObjectPool.
@@ -204,6 +223,7 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         checkOpen();
         try {
             connection.commit();
+            roundTripSucceeded();
         } catch (final SQLException e) {
             handleException(e);
         }
@@ -380,6 +400,38 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Gets the cache that {@link DatabaseMetaData} objects of this connection answer from.
+     *
+     * @return the database metadata cache, or null if database metadata is not cached.
+     * @since 2.15.0
+     */
+    public DatabaseMetaDataCache getDatabaseMetaDataCache() {
+        return databaseMetaDataCache;
+    }
+
+    /**
+     * Gets the default fetch size that will be used for {@link Statement}s created from this connection. {@code null}
+     * means that the driver default will be used.
+     *
+     * @return the default fetch size, may be null.
+     * @since 2.15.0
+     */
+    public Integer getDefaultFetchSize() {
+        return defaultFetchSize;
+    }
+
+    /**
+     * Gets the default maximum number of rows that will be used for {@link Statement}s created from this connection.
+     * {@code null} means that the driver default will be used.
+     *
+     * @return the default maximum number of rows, may be null.
+     * @since 2.15.0
+     */
+    public Integer getDefaultMaxRows() {
+        return defaultMaxRows;
+    }
+
     /**
      * Gets the default query timeout that will be used for {@link Statement}s created from this connection.
      * {@code null} means that the driver default will be used.
@@ -490,6 +542,16 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Gets the timer that enforces the query timeouts of statements created from this connection.
+     *
+     * @return the query timeout timer, or null if the driver enforces query timeouts.
+     * @since 2.15.0
+     */
+    public ScheduledExecutorService getQueryTimeoutScheduler() {
+        return queryTimeoutScheduler;
+    }
+
     @Override
     public String getSchema() throws SQLException {
         checkOpen();
@@ -569,8 +631,33 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
      * @throws SQLException Thrown if a database access error occurs, this method is called on a closed Statement.
      */
     private <T extends DelegatingStatement> T init(final T delegatingStatement) throws SQLException {
-        if (defaultQueryTimeoutDuration != null && defaultQueryTimeoutDuration.getSeconds() != delegatingStatement.getQueryTimeout()) {
-            delegatingStatement.setQueryTimeout((int) defaultQueryTimeoutDuration.getSeconds());
+        // A statement from a statement pool may still carry the settings of its previous user
+        final Statement delegate = delegatingStatement.getDelegate();
+        final boolean pooled = delegate instanceof PoolablePreparedStatement || delegate instanceof PoolableCallableStatement;
+        if (defaultQueryTimeoutDuration != null) {
+            if (driverQueryTimeout == UNKNOWN_DRIVER_DEFAULT) {
+                driverQueryTimeout = delegatingStatement.getQueryTimeout();
+            }
+            final int seconds = (int) defaultQueryTimeoutDuration.getSeconds();
+            if (pooled || seconds != driverQueryTimeout) {
+                delegatingStatement.setQueryTimeout(seconds);
+            }
+        }
+        if (defaultFetchSize != null) {
+            if (driverFetchSize == UNKNOWN_DRIVER_DEFAULT) {
+                driverFetchSize = delegatingStatement.getFetchSize();
+            }
+            if (pooled || defaultFetchSize.intValue() != driverFetchSize) {
+                delegatingStatement.setFetchSize(defaultFetchSize);
+            }
+        }
+        if (defaultMaxRows != null) {
+            if (driverMaxRows == UNKNOWN_DRIVER_DEFAULT) {
+                driverMaxRows = delegatingStatement.getMaxRows();
+            }
+            if (pooled || defaultMaxRows.intValue() != driverMaxRows) {
+                delegatingStatement.setMaxRows(defaultMaxRows);
+            }
         }
         return delegatingStatement;
     }
@@ -591,6 +678,18 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         return innerCon.equals(c);
     }
 
+    /**
+     * Tests whether result sets of statements created from this connection, or from the connection it wraps, resolve
+     * each column label to its index once and use index-based getters afterwards.
+     *
+     * @return whether column label caching is on.
+     * @since 2.15.0
+     */
+    public boolean isCacheColumnLabels() {
+        return cacheColumnLabels
+                || connection instanceof DelegatingConnection && ((DelegatingConnection<?>) connection).isCacheColumnLabels();
+    }
+
     @Override
     public boolean isClosed() throws SQLException {
         return closed || connection == null || connection.isClosed();
@@ -620,6 +719,19 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Tests whether statements created from this connection, or from the connection it wraps, track their open
+     * {@link ResultSet}s in a plain list rather than registering them as weakly referenced {@link AbandonedTrace}
+     * children.
+     *
+     * @return whether thin result set tracking is on.
+     * @since 2.15.0
+     */
+    public boolean isThinResultSetTracking() {
+        return thinResultSetTracking
+                || connection instanceof DelegatingConnection && ((DelegatingConnection<?>) connection).isThinResultSetTracking();
+    }
+
     /**
      * Tests if the connection has not been closed and is still valid.
      *
@@ -836,6 +948,19 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Notifies this instance that a call to the database, like a statement execution or a commit, completed
+     * successfully.
+     * <p>
+     * This implementation does nothing, subclasses may override to track the health of the underlying connection.
+     * </p>
+     *
+     * @since 2.15.0
+     */
+    protected void roundTripSucceeded() {
+        // nop
+    }
+
     @Override
     public void setAutoCommit(final boolean autoCommit) throws SQLException {
         checkOpen();
@@ -850,6 +975,19 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Sets whether result sets of statements created from this connection resolve each column label to its index with
+     * {@link ResultSet#findColumn(String)} the first time the label is used, and call the driver's index-based getters
+     * for that label afterwards. This saves the driver's label lookup on every label-based getter call; it assumes the
+     * driver resolves a label the same way in {@code findColumn} as in its label-based getters.
+     *
+     * @param cacheColumnLabels whether to cache column label resolutions.
+     * @since 2.15.0
+     */
+    public void setCacheColumnLabels(final boolean cacheColumnLabels) {
+        this.cacheColumnLabels = cacheColumnLabels;
+    }
+
     /**
      * Sets whether to cache properties. The cached properties are:
      * <ul>
@@ -912,6 +1050,41 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         this.closed = closed;
     }
 
+    /**
+     * Sets the cache that {@link DatabaseMetaData} objects of this connection answer from. The cache is meant to be
+     * shared by the connections of one data source, which all see the same database.
+     *
+     * @param databaseMetaDataCache the database metadata cache, or null to not cache database metadata.
+     * @since 2.15.0
+     */
+    public void setDatabaseMetaDataCache(final DatabaseMetaDataCache databaseMetaDataCache) {
+        this.databaseMetaDataCache = databaseMetaDataCache;
+    }
+
+    /**
+     * Sets the default fetch size that will be used for {@link Statement}s created from this connection. {@code null}
+     * means that the driver default will be used.
+     *
+     * @param defaultFetchSize
+     *            the new default fetch size, may be null.
+     * @since 2.15.0
+     */
+    public void setDefaultFetchSize(final Integer defaultFetchSize) {
+        this.defaultFetchSize = defaultFetchSize;
+    }
+
+    /**
+     * Sets the default maximum number of rows that will be used for {@link Statement}s created from this connection.
+     * {@code null} means that the driver default will be used.
+     *
+     * @param defaultMaxRows
+     *            the new default maximum number of rows; zero means there is no limit.
+     * @since 2.15.0
+     */
+    public void setDefaultMaxRows(final Integer defaultMaxRows) {
+        this.defaultMaxRows = defaultMaxRows;
+    }
+
     /**
      * Sets the default query timeout that will be used for {@link Statement}s created from this connection.
      * {@code null} means that the driver default will be used.
@@ -967,6 +1140,19 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Sets a timer that enforces the query timeouts of statements created from this connection. Such a statement keeps
+     * the timeout given to {@link Statement#setQueryTimeout(int)} instead of passing it to the driver, and schedules a
+     * {@link Statement#cancel()} on this timer for each execution that has a timeout. This helps with drivers that
+     * start a thread or a timer task for each statement with a timeout.
+     *
+     * @param queryTimeoutScheduler the query timeout timer, or null to let the driver enforce query timeouts.
+     * @since 2.15.0
+     */
+    public void setQueryTimeoutScheduler(final ScheduledExecutorService queryTimeoutScheduler) {
+        this.queryTimeoutScheduler = queryTimeoutScheduler;
+    }
+
     @Override
     public void setReadOnly(final boolean readOnly) throws SQLException {
         checkOpen();
@@ -1017,6 +1203,19 @@ public class DelegatingConnection<C extends Connection> extends AbandonedTrace i
         }
     }
 
+    /**
+     * Sets whether statements created from this connection track their open {@link ResultSet}s in a plain list, which
+     * saves a weak reference and a synchronized list update per result set. The open result sets are still closed
+     * when their statement is closed or returned to its pool; unlike weakly referenced ones, a result set that the
+     * application drops without closing stays reachable until then.
+     *
+     * @param thinResultSetTracking whether to use thin result set tracking.
+     * @since 2.15.0
+     */
+    public void setThinResultSetTracking(final boolean thinResultSetTracking) {
+        this.thinResultSetTracking = thinResultSetTracking;
+    }
+
     @Override
     public void setTransactionIsolation(final int level) throws SQLException {
         checkOpen();
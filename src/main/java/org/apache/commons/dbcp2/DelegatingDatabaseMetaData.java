@@ -21,6 +21,9 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.RowIdLifetime;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 
@@ -43,6 +46,9 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
     /** The connection that created me. **/
     private final DelegatingConnection<?> connection;
 
+    /** The data source's metadata cache, if any. **/
+    private final DatabaseMetaDataCache cache;
+
     /**
      * Constructs a new instance for the given delegating connection and database meta data.
      *
@@ -52,53 +58,70 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
     public DelegatingDatabaseMetaData(final DelegatingConnection<?> connection, final DatabaseMetaData databaseMetaData) {
         this.connection = Objects.requireNonNull(connection, "connection");
         this.databaseMetaData = Objects.requireNonNull(databaseMetaData, "databaseMetaData");
+        this.cache = connection.getDatabaseMetaDataCache();
     }
 
     @Override
     public boolean allProceduresAreCallable() throws SQLException {
-        return getB(databaseMetaData::allProceduresAreCallable);
+        return getB("allProceduresAreCallable", databaseMetaData::allProceduresAreCallable);
     }
 
     @Override
     public boolean allTablesAreSelectable() throws SQLException {
-        return getB(databaseMetaData::allTablesAreSelectable);
+        return getB("allTablesAreSelectable", databaseMetaData::allTablesAreSelectable);
     }
 
     @Override
     public boolean autoCommitFailureClosesAllResultSets() throws SQLException {
-        return getB(databaseMetaData::autoCommitFailureClosesAllResultSets);
+        return getB("autoCommitFailureClosesAllResultSets", databaseMetaData::autoCommitFailureClosesAllResultSets);
+    }
+
+    private String cacheKey(final String name, final int arg) {
+        return cache != null ? name + '(' + arg + ')' : null;
+    }
+
+    private String cacheKey(final String name, final int arg1, final int arg2) {
+        return cache != null ? name + '(' + arg1 + ',' + arg2 + ')' : null;
     }
 
     @Override
     public boolean dataDefinitionCausesTransactionCommit() throws SQLException {
-        return getB(databaseMetaData::dataDefinitionCausesTransactionCommit);
+        return getB("dataDefinitionCausesTransactionCommit", databaseMetaData::dataDefinitionCausesTransactionCommit);
     }
 
     @Override
     public boolean dataDefinitionIgnoredInTransactions() throws SQLException {
-        return getB(databaseMetaData::dataDefinitionIgnoredInTransactions);
+        return getB("dataDefinitionIgnoredInTransactions", databaseMetaData::dataDefinitionIgnoredInTransactions);
     }
 
     @Override
     public boolean deletesAreDetected(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.deletesAreDetected(type));
+        return getB(cacheKey("deletesAreDetected", type), () -> databaseMetaData.deletesAreDetected(type));
     }
 
     @Override
     public boolean doesMaxRowSizeIncludeBlobs() throws SQLException {
-        return getB(databaseMetaData::doesMaxRowSizeIncludeBlobs);
+        return getB("doesMaxRowSizeIncludeBlobs", databaseMetaData::doesMaxRowSizeIncludeBlobs);
     }
 
     @Override
     public boolean generatedKeyAlwaysReturned() throws SQLException {
         connection.checkOpen();
-        return getB(() -> Jdbc41Bridge.generatedKeyAlwaysReturned(databaseMetaData));
+        return getB("generatedKeyAlwaysReturned", () -> Jdbc41Bridge.generatedKeyAlwaysReturned(databaseMetaData));
     }
 
     private <T> T get(final Callable<T> s) throws SQLException {
         return get(s, null);
     }
 
+    private <T> T get(final String key, final Callable<T> s) throws SQLException {
+        return get(key, s, null);
+    }
+
+    private <T> T get(final String key, final Callable<T> s, final T defaultValue) throws SQLException {
+        return get(cache != null ? () -> cache.get(key, s) : s, defaultValue);
+    }
+
     private <T> T get(final Callable<T> s, final T defaultValue) throws SQLException {
         try {
             return s.call();
@@ -113,48 +136,56 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
     @Override
     public ResultSet getAttributes(final String catalog, final String schemaPattern, final String typeNamePattern, final String attributeNamePattern)
             throws SQLException {
-        return getRS(() -> databaseMetaData.getAttributes(catalog, schemaPattern, typeNamePattern, attributeNamePattern));
+        return getRS("getAttributes", () -> databaseMetaData.getAttributes(catalog, schemaPattern, typeNamePattern, attributeNamePattern),
+                catalog, schemaPattern, typeNamePattern, attributeNamePattern);
     }
 
     private boolean getB(final Callable<Boolean> s) throws SQLException {
         return get(s, false);
     }
 
+    private boolean getB(final String key, final Callable<Boolean> s) throws SQLException {
+        return get(key, s, false);
+    }
+
     @Override
     public ResultSet getBestRowIdentifier(final String catalog, final String schema, final String table, final int scope, final boolean nullable)
             throws SQLException {
-        return getRS(() -> databaseMetaData.getBestRowIdentifier(catalog, schema, table, scope, nullable));
+        return getRS("getBestRowIdentifier", () -> databaseMetaData.getBestRowIdentifier(catalog, schema, table, scope, nullable),
+                catalog, schema, table, scope, nullable);
     }
 
     @Override
     public ResultSet getCatalogs() throws SQLException {
-        return getRS(databaseMetaData::getCatalogs);
+        return getRS("getCatalogs", databaseMetaData::getCatalogs);
     }
 
     @Override
     public String getCatalogSeparator() throws SQLException {
-        return get(databaseMetaData::getCatalogSeparator);
+        return get("getCatalogSeparator", databaseMetaData::getCatalogSeparator);
     }
 
     @Override
     public String getCatalogTerm() throws SQLException {
-        return get(databaseMetaData::getCatalogTerm);
+        return get("getCatalogTerm", databaseMetaData::getCatalogTerm);
     }
 
     @Override
     public ResultSet getClientInfoProperties() throws SQLException {
-        return getRS(databaseMetaData::getClientInfoProperties);
+        return getRS("getClientInfoProperties", databaseMetaData::getClientInfoProperties);
     }
 
     @Override
     public ResultSet getColumnPrivileges(final String catalog, final String schema, final String table, final String columnNamePattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getColumnPrivileges(catalog, schema, table, columnNamePattern));
+        return getRS("getColumnPrivileges", () -> databaseMetaData.getColumnPrivileges(catalog, schema, table, columnNamePattern),
+                catalog, schema, table, columnNamePattern);
     }
 
     @Override
     public ResultSet getColumns(final String catalog, final String schemaPattern, final String tableNamePattern, final String columnNamePattern)
             throws SQLException {
-        return getRS(() -> databaseMetaData.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern));
+        return getRS("getColumns", () -> databaseMetaData.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern),
+                catalog, schemaPattern, tableNamePattern, columnNamePattern);
     }
 
     @Override
@@ -165,32 +196,33 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
     @Override
     public ResultSet getCrossReference(final String parentCatalog, final String parentSchema, final String parentTable, final String foreignCatalog,
             final String foreignSchema, final String foreignTable) throws SQLException {
-        return getRS(() -> databaseMetaData.getCrossReference(parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable));
+        return getRS("getCrossReference", () -> databaseMetaData.getCrossReference(parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable),
+                parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable);
     }
 
     @Override
     public int getDatabaseMajorVersion() throws SQLException {
-        return getI(databaseMetaData::getDatabaseMajorVersion);
+        return getI("getDatabaseMajorVersion", databaseMetaData::getDatabaseMajorVersion);
     }
 
     @Override
     public int getDatabaseMinorVersion() throws SQLException {
-        return getI(databaseMetaData::getDatabaseMinorVersion);
+        return getI("getDatabaseMinorVersion", databaseMetaData::getDatabaseMinorVersion);
     }
 
     @Override
     public String getDatabaseProductName() throws SQLException {
-        return get(databaseMetaData::getDatabaseProductName);
+        return get("getDatabaseProductName", databaseMetaData::getDatabaseProductName);
     }
 
     @Override
     public String getDatabaseProductVersion() throws SQLException {
-        return get(databaseMetaData::getDatabaseProductVersion);
+        return get("getDatabaseProductVersion", databaseMetaData::getDatabaseProductVersion);
     }
 
     @Override
     public int getDefaultTransactionIsolation() throws SQLException {
-        return getI(databaseMetaData::getDefaultTransactionIsolation);
+        return getI("getDefaultTransactionIsolation", databaseMetaData::getDefaultTransactionIsolation);
     }
 
     /**
@@ -214,53 +246,56 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
 
     @Override
     public String getDriverName() throws SQLException {
-        return get(databaseMetaData::getDriverName);
+        return get("getDriverName", databaseMetaData::getDriverName);
     }
 
     @Override
     public String getDriverVersion() throws SQLException {
-        return get(databaseMetaData::getDriverVersion);
+        return get("getDriverVersion", databaseMetaData::getDriverVersion);
     }
 
     @Override
     public ResultSet getExportedKeys(final String catalog, final String schema, final String table) throws SQLException {
-        return getRS(() -> databaseMetaData.getExportedKeys(catalog, schema, table));
+        return getRS("getExportedKeys", () -> databaseMetaData.getExportedKeys(catalog, schema, table), catalog, schema, table);
     }
 
     @Override
     public String getExtraNameCharacters() throws SQLException {
-        return get(databaseMetaData::getExtraNameCharacters);
+        return get("getExtraNameCharacters", databaseMetaData::getExtraNameCharacters);
     }
 
     @Override
     public ResultSet getFunctionColumns(final String catalog, final String schemaPattern, final String functionNamePattern, final String columnNamePattern)
             throws SQLException {
-        return getRS(() -> databaseMetaData.getFunctionColumns(catalog, schemaPattern, functionNamePattern, columnNamePattern));
+        return getRS("getFunctionColumns", () -> databaseMetaData.getFunctionColumns(catalog, schemaPattern, functionNamePattern, columnNamePattern),
+                catalog, schemaPattern, functionNamePattern, columnNamePattern);
     }
 
     @Override
     public ResultSet getFunctions(final String catalog, final String schemaPattern, final String functionNamePattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getFunctions(catalog, schemaPattern, functionNamePattern));
+        return getRS("getFunctions", () -> databaseMetaData.getFunctions(catalog, schemaPattern, functionNamePattern),
+                catalog, schemaPattern, functionNamePattern);
     }
 
-    private int getI(final Callable<Integer> s) throws SQLException {
-        return get(s, 0);
+    private int getI(final String key, final Callable<Integer> s) throws SQLException {
+        return get(key, s, 0);
     }
 
     @Override
     public String getIdentifierQuoteString() throws SQLException {
-        return get(databaseMetaData::getIdentifierQuoteString);
+        return get("getIdentifierQuoteString", databaseMetaData::getIdentifierQuoteString);
     }
 
     @Override
     public ResultSet getImportedKeys(final String catalog, final String schema, final String table) throws SQLException {
-        return getRS(() -> databaseMetaData.getImportedKeys(catalog, schema, table));
+        return getRS("getImportedKeys", () -> databaseMetaData.getImportedKeys(catalog, schema, table), catalog, schema, table);
     }
 
     @Override
     public ResultSet getIndexInfo(final String catalog, final String schema, final String table, final boolean unique, final boolean approximate)
             throws SQLException {
-        return getRS(() -> databaseMetaData.getIndexInfo(catalog, schema, table, unique, approximate));
+        return getRS("getIndexInfo", () -> databaseMetaData.getIndexInfo(catalog, schema, table, unique, approximate),
+                catalog, schema, table, unique, approximate);
     }
 
     /**
@@ -288,76 +323,76 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
 
     @Override
     public int getJDBCMajorVersion() throws SQLException {
-        return getI(databaseMetaData::getJDBCMajorVersion);
+        return getI("getJDBCMajorVersion", databaseMetaData::getJDBCMajorVersion);
     }
 
     @Override
     public int getJDBCMinorVersion() throws SQLException {
-        return getI(databaseMetaData::getJDBCMinorVersion);
+        return getI("getJDBCMinorVersion", databaseMetaData::getJDBCMinorVersion);
     }
 
-    private long getL(final Callable<Long> s) throws SQLException {
-        return get(s, 0L);
+    private long getL(final String key, final Callable<Long> s) throws SQLException {
+        return get(key, s, 0L);
     }
 
     @Override
     public int getMaxBinaryLiteralLength() throws SQLException {
-        return getI(databaseMetaData::getMaxBinaryLiteralLength);
+        return getI("getMaxBinaryLiteralLength", databaseMetaData::getMaxBinaryLiteralLength);
     }
 
     @Override
     public int getMaxCatalogNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxCatalogNameLength);
+        return getI("getMaxCatalogNameLength", databaseMetaData::getMaxCatalogNameLength);
     }
 
     @Override
     public int getMaxCharLiteralLength() throws SQLException {
-        return getI(databaseMetaData::getMaxCharLiteralLength);
+        return getI("getMaxCharLiteralLength", databaseMetaData::getMaxCharLiteralLength);
     }
 
     @Override
     public int getMaxColumnNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxColumnNameLength);
+        return getI("getMaxColumnNameLength", databaseMetaData::getMaxColumnNameLength);
     }
 
     @Override
     public int getMaxColumnsInGroupBy() throws SQLException {
-        return getI(databaseMetaData::getMaxColumnsInGroupBy);
+        return getI("getMaxColumnsInGroupBy", databaseMetaData::getMaxColumnsInGroupBy);
     }
 
     @Override
     public int getMaxColumnsInIndex() throws SQLException {
-        return getI(databaseMetaData::getMaxColumnsInIndex);
+        return getI("getMaxColumnsInIndex", databaseMetaData::getMaxColumnsInIndex);
     }
 
     @Override
     public int getMaxColumnsInOrderBy() throws SQLException {
-        return getI(databaseMetaData::getMaxColumnsInOrderBy);
+        return getI("getMaxColumnsInOrderBy", databaseMetaData::getMaxColumnsInOrderBy);
     }
 
     @Override
     public int getMaxColumnsInSelect() throws SQLException {
-        return getI(databaseMetaData::getMaxColumnsInSelect);
+        return getI("getMaxColumnsInSelect", databaseMetaData::getMaxColumnsInSelect);
     }
 
     @Override
     public int getMaxColumnsInTable() throws SQLException {
-        return getI(databaseMetaData::getMaxColumnsInTable);
+        return getI("getMaxColumnsInTable", databaseMetaData::getMaxColumnsInTable);
     }
 
     @Override
     public int getMaxConnections() throws SQLException {
-        return getI(databaseMetaData::getMaxConnections);
+        return getI("getMaxConnections", databaseMetaData::getMaxConnections);
     }
 
     @Override
     public int getMaxCursorNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxCursorNameLength);
+        return getI("getMaxCursorNameLength", databaseMetaData::getMaxCursorNameLength);
     }
 
     @Override
     public int getMaxIndexLength() throws SQLException {
-        return getI(databaseMetaData::getMaxIndexLength);
+        return getI("getMaxIndexLength", databaseMetaData::getMaxIndexLength);
     }
 
     /**
@@ -365,180 +400,201 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
      */
     @Override
     public long getMaxLogicalLobSize() throws SQLException {
-        return getL(databaseMetaData::getMaxLogicalLobSize);
+        return getL("getMaxLogicalLobSize", databaseMetaData::getMaxLogicalLobSize);
     }
 
     @Override
     public int getMaxProcedureNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxProcedureNameLength);
+        return getI("getMaxProcedureNameLength", databaseMetaData::getMaxProcedureNameLength);
     }
 
     @Override
     public int getMaxRowSize() throws SQLException {
-        return getI(databaseMetaData::getMaxRowSize);
+        return getI("getMaxRowSize", databaseMetaData::getMaxRowSize);
     }
 
     @Override
     public int getMaxSchemaNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxSchemaNameLength);
+        return getI("getMaxSchemaNameLength", databaseMetaData::getMaxSchemaNameLength);
     }
 
     @Override
     public int getMaxStatementLength() throws SQLException {
-        return getI(databaseMetaData::getMaxStatementLength);
+        return getI("getMaxStatementLength", databaseMetaData::getMaxStatementLength);
     }
 
     @Override
     public int getMaxStatements() throws SQLException {
-        return getI(databaseMetaData::getMaxStatements);
+        return getI("getMaxStatements", databaseMetaData::getMaxStatements);
     }
 
     @Override
     public int getMaxTableNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxTableNameLength);
+        return getI("getMaxTableNameLength", databaseMetaData::getMaxTableNameLength);
     }
 
     @Override
     public int getMaxTablesInSelect() throws SQLException {
-        return getI(databaseMetaData::getMaxTablesInSelect);
+        return getI("getMaxTablesInSelect", databaseMetaData::getMaxTablesInSelect);
     }
 
     @Override
     public int getMaxUserNameLength() throws SQLException {
-        return getI(databaseMetaData::getMaxUserNameLength);
+        return getI("getMaxUserNameLength", databaseMetaData::getMaxUserNameLength);
     }
 
     @Override
     public String getNumericFunctions() throws SQLException {
-        return get(databaseMetaData::getNumericFunctions);
+        return get("getNumericFunctions", databaseMetaData::getNumericFunctions);
     }
 
     @Override
     public ResultSet getPrimaryKeys(final String catalog, final String schema, final String table) throws SQLException {
-        return getRS(() -> databaseMetaData.getPrimaryKeys(catalog, schema, table));
+        return getRS("getPrimaryKeys", () -> databaseMetaData.getPrimaryKeys(catalog, schema, table), catalog, schema, table);
     }
 
     @Override
     public ResultSet getProcedureColumns(final String catalog, final String schemaPattern, final String procedureNamePattern, final String columnNamePattern)
             throws SQLException {
-        return getRS(() -> databaseMetaData.getProcedureColumns(catalog, schemaPattern, procedureNamePattern, columnNamePattern));
+        return getRS("getProcedureColumns", () -> databaseMetaData.getProcedureColumns(catalog, schemaPattern, procedureNamePattern, columnNamePattern),
+                catalog, schemaPattern, procedureNamePattern, columnNamePattern);
     }
 
     @Override
     public ResultSet getProcedures(final String catalog, final String schemaPattern, final String procedureNamePattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getProcedures(catalog, schemaPattern, procedureNamePattern));
+        return getRS("getProcedures", () -> databaseMetaData.getProcedures(catalog, schemaPattern, procedureNamePattern),
+                catalog, schemaPattern, procedureNamePattern);
     }
 
     @Override
     public String getProcedureTerm() throws SQLException {
-        return get(databaseMetaData::getProcedureTerm);
+        return get("getProcedureTerm", databaseMetaData::getProcedureTerm);
     }
 
     @Override
     public ResultSet getPseudoColumns(final String catalog, final String schemaPattern, final String tableNamePattern, final String columnNamePattern)
             throws SQLException {
-        return getRS(() -> Jdbc41Bridge.getPseudoColumns(databaseMetaData, catalog, schemaPattern, tableNamePattern, columnNamePattern));
+        return getRS("getPseudoColumns", () -> Jdbc41Bridge.getPseudoColumns(databaseMetaData, catalog, schemaPattern, tableNamePattern, columnNamePattern),
+                catalog, schemaPattern, tableNamePattern, columnNamePattern);
     }
 
     @Override
     public int getResultSetHoldability() throws SQLException {
-        return getI(databaseMetaData::getResultSetHoldability);
+        return getI("getResultSetHoldability", databaseMetaData::getResultSetHoldability);
     }
 
     @Override
     public RowIdLifetime getRowIdLifetime() throws SQLException {
-        return get(databaseMetaData::getRowIdLifetime);
+        return get("getRowIdLifetime", databaseMetaData::getRowIdLifetime);
     }
 
     @SuppressWarnings("resource")
-    private ResultSet getRS(final Callable<ResultSet> s) throws SQLException {
+    private ResultSet getRS(final String name, final Callable<ResultSet> s, final Object... args) throws SQLException {
         connection.checkOpen();
-        return DelegatingResultSet.wrapResultSet(connection, get(s));
+        if (cache == null || !cache.isCachingResultSets()) {
+            return DelegatingResultSet.wrapResultSet(connection, get(s));
+        }
+        // Some drivers read null catalog or schema arguments as the connection's current ones; queries that name them
+        // do not depend on the connection, so skip asking it, which is a round trip when its state is not cached.
+        final boolean current = args.length == 0 || Arrays.asList(args).contains(null);
+        final List<Object> key = new ArrayList<>(args.length + 3);
+        key.add(name);
+        key.add(current ? connection.getCatalog() : null);
+        key.add(current ? connection.getSchema() : null);
+        for (final Object arg : args) {
+            key.add(arg instanceof String[] ? new ArrayList<>(Arrays.asList((String[]) arg)) : arg instanceof int[] ? Arrays.toString((int[]) arg) : arg);
+        }
+        return DelegatingResultSet.wrapResultSet(connection, get(() -> cache.getResultSet(key, s)));
     }
 
     @Override
     public ResultSet getSchemas() throws SQLException {
-        return getRS(databaseMetaData::getSchemas);
+        return getRS("getSchemas", databaseMetaData::getSchemas);
     }
 
     @Override
     public ResultSet getSchemas(final String catalog, final String schemaPattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getSchemas(catalog, schemaPattern));
+        return getRS("getSchemas", () -> databaseMetaData.getSchemas(catalog, schemaPattern), catalog, schemaPattern);
     }
 
     @Override
     public String getSchemaTerm() throws SQLException {
-        return get(databaseMetaData::getSchemaTerm);
+        return get("getSchemaTerm", databaseMetaData::getSchemaTerm);
     }
 
     @Override
     public String getSearchStringEscape() throws SQLException {
-        return get(databaseMetaData::getSearchStringEscape);
+        return get("getSearchStringEscape", databaseMetaData::getSearchStringEscape);
     }
 
     @Override
     public String getSQLKeywords() throws SQLException {
-        return get(databaseMetaData::getSQLKeywords);
+        return get("getSQLKeywords", databaseMetaData::getSQLKeywords);
     }
 
     @Override
     public int getSQLStateType() throws SQLException {
-        return getI(databaseMetaData::getSQLStateType);
+        return getI("getSQLStateType", databaseMetaData::getSQLStateType);
     }
 
     @Override
     public String getStringFunctions() throws SQLException {
-        return get(databaseMetaData::getStringFunctions);
+        return get("getStringFunctions", databaseMetaData::getStringFunctions);
     }
 
     @Override
     public ResultSet getSuperTables(final String catalog, final String schemaPattern, final String tableNamePattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getSuperTables(catalog, schemaPattern, tableNamePattern));
+        return getRS("getSuperTables", () -> databaseMetaData.getSuperTables(catalog, schemaPattern, tableNamePattern),
+                catalog, schemaPattern, tableNamePattern);
     }
 
     @Override
     public ResultSet getSuperTypes(final String catalog, final String schemaPattern, final String typeNamePattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getSuperTypes(catalog, schemaPattern, typeNamePattern));
+        return getRS("getSuperTypes", () -> databaseMetaData.getSuperTypes(catalog, schemaPattern, typeNamePattern),
+                catalog, schemaPattern, typeNamePattern);
     }
 
     @Override
     public String getSystemFunctions() throws SQLException {
-        return get(databaseMetaData::getSystemFunctions);
+        return get("getSystemFunctions", databaseMetaData::getSystemFunctions);
     }
 
     @Override
     public ResultSet getTablePrivileges(final String catalog, final String schemaPattern, final String tableNamePattern) throws SQLException {
-        return getRS(() -> databaseMetaData.getTablePrivileges(catalog, schemaPattern, tableNamePattern));
+        return getRS("getTablePrivileges", () -> databaseMetaData.getTablePrivileges(catalog, schemaPattern, tableNamePattern),
+                catalog, schemaPattern, tableNamePattern);
     }
 
     @Override
     public ResultSet getTables(final String catalog, final String schemaPattern, final String tableNamePattern, final String[] types) throws SQLException {
-        return getRS(() -> databaseMetaData.getTables(catalog, schemaPattern, tableNamePattern, types));
+        return getRS("getTables", () -> databaseMetaData.getTables(catalog, schemaPattern, tableNamePattern, types),
+                catalog, schemaPattern, tableNamePattern, types);
     }
 
     @Override
     public ResultSet getTableTypes() throws SQLException {
-        return getRS(databaseMetaData::getTableTypes);
+        return getRS("getTableTypes", databaseMetaData::getTableTypes);
     }
 
     @Override
     public String getTimeDateFunctions() throws SQLException {
-        return get(databaseMetaData::getTimeDateFunctions);
+        return get("getTimeDateFunctions", databaseMetaData::getTimeDateFunctions);
     }
 
     @Override
     public ResultSet getTypeInfo() throws SQLException {
-        return getRS(databaseMetaData::getTypeInfo);
+        return getRS("getTypeInfo", databaseMetaData::getTypeInfo);
     }
 
     @Override
     public ResultSet getUDTs(final String catalog, final String schemaPattern, final String typeNamePattern, final int[] types) throws SQLException {
-        return getRS(() -> databaseMetaData.getUDTs(catalog, schemaPattern, typeNamePattern, types));
+        return getRS("getUDTs", () -> databaseMetaData.getUDTs(catalog, schemaPattern, typeNamePattern, types),
+                catalog, schemaPattern, typeNamePattern, types);
     }
 
     @Override
     public String getURL() throws SQLException {
-        return get(databaseMetaData::getURL);
+        return get("getURL", databaseMetaData::getURL);
     }
 
     @Override
@@ -548,7 +604,7 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
 
     @Override
     public ResultSet getVersionColumns(final String catalog, final String schema, final String table) throws SQLException {
-        return getRS(() -> databaseMetaData.getVersionColumns(catalog, schema, table));
+        return getRS("getVersionColumns", () -> databaseMetaData.getVersionColumns(catalog, schema, table), catalog, schema, table);
     }
 
     /**
@@ -566,12 +622,12 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
 
     @Override
     public boolean insertsAreDetected(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.insertsAreDetected(type));
+        return getB(cacheKey("insertsAreDetected", type), () -> databaseMetaData.insertsAreDetected(type));
     }
 
     @Override
     public boolean isCatalogAtStart() throws SQLException {
-        return getB(databaseMetaData::isCatalogAtStart);
+        return getB("isCatalogAtStart", databaseMetaData::isCatalogAtStart);
     }
 
     @Override
@@ -589,318 +645,318 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
 
     @Override
     public boolean locatorsUpdateCopy() throws SQLException {
-        return getB(databaseMetaData::locatorsUpdateCopy);
+        return getB("locatorsUpdateCopy", databaseMetaData::locatorsUpdateCopy);
     }
 
     @Override
     public boolean nullPlusNonNullIsNull() throws SQLException {
-        return getB(databaseMetaData::nullPlusNonNullIsNull);
+        return getB("nullPlusNonNullIsNull", databaseMetaData::nullPlusNonNullIsNull);
     }
 
     @Override
     public boolean nullsAreSortedAtEnd() throws SQLException {
-        return getB(databaseMetaData::nullsAreSortedAtEnd);
+        return getB("nullsAreSortedAtEnd", databaseMetaData::nullsAreSortedAtEnd);
     }
 
     @Override
     public boolean nullsAreSortedAtStart() throws SQLException {
-        return getB(databaseMetaData::nullsAreSortedAtStart);
+        return getB("nullsAreSortedAtStart", databaseMetaData::nullsAreSortedAtStart);
     }
 
     @Override
     public boolean nullsAreSortedHigh() throws SQLException {
-        return getB(databaseMetaData::nullsAreSortedHigh);
+        return getB("nullsAreSortedHigh", databaseMetaData::nullsAreSortedHigh);
     }
 
     @Override
     public boolean nullsAreSortedLow() throws SQLException {
-        return getB(databaseMetaData::nullsAreSortedLow);
+        return getB("nullsAreSortedLow", databaseMetaData::nullsAreSortedLow);
     }
 
     @Override
     public boolean othersDeletesAreVisible(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.othersDeletesAreVisible(type));
+        return getB(cacheKey("othersDeletesAreVisible", type), () -> databaseMetaData.othersDeletesAreVisible(type));
     }
 
     @Override
     public boolean othersInsertsAreVisible(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.othersInsertsAreVisible(type));
+        return getB(cacheKey("othersInsertsAreVisible", type), () -> databaseMetaData.othersInsertsAreVisible(type));
     }
 
     @Override
     public boolean othersUpdatesAreVisible(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.othersUpdatesAreVisible(type));
+        return getB(cacheKey("othersUpdatesAreVisible", type), () -> databaseMetaData.othersUpdatesAreVisible(type));
     }
 
     @Override
     public boolean ownDeletesAreVisible(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.ownDeletesAreVisible(type));
+        return getB(cacheKey("ownDeletesAreVisible", type), () -> databaseMetaData.ownDeletesAreVisible(type));
     }
 
     @Override
     public boolean ownInsertsAreVisible(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.ownInsertsAreVisible(type));
+        return getB(cacheKey("ownInsertsAreVisible", type), () -> databaseMetaData.ownInsertsAreVisible(type));
     }
 
     @Override
     public boolean ownUpdatesAreVisible(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.ownUpdatesAreVisible(type));
+        return getB(cacheKey("ownUpdatesAreVisible", type), () -> databaseMetaData.ownUpdatesAreVisible(type));
     }
 
     @Override
     public boolean storesLowerCaseIdentifiers() throws SQLException {
-        return getB(databaseMetaData::storesLowerCaseIdentifiers);
+        return getB("storesLowerCaseIdentifiers", databaseMetaData::storesLowerCaseIdentifiers);
     }
 
     @Override
     public boolean storesLowerCaseQuotedIdentifiers() throws SQLException {
-        return getB(databaseMetaData::storesLowerCaseQuotedIdentifiers);
+        return getB("storesLowerCaseQuotedIdentifiers", databaseMetaData::storesLowerCaseQuotedIdentifiers);
     }
 
     @Override
     public boolean storesMixedCaseIdentifiers() throws SQLException {
-        return getB(databaseMetaData::storesMixedCaseIdentifiers);
+        return getB("storesMixedCaseIdentifiers", databaseMetaData::storesMixedCaseIdentifiers);
     }
 
     @Override
     public boolean storesMixedCaseQuotedIdentifiers() throws SQLException {
-        return getB(databaseMetaData::storesMixedCaseQuotedIdentifiers);
+        return getB("storesMixedCaseQuotedIdentifiers", databaseMetaData::storesMixedCaseQuotedIdentifiers);
     }
 
     @Override
     public boolean storesUpperCaseIdentifiers() throws SQLException {
-        return getB(databaseMetaData::storesUpperCaseIdentifiers);
+        return getB("storesUpperCaseIdentifiers", databaseMetaData::storesUpperCaseIdentifiers);
 
     }
 
     @Override
     public boolean storesUpperCaseQuotedIdentifiers() throws SQLException {
-        return getB(databaseMetaData::storesUpperCaseQuotedIdentifiers);
+        return getB("storesUpperCaseQuotedIdentifiers", databaseMetaData::storesUpperCaseQuotedIdentifiers);
     }
 
     @Override
     public boolean supportsAlterTableWithAddColumn() throws SQLException {
-        return getB(databaseMetaData::supportsAlterTableWithAddColumn);
+        return getB("supportsAlterTableWithAddColumn", databaseMetaData::supportsAlterTableWithAddColumn);
     }
 
     @Override
     public boolean supportsAlterTableWithDropColumn() throws SQLException {
-        return getB(databaseMetaData::supportsAlterTableWithDropColumn);
+        return getB("supportsAlterTableWithDropColumn", databaseMetaData::supportsAlterTableWithDropColumn);
     }
 
     @Override
     public boolean supportsANSI92EntryLevelSQL() throws SQLException {
-        return getB(databaseMetaData::supportsANSI92EntryLevelSQL);
+        return getB("supportsANSI92EntryLevelSQL", databaseMetaData::supportsANSI92EntryLevelSQL);
     }
 
     @Override
     public boolean supportsANSI92FullSQL() throws SQLException {
-        return getB(databaseMetaData::supportsANSI92FullSQL);
+        return getB("supportsANSI92FullSQL", databaseMetaData::supportsANSI92FullSQL);
     }
 
     @Override
     public boolean supportsANSI92IntermediateSQL() throws SQLException {
-        return getB(databaseMetaData::supportsANSI92IntermediateSQL);
+        return getB("supportsANSI92IntermediateSQL", databaseMetaData::supportsANSI92IntermediateSQL);
     }
 
     @Override
     public boolean supportsBatchUpdates() throws SQLException {
-        return getB(databaseMetaData::supportsBatchUpdates);
+        return getB("supportsBatchUpdates", databaseMetaData::supportsBatchUpdates);
     }
 
     @Override
     public boolean supportsCatalogsInDataManipulation() throws SQLException {
-        return getB(databaseMetaData::supportsCatalogsInDataManipulation);
+        return getB("supportsCatalogsInDataManipulation", databaseMetaData::supportsCatalogsInDataManipulation);
     }
 
     @Override
     public boolean supportsCatalogsInIndexDefinitions() throws SQLException {
-        return getB(databaseMetaData::supportsCatalogsInIndexDefinitions);
+        return getB("supportsCatalogsInIndexDefinitions", databaseMetaData::supportsCatalogsInIndexDefinitions);
     }
 
     @Override
     public boolean supportsCatalogsInPrivilegeDefinitions() throws SQLException {
-        return getB(databaseMetaData::supportsCatalogsInPrivilegeDefinitions);
+        return getB("supportsCatalogsInPrivilegeDefinitions", databaseMetaData::supportsCatalogsInPrivilegeDefinitions);
     }
 
     @Override
     public boolean supportsCatalogsInProcedureCalls() throws SQLException {
-        return getB(databaseMetaData::supportsCatalogsInProcedureCalls);
+        return getB("supportsCatalogsInProcedureCalls", databaseMetaData::supportsCatalogsInProcedureCalls);
     }
 
     @Override
     public boolean supportsCatalogsInTableDefinitions() throws SQLException {
-        return getB(databaseMetaData::supportsCatalogsInTableDefinitions);
+        return getB("supportsCatalogsInTableDefinitions", databaseMetaData::supportsCatalogsInTableDefinitions);
     }
 
     @Override
     public boolean supportsColumnAliasing() throws SQLException {
-        return getB(databaseMetaData::supportsColumnAliasing);
+        return getB("supportsColumnAliasing", databaseMetaData::supportsColumnAliasing);
     }
 
     @Override
     public boolean supportsConvert() throws SQLException {
-        return getB(databaseMetaData::supportsConvert);
+        return getB("supportsConvert", databaseMetaData::supportsConvert);
     }
 
     @Override
     public boolean supportsConvert(final int fromType, final int toType) throws SQLException {
-        return getB(() -> databaseMetaData.supportsConvert(fromType, toType));
+        return getB(cacheKey("supportsConvert", fromType, toType), () -> databaseMetaData.supportsConvert(fromType, toType));
     }
 
     @Override
     public boolean supportsCoreSQLGrammar() throws SQLException {
-        return getB(databaseMetaData::supportsCoreSQLGrammar);
+        return getB("supportsCoreSQLGrammar", databaseMetaData::supportsCoreSQLGrammar);
     }
 
     @Override
     public boolean supportsCorrelatedSubqueries() throws SQLException {
-        return getB(databaseMetaData::supportsCorrelatedSubqueries);
+        return getB("supportsCorrelatedSubqueries", databaseMetaData::supportsCorrelatedSubqueries);
     }
 
     @Override
     public boolean supportsDataDefinitionAndDataManipulationTransactions() throws SQLException {
-        return getB(databaseMetaData::supportsDataDefinitionAndDataManipulationTransactions);
+        return getB("supportsDataDefinitionAndDataManipulationTransactions", databaseMetaData::supportsDataDefinitionAndDataManipulationTransactions);
     }
 
     @Override
     public boolean supportsDataManipulationTransactionsOnly() throws SQLException {
-        return getB(databaseMetaData::supportsDataManipulationTransactionsOnly);
+        return getB("supportsDataManipulationTransactionsOnly", databaseMetaData::supportsDataManipulationTransactionsOnly);
     }
 
     @Override
     public boolean supportsDifferentTableCorrelationNames() throws SQLException {
-        return getB(databaseMetaData::supportsDifferentTableCorrelationNames);
+        return getB("supportsDifferentTableCorrelationNames", databaseMetaData::supportsDifferentTableCorrelationNames);
     }
 
     @Override
     public boolean supportsExpressionsInOrderBy() throws SQLException {
-        return getB(databaseMetaData::supportsExpressionsInOrderBy);
+        return getB("supportsExpressionsInOrderBy", databaseMetaData::supportsExpressionsInOrderBy);
     }
 
     @Override
     public boolean supportsExtendedSQLGrammar() throws SQLException {
-        return getB(databaseMetaData::supportsExtendedSQLGrammar);
+        return getB("supportsExtendedSQLGrammar", databaseMetaData::supportsExtendedSQLGrammar);
     }
 
     @Override
     public boolean supportsFullOuterJoins() throws SQLException {
-        return getB(databaseMetaData::supportsFullOuterJoins);
+        return getB("supportsFullOuterJoins", databaseMetaData::supportsFullOuterJoins);
     }
 
     @Override
     public boolean supportsGetGeneratedKeys() throws SQLException {
-        return getB(databaseMetaData::supportsGetGeneratedKeys);
+        return getB("supportsGetGeneratedKeys", databaseMetaData::supportsGetGeneratedKeys);
     }
 
     @Override
     public boolean supportsGroupBy() throws SQLException {
-        return getB(databaseMetaData::supportsGroupBy);
+        return getB("supportsGroupBy", databaseMetaData::supportsGroupBy);
     }
 
     @Override
     public boolean supportsGroupByBeyondSelect() throws SQLException {
-        return getB(databaseMetaData::supportsGroupByBeyondSelect);
+        return getB("supportsGroupByBeyondSelect", databaseMetaData::supportsGroupByBeyondSelect);
     }
 
     @Override
     public boolean supportsGroupByUnrelated() throws SQLException {
-        return getB(databaseMetaData::supportsGroupByUnrelated);
+        return getB("supportsGroupByUnrelated", databaseMetaData::supportsGroupByUnrelated);
     }
 
     @Override
     public boolean supportsIntegrityEnhancementFacility() throws SQLException {
-        return getB(databaseMetaData::supportsIntegrityEnhancementFacility);
+        return getB("supportsIntegrityEnhancementFacility", databaseMetaData::supportsIntegrityEnhancementFacility);
     }
 
     @Override
     public boolean supportsLikeEscapeClause() throws SQLException {
-        return getB(databaseMetaData::supportsLikeEscapeClause);
+        return getB("supportsLikeEscapeClause", databaseMetaData::supportsLikeEscapeClause);
     }
 
     @Override
     public boolean supportsLimitedOuterJoins() throws SQLException {
-        return getB(databaseMetaData::supportsLimitedOuterJoins);
+        return getB("supportsLimitedOuterJoins", databaseMetaData::supportsLimitedOuterJoins);
     }
 
     @Override
     public boolean supportsMinimumSQLGrammar() throws SQLException {
-        return getB(databaseMetaData::supportsMinimumSQLGrammar);
+        return getB("supportsMinimumSQLGrammar", databaseMetaData::supportsMinimumSQLGrammar);
     }
 
     @Override
     public boolean supportsMixedCaseIdentifiers() throws SQLException {
-        return getB(databaseMetaData::supportsMixedCaseIdentifiers);
+        return getB("supportsMixedCaseIdentifiers", databaseMetaData::supportsMixedCaseIdentifiers);
     }
 
     @Override
     public boolean supportsMixedCaseQuotedIdentifiers() throws SQLException {
-        return getB(databaseMetaData::supportsMixedCaseQuotedIdentifiers);
+        return getB("supportsMixedCaseQuotedIdentifiers", databaseMetaData::supportsMixedCaseQuotedIdentifiers);
     }
 
     @Override
     public boolean supportsMultipleOpenResults() throws SQLException {
-        return getB(databaseMetaData::supportsMultipleOpenResults);
+        return getB("supportsMultipleOpenResults", databaseMetaData::supportsMultipleOpenResults);
     }
 
     @Override
     public boolean supportsMultipleResultSets() throws SQLException {
-        return getB(databaseMetaData::supportsMultipleResultSets);
+        return getB("supportsMultipleResultSets", databaseMetaData::supportsMultipleResultSets);
     }
 
     @Override
     public boolean supportsMultipleTransactions() throws SQLException {
-        return getB(databaseMetaData::supportsMultipleTransactions);
+        return getB("supportsMultipleTransactions", databaseMetaData::supportsMultipleTransactions);
     }
 
     @Override
     public boolean supportsNamedParameters() throws SQLException {
-        return getB(databaseMetaData::supportsNamedParameters);
+        return getB("supportsNamedParameters", databaseMetaData::supportsNamedParameters);
     }
 
     @Override
     public boolean supportsNonNullableColumns() throws SQLException {
-        return getB(databaseMetaData::supportsNonNullableColumns);
+        return getB("supportsNonNullableColumns", databaseMetaData::supportsNonNullableColumns);
     }
 
     @Override
     public boolean supportsOpenCursorsAcrossCommit() throws SQLException {
-        return getB(databaseMetaData::supportsOpenCursorsAcrossCommit);
+        return getB("supportsOpenCursorsAcrossCommit", databaseMetaData::supportsOpenCursorsAcrossCommit);
     }
 
     @Override
     public boolean supportsOpenCursorsAcrossRollback() throws SQLException {
-        return getB(databaseMetaData::supportsOpenCursorsAcrossRollback);
+        return getB("supportsOpenCursorsAcrossRollback", databaseMetaData::supportsOpenCursorsAcrossRollback);
     }
 
     @Override
     public boolean supportsOpenStatementsAcrossCommit() throws SQLException {
-        return getB(databaseMetaData::supportsOpenStatementsAcrossCommit);
+        return getB("supportsOpenStatementsAcrossCommit", databaseMetaData::supportsOpenStatementsAcrossCommit);
     }
 
     @Override
     public boolean supportsOpenStatementsAcrossRollback() throws SQLException {
-        return getB(databaseMetaData::supportsOpenStatementsAcrossRollback);
+        return getB("supportsOpenStatementsAcrossRollback", databaseMetaData::supportsOpenStatementsAcrossRollback);
     }
 
     @Override
     public boolean supportsOrderByUnrelated() throws SQLException {
-        return getB(databaseMetaData::supportsOrderByUnrelated);
+        return getB("supportsOrderByUnrelated", databaseMetaData::supportsOrderByUnrelated);
     }
 
     @Override
     public boolean supportsOuterJoins() throws SQLException {
-        return getB(databaseMetaData::supportsOuterJoins);
+        return getB("supportsOuterJoins", databaseMetaData::supportsOuterJoins);
     }
 
     @Override
     public boolean supportsPositionedDelete() throws SQLException {
-        return getB(databaseMetaData::supportsPositionedDelete);
+        return getB("supportsPositionedDelete", databaseMetaData::supportsPositionedDelete);
     }
 
     @Override
     public boolean supportsPositionedUpdate() throws SQLException {
-        return getB(databaseMetaData::supportsPositionedUpdate);
+        return getB("supportsPositionedUpdate", databaseMetaData::supportsPositionedUpdate);
     }
 
     /**
@@ -908,117 +964,118 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
      */
     @Override
     public boolean supportsRefCursors() throws SQLException {
-        return getB(databaseMetaData::supportsRefCursors);
+        return getB("supportsRefCursors", databaseMetaData::supportsRefCursors);
     }
 
     @Override
     public boolean supportsResultSetConcurrency(final int type, final int concurrency) throws SQLException {
-        return getB(() -> databaseMetaData.supportsResultSetConcurrency(type, concurrency));
+        return getB(cacheKey("supportsResultSetConcurrency", type, concurrency),
+                () -> databaseMetaData.supportsResultSetConcurrency(type, concurrency));
     }
 
     @Override
     public boolean supportsResultSetHoldability(final int holdability) throws SQLException {
-        return getB(() -> databaseMetaData.supportsResultSetHoldability(holdability));
+        return getB(cacheKey("supportsResultSetHoldability", holdability), () -> databaseMetaData.supportsResultSetHoldability(holdability));
     }
 
     @Override
     public boolean supportsResultSetType(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.supportsResultSetType(type));
+        return getB(cacheKey("supportsResultSetType", type), () -> databaseMetaData.supportsResultSetType(type));
     }
 
     @Override
     public boolean supportsSavepoints() throws SQLException {
-        return getB(databaseMetaData::supportsSavepoints);
+        return getB("supportsSavepoints", databaseMetaData::supportsSavepoints);
     }
 
     @Override
     public boolean supportsSchemasInDataManipulation() throws SQLException {
-        return getB(databaseMetaData::supportsSchemasInDataManipulation);
+        return getB("supportsSchemasInDataManipulation", databaseMetaData::supportsSchemasInDataManipulation);
     }
 
     @Override
     public boolean supportsSchemasInIndexDefinitions() throws SQLException {
-        return getB(databaseMetaData::supportsSchemasInIndexDefinitions);
+        return getB("supportsSchemasInIndexDefinitions", databaseMetaData::supportsSchemasInIndexDefinitions);
     }
 
     @Override
     public boolean supportsSchemasInPrivilegeDefinitions() throws SQLException {
-        return getB(databaseMetaData::supportsSchemasInPrivilegeDefinitions);
+        return getB("supportsSchemasInPrivilegeDefinitions", databaseMetaData::supportsSchemasInPrivilegeDefinitions);
     }
 
     @Override
     public boolean supportsSchemasInProcedureCalls() throws SQLException {
-        return getB(databaseMetaData::supportsSchemasInProcedureCalls);
+        return getB("supportsSchemasInProcedureCalls", databaseMetaData::supportsSchemasInProcedureCalls);
     }
 
     @Override
     public boolean supportsSchemasInTableDefinitions() throws SQLException {
-        return getB(databaseMetaData::supportsSchemasInTableDefinitions);
+        return getB("supportsSchemasInTableDefinitions", databaseMetaData::supportsSchemasInTableDefinitions);
     }
 
     @Override
     public boolean supportsSelectForUpdate() throws SQLException {
-        return getB(databaseMetaData::supportsSelectForUpdate);
+        return getB("supportsSelectForUpdate", databaseMetaData::supportsSelectForUpdate);
     }
 
     @Override
     public boolean supportsStatementPooling() throws SQLException {
-        return getB(databaseMetaData::supportsStatementPooling);
+        return getB("supportsStatementPooling", databaseMetaData::supportsStatementPooling);
     }
 
     @Override
     public boolean supportsStoredFunctionsUsingCallSyntax() throws SQLException {
-        return getB(databaseMetaData::supportsStoredFunctionsUsingCallSyntax);
+        return getB("supportsStoredFunctionsUsingCallSyntax", databaseMetaData::supportsStoredFunctionsUsingCallSyntax);
     }
 
     @Override
     public boolean supportsStoredProcedures() throws SQLException {
-        return getB(databaseMetaData::supportsStoredProcedures);
+        return getB("supportsStoredProcedures", databaseMetaData::supportsStoredProcedures);
     }
 
     @Override
     public boolean supportsSubqueriesInComparisons() throws SQLException {
-        return getB(databaseMetaData::supportsSubqueriesInComparisons);
+        return getB("supportsSubqueriesInComparisons", databaseMetaData::supportsSubqueriesInComparisons);
     }
 
     @Override
     public boolean supportsSubqueriesInExists() throws SQLException {
-        return getB(databaseMetaData::supportsSubqueriesInExists);
+        return getB("supportsSubqueriesInExists", databaseMetaData::supportsSubqueriesInExists);
     }
 
     @Override
     public boolean supportsSubqueriesInIns() throws SQLException {
-        return getB(databaseMetaData::supportsSubqueriesInIns);
+        return getB("supportsSubqueriesInIns", databaseMetaData::supportsSubqueriesInIns);
     }
 
     @Override
     public boolean supportsSubqueriesInQuantifieds() throws SQLException {
-        return getB(databaseMetaData::supportsSubqueriesInQuantifieds);
+        return getB("supportsSubqueriesInQuantifieds", databaseMetaData::supportsSubqueriesInQuantifieds);
     }
 
     @Override
     public boolean supportsTableCorrelationNames() throws SQLException {
-        return getB(databaseMetaData::supportsTableCorrelationNames);
+        return getB("supportsTableCorrelationNames", databaseMetaData::supportsTableCorrelationNames);
     }
 
     @Override
     public boolean supportsTransactionIsolationLevel(final int level) throws SQLException {
-        return getB(() -> databaseMetaData.supportsTransactionIsolationLevel(level));
+        return getB(cacheKey("supportsTransactionIsolationLevel", level), () -> databaseMetaData.supportsTransactionIsolationLevel(level));
     }
 
     @Override
     public boolean supportsTransactions() throws SQLException {
-        return getB(databaseMetaData::supportsTransactions);
+        return getB("supportsTransactions", databaseMetaData::supportsTransactions);
     }
 
     @Override
     public boolean supportsUnion() throws SQLException {
-        return getB(databaseMetaData::supportsUnion);
+        return getB("supportsUnion", databaseMetaData::supportsUnion);
     }
 
     @Override
     public boolean supportsUnionAll() throws SQLException {
-        return getB(databaseMetaData::supportsUnionAll);
+        return getB("supportsUnionAll", databaseMetaData::supportsUnionAll);
     }
 
     @Override
@@ -1034,16 +1091,16 @@ public class DelegatingDatabaseMetaData implements DatabaseMetaData {
 
     @Override
     public boolean updatesAreDetected(final int type) throws SQLException {
-        return getB(() -> databaseMetaData.updatesAreDetected(type));
+        return getB(cacheKey("updatesAreDetected", type), () -> databaseMetaData.updatesAreDetected(type));
     }
 
     @Override
     public boolean usesLocalFilePerTable() throws SQLException {
-        return getB(databaseMetaData::usesLocalFilePerTable);
+        return getB("usesLocalFilePerTable", databaseMetaData::usesLocalFilePerTable);
     }
 
     @Override
     public boolean usesLocalFiles() throws SQLException {
-        return getB(databaseMetaData::usesLocalFiles);
+        return getB("usesLocalFiles", databaseMetaData::usesLocalFiles);
     }
 }
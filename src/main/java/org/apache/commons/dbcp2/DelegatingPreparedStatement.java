@@ -91,11 +91,16 @@ public class DelegatingPreparedStatement extends DelegatingStatement implements
         if (getConnectionInternal() != null) {
             getConnectionInternal().setLastUsed();
         }
+        startQueryTimeout();
         try {
-            return getDelegatePreparedStatement().execute();
+            final boolean result = getDelegatePreparedStatement().execute();
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return false;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -105,11 +110,16 @@ public class DelegatingPreparedStatement extends DelegatingStatement implements
     @Override
     public long executeLargeUpdate() throws SQLException {
         checkOpen();
+        startQueryTimeout();
         try {
-            return getDelegatePreparedStatement().executeLargeUpdate();
+            final long result = getDelegatePreparedStatement().executeLargeUpdate();
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -119,11 +129,16 @@ public class DelegatingPreparedStatement extends DelegatingStatement implements
         if (getConnectionInternal() != null) {
             getConnectionInternal().setLastUsed();
         }
+        startQueryTimeout();
         try {
-            return DelegatingResultSet.wrapResultSet(this, getDelegatePreparedStatement().executeQuery());
+            final ResultSet resultSet = getDelegatePreparedStatement().executeQuery();
+            roundTripSucceededInParent();
+            return wrapResultSet(resultSet);
         } catch (final SQLException e) {
             handleException(e);
             throw new AssertionError();
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -133,11 +148,16 @@ public class DelegatingPreparedStatement extends DelegatingStatement implements
         if (getConnectionInternal() != null) {
             getConnectionInternal().setLastUsed();
         }
+        startQueryTimeout();
         try {
-            return getDelegatePreparedStatement().executeUpdate();
+            final int result = getDelegatePreparedStatement().executeUpdate();
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -54,6 +54,76 @@ import java.util.Map;
  */
 public final class DelegatingResultSet extends AbandonedTrace implements ResultSet {
 
+    /**
+     * A small open-addressing map from column label to column index, sized for the handful of labels a typical row
+     * mapper reads. Result sets are used by one thread at a time, so no synchronization is done here.
+     */
+    private static final class ColumnIndexMap {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private String[] labels;
+        private int[] indexes;
+        private int size;
+
+        /**
+         * Gets the index recorded for a label.
+         *
+         * @param label the column label, not null.
+         * @return the column index, or 0 if the label has not been recorded.
+         */
+        int get(final String label) {
+            if (labels == null) {
+                return 0;
+            }
+            final int mask = labels.length - 1;
+            for (int i = label.hashCode() & mask;; i = (i + 1) & mask) {
+                final String candidate = labels[i];
+                if (candidate == null) {
+                    return 0;
+                }
+                if (candidate.equals(label)) {
+                    return indexes[i];
+                }
+            }
+        }
+
+        /**
+         * Records the index of a label that is not yet recorded.
+         *
+         * @param label the column label, not null.
+         * @param index the column index.
+         */
+        void put(final String label, final int index) {
+            if (labels == null) {
+                labels = new String[INITIAL_CAPACITY];
+                indexes = new int[INITIAL_CAPACITY];
+            } else if (size + 1 > labels.length / 2) {
+                final String[] oldLabels = labels;
+                final int[] oldIndexes = indexes;
+                labels = new String[oldLabels.length * 2];
+                indexes = new int[oldLabels.length * 2];
+                for (int i = 0; i < oldLabels.length; i++) {
+                    if (oldLabels[i] != null) {
+                        insert(oldLabels[i], oldIndexes[i]);
+                    }
+                }
+            }
+            insert(label, index);
+            size++;
+        }
+
+        private void insert(final String label, final int index) {
+            final int mask = labels.length - 1;
+            int i = label.hashCode() & mask;
+            while (labels[i] != null) {
+                i = (i + 1) & mask;
+            }
+            labels[i] = label;
+            indexes[i] = index;
+        }
+    }
+
     /**
      * Wraps the given result set in a delegate.
      *
@@ -86,6 +156,25 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
         return new DelegatingResultSet(statement, resultSet);
     }
 
+    /**
+     * Wraps the given result set in a delegate.
+     *
+     * @param statement
+     *            The Statement which created the ResultSet.
+     * @param resultSet
+     *            The ResultSet to wrap.
+     * @param trace
+     *            Whether to register the delegate with the statement's {@link AbandonedTrace} list; when false the
+     *            statement tracks it itself.
+     * @param cacheColumnLabels
+     *            Whether to resolve each column label to its index once and use index-based calls afterwards.
+     * @return A new delegate.
+     */
+    static DelegatingResultSet wrapResultSet(final Statement statement, final ResultSet resultSet, final boolean trace,
+            final boolean cacheColumnLabels) {
+        return new DelegatingResultSet(statement, resultSet, trace, cacheColumnLabels);
+    }
+
     /** My delegate. **/
     private final ResultSet resultSet;
 
@@ -95,6 +184,12 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     /** The Connection that created me, if any. **/
     private Connection connection;
 
+    /** Column label to index resolutions, if label caching is enabled. **/
+    private final ColumnIndexMap columnIndexes;
+
+    /** The pooled statement that caches my metadata, if any. **/
+    private PoolablePreparedStatement<?> metaDataStatement;
+
     /**
      * Creates a wrapper for the ResultSet which traces this ResultSet to the Connection which created it (via, for
      * example DatabaseMetadata), and the code which created it.
@@ -111,6 +206,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
         super((AbandonedTrace) connection);
         this.connection = connection;
         this.resultSet = resultSet;
+        this.columnIndexes = null;
     }
 
     /**
@@ -126,9 +222,15 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
      *            The ResultSet to wrap.
      */
     private DelegatingResultSet(final Statement statement, final ResultSet resultSet) {
-        super((AbandonedTrace) statement);
+        this(statement, resultSet, true, false);
+    }
+
+    private DelegatingResultSet(final Statement statement, final ResultSet resultSet, final boolean trace,
+            final boolean cacheColumnLabels) {
+        super(trace ? (AbandonedTrace) statement : null);
         this.statement = statement;
         this.resultSet = resultSet;
+        this.columnIndexes = cacheColumnLabels ? new ColumnIndexMap() : null;
     }
 
     @Override
@@ -207,10 +309,29 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
         }
     }
 
+    /**
+     * Resolves a column label to its index, asking the driver only the first time a given label is seen.
+     *
+     * @param columnLabel the column label.
+     * @return the column index.
+     * @throws SQLException if the driver cannot resolve the label.
+     */
+    private int columnIndex(final String columnLabel) throws SQLException {
+        if (columnLabel == null) {
+            return resultSet.findColumn(columnLabel);
+        }
+        int columnIndex = columnIndexes.get(columnLabel);
+        if (columnIndex == 0) {
+            columnIndex = resultSet.findColumn(columnLabel);
+            columnIndexes.put(columnLabel, columnIndex);
+        }
+        return columnIndex;
+    }
+
     @Override
     public int findColumn(final String columnName) throws SQLException {
         try {
-            return resultSet.findColumn(columnName);
+            return columnIndexes != null ? columnIndex(columnName) : resultSet.findColumn(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -240,7 +361,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Array getArray(final String colName) throws SQLException {
         try {
-            return resultSet.getArray(colName);
+            return columnIndexes != null ? resultSet.getArray(columnIndex(colName)) : resultSet.getArray(colName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -260,7 +381,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public InputStream getAsciiStream(final String columnName) throws SQLException {
         try {
-            return resultSet.getAsciiStream(columnName);
+            return columnIndexes != null ? resultSet.getAsciiStream(columnIndex(columnName))
+                    : resultSet.getAsciiStream(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -292,7 +414,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public BigDecimal getBigDecimal(final String columnName) throws SQLException {
         try {
-            return resultSet.getBigDecimal(columnName);
+            return columnIndexes != null ? resultSet.getBigDecimal(columnIndex(columnName))
+                    : resultSet.getBigDecimal(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -304,7 +427,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public BigDecimal getBigDecimal(final String columnName, final int scale) throws SQLException {
         try {
-            return resultSet.getBigDecimal(columnName);
+            return columnIndexes != null ? resultSet.getBigDecimal(columnIndex(columnName))
+                    : resultSet.getBigDecimal(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -324,7 +448,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public InputStream getBinaryStream(final String columnName) throws SQLException {
         try {
-            return resultSet.getBinaryStream(columnName);
+            return columnIndexes != null ? resultSet.getBinaryStream(columnIndex(columnName))
+                    : resultSet.getBinaryStream(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -344,7 +469,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Blob getBlob(final String colName) throws SQLException {
         try {
-            return resultSet.getBlob(colName);
+            return columnIndexes != null ? resultSet.getBlob(columnIndex(colName)) : resultSet.getBlob(colName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -364,7 +489,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public boolean getBoolean(final String columnName) throws SQLException {
         try {
-            return resultSet.getBoolean(columnName);
+            return columnIndexes != null ? resultSet.getBoolean(columnIndex(columnName))
+                    : resultSet.getBoolean(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return false;
@@ -384,7 +510,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public byte getByte(final String columnName) throws SQLException {
         try {
-            return resultSet.getByte(columnName);
+            return columnIndexes != null ? resultSet.getByte(columnIndex(columnName)) : resultSet.getByte(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -404,7 +530,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public byte[] getBytes(final String columnName) throws SQLException {
         try {
-            return resultSet.getBytes(columnName);
+            return columnIndexes != null ? resultSet.getBytes(columnIndex(columnName)) : resultSet.getBytes(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -424,7 +550,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Reader getCharacterStream(final String columnName) throws SQLException {
         try {
-            return resultSet.getCharacterStream(columnName);
+            return columnIndexes != null ? resultSet.getCharacterStream(columnIndex(columnName))
+                    : resultSet.getCharacterStream(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -444,7 +571,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Clob getClob(final String colName) throws SQLException {
         try {
-            return resultSet.getClob(colName);
+            return columnIndexes != null ? resultSet.getClob(columnIndex(colName)) : resultSet.getClob(colName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -494,7 +621,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Date getDate(final String columnName) throws SQLException {
         try {
-            return resultSet.getDate(columnName);
+            return columnIndexes != null ? resultSet.getDate(columnIndex(columnName)) : resultSet.getDate(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -504,7 +631,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Date getDate(final String columnName, final Calendar cal) throws SQLException {
         try {
-            return resultSet.getDate(columnName, cal);
+            return columnIndexes != null ? resultSet.getDate(columnIndex(columnName), cal)
+                    : resultSet.getDate(columnName, cal);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -533,7 +661,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public double getDouble(final String columnName) throws SQLException {
         try {
-            return resultSet.getDouble(columnName);
+            return columnIndexes != null ? resultSet.getDouble(columnIndex(columnName))
+                    : resultSet.getDouble(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -573,7 +702,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public float getFloat(final String columnName) throws SQLException {
         try {
-            return resultSet.getFloat(columnName);
+            return columnIndexes != null ? resultSet.getFloat(columnIndex(columnName)) : resultSet.getFloat(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -629,7 +758,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public int getInt(final String columnName) throws SQLException {
         try {
-            return resultSet.getInt(columnName);
+            return columnIndexes != null ? resultSet.getInt(columnIndex(columnName)) : resultSet.getInt(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -649,7 +778,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public long getLong(final String columnName) throws SQLException {
         try {
-            return resultSet.getLong(columnName);
+            return columnIndexes != null ? resultSet.getLong(columnIndex(columnName)) : resultSet.getLong(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -659,7 +788,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public ResultSetMetaData getMetaData() throws SQLException {
         try {
-            return resultSet.getMetaData();
+            return metaDataStatement != null ? metaDataStatement.getResultSetMetaData(resultSet) : resultSet.getMetaData();
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -679,7 +808,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Reader getNCharacterStream(final String columnLabel) throws SQLException {
         try {
-            return resultSet.getNCharacterStream(columnLabel);
+            return columnIndexes != null ? resultSet.getNCharacterStream(columnIndex(columnLabel))
+                    : resultSet.getNCharacterStream(columnLabel);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -699,7 +829,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public NClob getNClob(final String columnLabel) throws SQLException {
         try {
-            return resultSet.getNClob(columnLabel);
+            return columnIndexes != null ? resultSet.getNClob(columnIndex(columnLabel))
+                    : resultSet.getNClob(columnLabel);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -719,7 +850,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public String getNString(final String columnLabel) throws SQLException {
         try {
-            return resultSet.getNString(columnLabel);
+            return columnIndexes != null ? resultSet.getNString(columnIndex(columnLabel))
+                    : resultSet.getNString(columnLabel);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -759,7 +891,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Object getObject(final String columnName) throws SQLException {
         try {
-            return resultSet.getObject(columnName);
+            return columnIndexes != null ? resultSet.getObject(columnIndex(columnName))
+                    : resultSet.getObject(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -769,7 +902,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public <T> T getObject(final String columnLabel, final Class<T> type) throws SQLException {
         try {
-            return Jdbc41Bridge.getObject(resultSet, columnLabel, type);
+            return columnIndexes != null ? Jdbc41Bridge.getObject(resultSet, columnIndex(columnLabel), type)
+                    : Jdbc41Bridge.getObject(resultSet, columnLabel, type);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -779,7 +913,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Object getObject(final String colName, final Map<String, Class<?>> map) throws SQLException {
         try {
-            return resultSet.getObject(colName, map);
+            return columnIndexes != null ? resultSet.getObject(columnIndex(colName), map)
+                    : resultSet.getObject(colName, map);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -799,7 +934,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Ref getRef(final String colName) throws SQLException {
         try {
-            return resultSet.getRef(colName);
+            return columnIndexes != null ? resultSet.getRef(columnIndex(colName)) : resultSet.getRef(colName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -829,7 +964,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public RowId getRowId(final String columnLabel) throws SQLException {
         try {
-            return resultSet.getRowId(columnLabel);
+            return columnIndexes != null ? resultSet.getRowId(columnIndex(columnLabel))
+                    : resultSet.getRowId(columnLabel);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -849,7 +985,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public short getShort(final String columnName) throws SQLException {
         try {
-            return resultSet.getShort(columnName);
+            return columnIndexes != null ? resultSet.getShort(columnIndex(columnName)) : resultSet.getShort(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return 0;
@@ -869,7 +1005,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public SQLXML getSQLXML(final String columnLabel) throws SQLException {
         try {
-            return resultSet.getSQLXML(columnLabel);
+            return columnIndexes != null ? resultSet.getSQLXML(columnIndex(columnLabel))
+                    : resultSet.getSQLXML(columnLabel);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -894,7 +1031,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public String getString(final String columnName) throws SQLException {
         try {
-            return resultSet.getString(columnName);
+            return columnIndexes != null ? resultSet.getString(columnIndex(columnName))
+                    : resultSet.getString(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -924,7 +1062,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Time getTime(final String columnName) throws SQLException {
         try {
-            return resultSet.getTime(columnName);
+            return columnIndexes != null ? resultSet.getTime(columnIndex(columnName)) : resultSet.getTime(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -934,7 +1072,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Time getTime(final String columnName, final Calendar cal) throws SQLException {
         try {
-            return resultSet.getTime(columnName, cal);
+            return columnIndexes != null ? resultSet.getTime(columnIndex(columnName), cal)
+                    : resultSet.getTime(columnName, cal);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -964,7 +1103,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Timestamp getTimestamp(final String columnName) throws SQLException {
         try {
-            return resultSet.getTimestamp(columnName);
+            return columnIndexes != null ? resultSet.getTimestamp(columnIndex(columnName))
+                    : resultSet.getTimestamp(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -974,7 +1114,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public Timestamp getTimestamp(final String columnName, final Calendar cal) throws SQLException {
         try {
-            return resultSet.getTimestamp(columnName, cal);
+            return columnIndexes != null ? resultSet.getTimestamp(columnIndex(columnName), cal)
+                    : resultSet.getTimestamp(columnName, cal);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -1008,7 +1149,8 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public InputStream getUnicodeStream(final String columnName) throws SQLException {
         try {
-            return resultSet.getUnicodeStream(columnName);
+            return columnIndexes != null ? resultSet.getUnicodeStream(columnIndex(columnName))
+                    : resultSet.getUnicodeStream(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -1028,7 +1170,7 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
     @Override
     public java.net.URL getURL(final String columnName) throws SQLException {
         try {
-            return resultSet.getURL(columnName);
+            return columnIndexes != null ? resultSet.getURL(columnIndex(columnName)) : resultSet.getURL(columnName);
         } catch (final SQLException e) {
             handleException(e);
             return null;
@@ -1243,6 +1385,15 @@ public final class DelegatingResultSet extends AbandonedTrace implements ResultS
         }
     }
 
+    /**
+     * Sets the pooled statement whose metadata cache answers {@link #getMetaData()}.
+     *
+     * @param metaDataStatement the statement that executed the query returning my delegate.
+     */
+    void setMetaDataStatement(final PoolablePreparedStatement<?> metaDataStatement) {
+        this.metaDataStatement = metaDataStatement;
+    }
+
     @Override
     public synchronized String toString() {
         return super.toString() + "[resultSet=" + resultSet + ", statement=" + statement + ", connection=" + connection + "]";
@@ -19,11 +19,16 @@ package org.apache.commons.dbcp2;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A base delegating implementation of {@link Statement}.
@@ -46,6 +51,40 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
 
     private volatile boolean closed;
 
+    /**
+     * The open result sets when the connection uses thin result set tracking, or null. Held with strong references so
+     * that creating a result set does not allocate a weak reference.
+     */
+    private final List<AbandonedTrace> resultSets;
+
+    /** Whether result sets created by this statement cache column label resolutions. */
+    private final boolean cacheColumnLabels;
+
+    /**
+     * The timer that enforces this statement's query timeout by cancelling it, or null if the driver enforces it. Only
+     * the statement that wraps the driver's statement enforces the timeout; the wrappers around it pass it down. Reset
+     * to null, handing the timeout to the driver, once the timer has been shut down.
+     */
+    private volatile ScheduledExecutorService queryTimeoutScheduler;
+
+    /** The query timeout in seconds, when enforced by {@link #queryTimeoutScheduler}. */
+    private volatile int queryTimeoutSeconds;
+
+    /** The pending cancellation of the running execution, if any. */
+    private volatile ScheduledFuture<?> queryTimeoutTask;
+
+    /** Whether the running execution was cancelled because it exceeded its query timeout. */
+    private volatile boolean queryTimedOut;
+
+    /**
+     * Guards {@link #queryTimeoutGeneration}, so that a timer that fires as an execution ends cannot cancel a later
+     * execution.
+     */
+    private final Object queryTimeoutLock = new Object();
+
+    /** Identifies the execution the pending cancellation was armed for, advanced when an execution starts or ends. */
+    private long queryTimeoutGeneration;
+
     /**
      * Create a wrapper for the Statement which traces this Statement to the Connection which created it and the code
      * which created it.
@@ -59,6 +98,11 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         super(connection);
         this.statement = statement;
         this.connection = connection;
+        this.resultSets = connection != null && connection.isThinResultSetTracking() ? new ArrayList<>(1) : null;
+        this.cacheColumnLabels = connection != null && connection.isCacheColumnLabels();
+        this.queryTimeoutScheduler = connection != null && !(statement instanceof DelegatingStatement)
+                ? connection.getQueryTimeoutScheduler()
+                : null;
     }
 
     /**
@@ -94,6 +138,21 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         }
     }
 
+    private void cancelOnQueryTimeout(final long generation) {
+        synchronized (queryTimeoutLock) {
+            if (generation != queryTimeoutGeneration) {
+                // The execution this timeout was armed for has ended.
+                return;
+            }
+            queryTimedOut = true;
+            try {
+                statement.cancel();
+            } catch (final SQLException e) {
+                // The execution is still running or has just ended; there is no caller to report this to.
+            }
+        }
+    }
+
     /**
      * Checks whether this instance is closed and throws an exception if it is.
      *
@@ -115,6 +174,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         }
     }
 
+    @Override
+    protected void clearTrace() {
+        if (resultSets != null) {
+            synchronized (resultSets) {
+                resultSets.clear();
+            }
+        }
+        super.clearTrace();
+    }
+
     @Override
     public void clearWarnings() throws SQLException {
         checkOpen();
@@ -185,11 +254,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public boolean execute(final String sql) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.execute(sql);
+            final boolean result = statement.execute(sql);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return false;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -197,11 +271,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public boolean execute(final String sql, final int autoGeneratedKeys) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.execute(sql, autoGeneratedKeys);
+            final boolean result = statement.execute(sql, autoGeneratedKeys);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return false;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -209,11 +288,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public boolean execute(final String sql, final int[] columnIndexes) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.execute(sql, columnIndexes);
+            final boolean result = statement.execute(sql, columnIndexes);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return false;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -221,11 +305,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public boolean execute(final String sql, final String[] columnNames) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.execute(sql, columnNames);
+            final boolean result = statement.execute(sql, columnNames);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return false;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -233,11 +322,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public int[] executeBatch() throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeBatch();
+            final int[] result = statement.executeBatch();
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             throw new AssertionError();
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -248,11 +342,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public long[] executeLargeBatch() throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeLargeBatch();
+            final long[] result = statement.executeLargeBatch();
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return null;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -263,11 +362,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public long executeLargeUpdate(final String sql) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeLargeUpdate(sql);
+            final long result = statement.executeLargeUpdate(sql);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -278,11 +382,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public long executeLargeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeLargeUpdate(sql, autoGeneratedKeys);
+            final long result = statement.executeLargeUpdate(sql, autoGeneratedKeys);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -293,11 +402,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public long executeLargeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeLargeUpdate(sql, columnIndexes);
+            final long result = statement.executeLargeUpdate(sql, columnIndexes);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -308,11 +422,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public long executeLargeUpdate(final String sql, final String[] columnNames) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeLargeUpdate(sql, columnNames);
+            final long result = statement.executeLargeUpdate(sql, columnNames);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -321,11 +440,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public ResultSet executeQuery(final String sql) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return DelegatingResultSet.wrapResultSet(this, statement.executeQuery(sql));
+            final ResultSet resultSet = statement.executeQuery(sql);
+            roundTripSucceededInParent();
+            return wrapResultSet(resultSet);
         } catch (final SQLException e) {
             handleException(e);
             throw new AssertionError();
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -333,11 +457,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public int executeUpdate(final String sql) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeUpdate(sql);
+            final int result = statement.executeUpdate(sql);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -345,11 +474,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public int executeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeUpdate(sql, autoGeneratedKeys);
+            final int result = statement.executeUpdate(sql, autoGeneratedKeys);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -357,11 +491,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public int executeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeUpdate(sql, columnIndexes);
+            final int result = statement.executeUpdate(sql, columnIndexes);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -369,11 +508,16 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public int executeUpdate(final String sql, final String[] columnNames) throws SQLException {
         checkOpen();
         setLastUsedInParent();
+        startQueryTimeout();
         try {
-            return statement.executeUpdate(sql, columnNames);
+            final int result = statement.executeUpdate(sql, columnNames);
+            roundTripSucceededInParent();
+            return result;
         } catch (final SQLException e) {
             handleException(e);
             return 0;
+        } finally {
+            stopQueryTimeout();
         }
     }
 
@@ -443,7 +587,7 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public ResultSet getGeneratedKeys() throws SQLException {
         checkOpen();
         try {
-            return DelegatingResultSet.wrapResultSet(this, statement.getGeneratedKeys());
+            return wrapResultSet(statement.getGeneratedKeys());
         } catch (final SQLException e) {
             handleException(e);
             throw new AssertionError();
@@ -552,6 +696,9 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     @Override
     public int getQueryTimeout() throws SQLException {
         checkOpen();
+        if (queryTimeoutScheduler != null) {
+            return queryTimeoutSeconds;
+        }
         try {
             return statement.getQueryTimeout();
         } catch (final SQLException e) {
@@ -565,7 +712,7 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     public ResultSet getResultSet() throws SQLException {
         checkOpen();
         try {
-            return DelegatingResultSet.wrapResultSet(this, statement.getResultSet());
+            return wrapResultSet(statement.getResultSet());
         } catch (final SQLException e) {
             handleException(e);
             throw new AssertionError();
@@ -605,6 +752,22 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         }
     }
 
+    @Override
+    protected List<AbandonedTrace> getTrace() {
+        final List<AbandonedTrace> traces = super.getTrace();
+        if (resultSets == null) {
+            return traces;
+        }
+        synchronized (resultSets) {
+            if (resultSets.isEmpty()) {
+                return traces;
+            }
+            final List<AbandonedTrace> result = new ArrayList<>(traces);
+            result.addAll(resultSets);
+            return result;
+        }
+    }
+
     @Override
     public int getUpdateCount() throws SQLException {
         checkOpen();
@@ -634,10 +797,14 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
      * @throws SQLException The given exception if not handled.
      */
     protected void handleException(final SQLException e) throws SQLException {
+        final SQLException exception = queryTimedOut && !(e instanceof SQLTimeoutException)
+                ? new SQLTimeoutException(Utils.getMessage("delegatingStatement.queryTimeout", queryTimeoutSeconds), e.getSQLState(),
+                        e.getErrorCode(), e)
+                : e;
         if (connection == null) {
-            throw e;
+            throw exception;
         }
-        connection.handleException(e);
+        connection.handleException(exception);
     }
 
     /*
@@ -700,6 +867,33 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         }
     }
 
+    /**
+     * Removes a result set from the thin tracking list, or else a child object this object is tracing.
+     *
+     * @param trace
+     *            AbandonedTrace object to remove.
+     */
+    @Override
+    protected void removeTrace(final AbandonedTrace trace) {
+        if (resultSets != null) {
+            synchronized (resultSets) {
+                if (resultSets.remove(trace)) {
+                    return;
+                }
+            }
+        }
+        super.removeTrace(trace);
+    }
+
+    /**
+     * Notifies the parent connection that a call to the database completed successfully.
+     */
+    void roundTripSucceededInParent() {
+        if (connection != null) {
+            connection.roundTripSucceeded();
+        }
+    }
+
     /**
      * Sets the closed internal state.
      *
@@ -811,6 +1005,13 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
     @Override
     public void setQueryTimeout(final int seconds) throws SQLException {
         checkOpen();
+        if (queryTimeoutScheduler != null) {
+            if (seconds < 0) {
+                throw new SQLException("Query timeout must not be negative: " + seconds);
+            }
+            queryTimeoutSeconds = seconds;
+            return;
+        }
         try {
             statement.setQueryTimeout(seconds);
         } catch (final SQLException e) {
@@ -818,6 +1019,50 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         }
     }
 
+    /**
+     * Arms the query timeout for an execution that is about to start, if this statement enforces its own timeout.
+     */
+    void startQueryTimeout() throws SQLException {
+        final int seconds = queryTimeoutSeconds;
+        final ScheduledExecutorService scheduler = queryTimeoutScheduler;
+        if (scheduler != null && seconds > 0) {
+            synchronized (queryTimeoutLock) {
+                final long generation = ++queryTimeoutGeneration;
+                queryTimedOut = false;
+                try {
+                    queryTimeoutTask = scheduler.schedule(() -> cancelOnQueryTimeout(generation), seconds, TimeUnit.SECONDS);
+                } catch (final RejectedExecutionException e) {
+                    // The data source that owns the timer is closed, the driver enforces the timeout from now on
+                    queryTimeoutScheduler = null;
+                    try {
+                        statement.setQueryTimeout(seconds);
+                    } catch (final SQLException ex) {
+                        handleException(ex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Disarms the query timeout of the execution that just ended.
+     */
+    void stopQueryTimeout() {
+        if (queryTimeoutTask == null) {
+            return;
+        }
+        synchronized (queryTimeoutLock) {
+            final ScheduledFuture<?> task = queryTimeoutTask;
+            if (task != null) {
+                queryTimeoutTask = null;
+                // A timer that is already running no longer matches and leaves the statement alone
+                queryTimeoutGeneration++;
+                task.cancel(false);
+            }
+            queryTimedOut = false;
+        }
+    }
+
     /**
      * Returns a String representation of this object.
      *
@@ -838,4 +1083,24 @@ public class DelegatingStatement extends AbandonedTrace implements Statement {
         }
         return statement.unwrap(iface);
     }
+
+    /**
+     * Wraps a result set created by this statement, tracking it so that closing or returning this statement closes it.
+     *
+     * @param resultSet The result set to wrap, may be null.
+     * @return The wrapped result set, or null.
+     */
+    ResultSet wrapResultSet(final ResultSet resultSet) {
+        if (resultSet == null) {
+            return null;
+        }
+        final DelegatingResultSet delegatingResultSet = DelegatingResultSet.wrapResultSet(this, resultSet, resultSets == null,
+                cacheColumnLabels);
+        if (resultSets != null) {
+            synchronized (resultSets) {
+                resultSets.add(delegatingResultSet);
+            }
+        }
+        return delegatingResultSet;
+    }
 }
@@ -122,6 +122,11 @@ public class PStmtKey {
      */
     private final StatementType statementType;
 
+    /**
+     * The hash code, computed once since keys are looked up on every statement request.
+     */
+    private final int hashCode;
+
     /**
      * Constructs a key to uniquely identify a prepared statement.
      *
@@ -417,6 +422,8 @@ public class PStmtKey {
         this.columnNames = clone(columnNames);
         this.statementBuilder = Objects.requireNonNull(Objects.requireNonNull(statementBuilder, "statementBuilder").apply(this), "statementBuilder");
         this.statementType = statementType;
+        this.hashCode = Objects.hash(autoGeneratedKeys, catalog, Arrays.hashCode(this.columnIndexes), Arrays.hashCode(this.columnNames),
+                resultSetConcurrency, resultSetHoldability, resultSetType, schema, this.sql, statementType);
     }
 
     // Root constructor.
@@ -434,6 +441,8 @@ public class PStmtKey {
         this.columnNames = clone(columnNames);
         this.statementBuilder = Objects.requireNonNull(statementBuilder, "statementBuilder");
         this.statementType = statementType;
+        this.hashCode = Objects.hash(autoGeneratedKeys, catalog, Arrays.hashCode(this.columnIndexes), Arrays.hashCode(this.columnNames),
+                resultSetConcurrency, resultSetHoldability, resultSetType, schema, this.sql, statementType);
     }
 
     /**
@@ -521,6 +530,9 @@ public class PStmtKey {
             return false;
         }
         final PStmtKey other = (PStmtKey) obj;
+        if (hashCode != other.hashCode) {
+            return false;
+        }
         if (!Objects.equals(autoGeneratedKeys, other.autoGeneratedKeys) || !Objects.equals(catalog, other.catalog)
                 || !Arrays.equals(columnIndexes, other.columnIndexes) || !Arrays.equals(columnNames, other.columnNames)) {
             return false;
@@ -631,8 +643,7 @@ public class PStmtKey {
 
     @Override
     public int hashCode() {
-        return Objects.hash(autoGeneratedKeys, catalog, Arrays.hashCode(columnIndexes), Arrays.hashCode(columnNames), resultSetConcurrency,
-                resultSetHoldability, resultSetType, schema, sql, statementType);
+        return hashCode;
     }
 
     @Override
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.sql.ParameterMetaData;
+import java.sql.SQLException;
+
+/**
+ * An immutable copy of a {@link ParameterMetaData} that no longer refers to the driver's statement.
+ *
+ * @since 2.15.0
+ */
+final class ParameterMetaDataSnapshot implements ParameterMetaData {
+
+    /**
+     * Copies the given metadata.
+     *
+     * @param metaData the metadata to copy, may be null.
+     * @return the copy, or null if the metadata is null or the driver does not support one of its methods.
+     */
+    static ParameterMetaDataSnapshot copyOf(final ParameterMetaData metaData) {
+        if (metaData == null) {
+            return null;
+        }
+        try {
+            return new ParameterMetaDataSnapshot(metaData);
+        } catch (final SQLException e) {
+            // The driver cannot describe every parameter attribute; callers keep asking the driver.
+            return null;
+        }
+    }
+
+    private final String[] parameterClassNames;
+    private final int[] parameterModes;
+    private final int[] parameterTypes;
+    private final String[] parameterTypeNames;
+    private final int[] precisions;
+    private final int[] scales;
+    private final int[] nullables;
+    private final boolean[] signeds;
+
+    private ParameterMetaDataSnapshot(final ParameterMetaData metaData) throws SQLException {
+        final int count = metaData.getParameterCount();
+        parameterClassNames = new String[count];
+        parameterModes = new int[count];
+        parameterTypes = new int[count];
+        parameterTypeNames = new String[count];
+        precisions = new int[count];
+        scales = new int[count];
+        nullables = new int[count];
+        signeds = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            final int param = i + 1;
+            parameterClassNames[i] = metaData.getParameterClassName(param);
+            parameterModes[i] = metaData.getParameterMode(param);
+            parameterTypes[i] = metaData.getParameterType(param);
+            parameterTypeNames[i] = metaData.getParameterTypeName(param);
+            precisions[i] = metaData.getPrecision(param);
+            scales[i] = metaData.getScale(param);
+            nullables[i] = metaData.isNullable(param);
+            signeds[i] = metaData.isSigned(param);
+        }
+    }
+
+    private int checkParameter(final int param) throws SQLException {
+        if (param < 1 || param > parameterTypes.length) {
+            throw new SQLException("Invalid parameter index " + param + ", expected 1 to " + parameterTypes.length);
+        }
+        return param - 1;
+    }
+
+    @Override
+    public String getParameterClassName(final int param) throws SQLException {
+        return parameterClassNames[checkParameter(param)];
+    }
+
+    @Override
+    public int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    @Override
+    public int getParameterMode(final int param) throws SQLException {
+        return parameterModes[checkParameter(param)];
+    }
+
+    @Override
+    public int getParameterType(final int param) throws SQLException {
+        return parameterTypes[checkParameter(param)];
+    }
+
+    @Override
+    public String getParameterTypeName(final int param) throws SQLException {
+        return parameterTypeNames[checkParameter(param)];
+    }
+
+    @Override
+    public int getPrecision(final int param) throws SQLException {
+        return precisions[checkParameter(param)];
+    }
+
+    @Override
+    public int getScale(final int param) throws SQLException {
+        return scales[checkParameter(param)];
+    }
+
+    @Override
+    public int isNullable(final int param) throws SQLException {
+        return nullables[checkParameter(param)];
+    }
+
+    @Override
+    public boolean isSigned(final int param) throws SQLException {
+        return signeds[checkParameter(param)];
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException(getClass().getName() + " is not a wrapper for " + iface);
+    }
+}
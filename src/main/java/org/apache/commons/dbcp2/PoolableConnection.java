@@ -34,6 +34,8 @@ import javax.management.MBeanServer;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.commons.pool2.ObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 
@@ -45,8 +47,13 @@ import org.apache.commons.pool2.impl.GenericObjectPool;
  */
 public class PoolableConnection extends DelegatingConnection<Connection> implements PoolableConnectionMXBean {
 
+    private static final Log log = LogFactory.getLog(PoolableConnection.class);
+
     private static MBeanServer MBEAN_SERVER;
 
+    /** Marks the absence of a successful call to the database in {@link #lastRoundTripNanos}. */
+    private static final long NO_ROUND_TRIP = Long.MIN_VALUE;
+
     static {
         try {
             MBEAN_SERVER = ManagementFactory.getPlatformMBeanServer();
@@ -90,6 +97,26 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
 
     private final Lock lock = new ReentrantLock();
 
+    /**
+     * The {@link System#nanoTime()} value of the last call to the database known to have completed successfully, or
+     * {@link #NO_ROUND_TRIP} if there is none or an exception was thrown since.
+     */
+    private volatile long lastRoundTripNanos = NO_ROUND_TRIP;
+
+    /**
+     * The executor that returns this connection to the pool after {@link #close()}, or null to return it on the calling
+     * thread.
+     */
+    private volatile Executor returnExecutor;
+
+    /**
+     * Whether {@link #close()} handed this connection to the {@link #returnExecutor} and it has not been passivated yet.
+     */
+    private volatile boolean returnPending;
+
+    /** The thread that returns this connection to the pool for the {@link #returnExecutor}, while it does so. */
+    private volatile Thread returnThread;
+
     /**
      * Constructs a new instance.
      *
@@ -176,6 +203,18 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
         super.abort(executor);
     }
 
+    /**
+     * Throws an exception when this connection is closed, including when {@link #close()} handed it to the
+     * {@link #returnExecutor} and only the return itself may still use it.
+     */
+    @Override
+    protected void checkOpen() throws SQLException {
+        if (returnPending && Thread.currentThread() != returnThread) {
+            throw new SQLException("Connection " + getDelegateInternal() + " is closed.");
+        }
+        super.checkOpen();
+    }
+
     /**
      * Returns this instance to my containing pool.
      */
@@ -183,7 +222,7 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
     public void close() throws SQLException {
         lock.lock();
         try {
-            if (isClosedInternal()) {
+            if (isClosedInternal() || returnPending) {
                 // already closed
                 return;
             }
@@ -221,20 +260,10 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
                 } catch (final Exception e) {
                     throw new SQLException("Cannot close connection (invalidating pooled object failed)", e);
                 }
-            } else {
+            } else if (!returnLater()) {
                 // Normal close: underlying connection is still open, so we
                 // simply need to return this proxy to the pool
-                try {
-                    pool.returnObject(this);
-                } catch (final IllegalStateException e) {
-                    // pool is closed, so close the connection
-                    passivate();
-                    getInnermostDelegate().close();
-                } catch (final SQLException | RuntimeException e) {
-                    throw e;
-                } catch (final Exception e) {
-                    throw new SQLException("Cannot close connection (return to pool failed)", e);
-                }
+                returnToPool();
             }
         } finally {
             lock.unlock();
@@ -251,6 +280,29 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
         return disconnectionSqlCodes;
     }
 
+    @Override
+    public long getStatementPoolHitCount() {
+        final PoolingConnection poolingConnection = getPoolingConnection();
+        return poolingConnection == null ? 0 : poolingConnection.getStatementPoolHitCount();
+    }
+
+    @Override
+    public double getStatementPoolHitRatio() {
+        final PoolingConnection poolingConnection = getPoolingConnection();
+        return poolingConnection == null ? 0 : poolingConnection.getStatementPoolHitRatio();
+    }
+
+    @Override
+    public long getStatementPoolMissCount() {
+        final PoolingConnection poolingConnection = getPoolingConnection();
+        return poolingConnection == null ? 0 : poolingConnection.getStatementPoolMissCount();
+    }
+
+    private PoolingConnection getPoolingConnection() {
+        final Connection delegate = getDelegateInternal();
+        return delegate instanceof PoolingConnection ? (PoolingConnection) delegate : null;
+    }
+
     /**
      * Gets the value of the {@link #toString()} method via a bean getter, so it can be read as a property via JMX.
      */
@@ -261,10 +313,25 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
 
     @Override
     protected void handleException(final SQLException e) throws SQLException {
+        lastRoundTripNanos = NO_ROUND_TRIP;
         fatalSqlExceptionThrown.compareAndSet(false, isFatalException(e));
         super.handleException(e);
     }
 
+    /**
+     * Tests whether a call to the database, like a statement execution, a commit, or a validation, completed
+     * successfully on this connection within the given duration, with no {@link SQLException} thrown since and no fatal
+     * {@link SQLException} thrown ever.
+     *
+     * @param duration The duration to look back, not positive durations always return {@code false}.
+     * @return whether this connection completed a call to the database within the given duration.
+     * @since 2.15.0
+     */
+    public boolean hasSucceededWithin(final Duration duration) {
+        final long last = lastRoundTripNanos;
+        return last != NO_ROUND_TRIP && !fatalSqlExceptionThrown.get() && System.nanoTime() - last < duration.toNanos();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -275,7 +342,7 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
      */
     @Override
     public boolean isClosed() throws SQLException {
-        if (isClosedInternal()) {
+        if (isClosedInternal() || returnPending) {
             return true;
         }
 
@@ -358,6 +425,7 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
     protected void passivate() throws SQLException {
         super.passivate();
         setClosedInternal(true);
+        returnPending = false;
         if (getDelegateInternal() instanceof PoolingConnection) {
             ((PoolingConnection) getDelegateInternal()).connectionReturnedToPool();
         }
@@ -379,6 +447,63 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
         super.closeInternal();
     }
 
+    /**
+     * Hands this connection to the {@link #setReturnExecutor(Executor) return executor}, if any, so that it is
+     * passivated and returned to the pool off the calling thread.
+     *
+     * @return whether the return executor took this connection.
+     */
+    private boolean returnLater() {
+        final Executor executor = returnExecutor;
+        if (executor == null) {
+            return false;
+        }
+        returnPending = true;
+        try {
+            executor.execute(() -> {
+                returnThread = Thread.currentThread();
+                try {
+                    returnToPool();
+                } catch (final SQLException | RuntimeException e) {
+                    log.warn(Utils.getMessage("poolableConnection.return.fail"), e);
+                    // neither usable nor returned, so destroy it to keep the pool's active count right
+                    returnPending = false;
+                    try {
+                        pool.invalidateObject(this);
+                    } catch (final Exception ignored) {
+                        // the pool is closed or already let go of this connection
+                    }
+                } finally {
+                    returnThread = null;
+                }
+            });
+            return true;
+        } catch (final RuntimeException e) {
+            // rejected or failed, return on the calling thread
+            returnPending = false;
+            return false;
+        }
+    }
+
+    private void returnToPool() throws SQLException {
+        try {
+            pool.returnObject(this);
+        } catch (final IllegalStateException e) {
+            // pool is closed, so close the connection
+            passivate();
+            getInnermostDelegate().close();
+        } catch (final SQLException | RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SQLException("Cannot close connection (return to pool failed)", e);
+        }
+    }
+
+    @Override
+    protected void roundTripSucceeded() {
+        lastRoundTripNanos = System.nanoTime();
+    }
+
     @Override
     public void setLastUsed() {
         super.setLastUsed();
@@ -390,6 +515,18 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
         }
     }
 
+    /**
+     * Sets the executor that returns this connection to the pool after {@link #close()}. When set, {@link #close()}
+     * only marks this connection closed; the executor then runs the passivation, such as the rollback and the
+     * restoration of auto-commit, and any validation on return before the connection is available to borrowers again.
+     *
+     * @param returnExecutor the return executor, or null to return this connection on the thread that closes it.
+     * @since 2.15.0
+     */
+    public void setReturnExecutor(final Executor returnExecutor) {
+        this.returnExecutor = returnExecutor;
+    }
+
     /**
      * Validates the connection, using the following algorithm:
      * <ol>
@@ -400,6 +537,9 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
      * <li>If {@code sql} is not null, it is executed as a query and if the resulting {@link ResultSet} contains at
      * least one row, this method returns successfully. If not, {@link SQLException} is thrown.</li>
      * </ol>
+     * <p>
+     * A successful validation counts as a successful call to the database for {@link #hasSucceededWithin(Duration)}.
+     * </p>
      *
      * @param sql
      *            The validation SQL query.
@@ -419,8 +559,10 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
                 timeoutDuration = Duration.ZERO;
             }
             if (!isValid(timeoutDuration)) {
+                lastRoundTripNanos = NO_ROUND_TRIP;
                 throw new SQLException("isValid() returned false");
             }
+            roundTripSucceeded();
             return;
         }
 
@@ -440,8 +582,10 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
                 throw new SQLException("validationQuery didn't return a row");
             }
         } catch (final SQLException sqle) {
+            lastRoundTripNanos = NO_ROUND_TRIP;
             throw sqle;
         }
+        roundTripSucceeded();
     }
 
     /**
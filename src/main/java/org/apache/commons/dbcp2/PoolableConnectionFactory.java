@@ -21,8 +21,17 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -37,6 +46,7 @@ import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+import org.apache.commons.pool2.impl.GenericObjectPool;
 
 /**
  * A {@link PooledObjectFactory} that creates {@link PoolableConnection}s.
@@ -60,8 +70,14 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
 
     private volatile Duration validationQueryTimeoutDuration = Duration.ofSeconds(-1);
 
+    private volatile Duration validationSkipWindow = Duration.ZERO;
+
     private Collection<String> connectionInitSqls;
 
+    private volatile boolean batchConnectionInitSqls;
+
+    private volatile Collection<String> warmUpSqls;
+
     private Collection<String> disconnectionSqlCodes;
 
     private Collection<String> disconnectionIgnoreSqlCodes;
@@ -90,6 +106,40 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
 
     private volatile boolean clearStatementPoolOnReturn;
 
+    private volatile boolean bypassStatementPoolWhenExhausted;
+
+    private volatile StatementPoolStatistics statementPoolStatistics = new StatementPoolStatistics();
+
+    private volatile LongSupplier statementMetaDataVersion;
+
+    private volatile DatabaseMetaDataCache databaseMetaDataCache;
+
+    private volatile ScheduledExecutorService queryTimeoutScheduler;
+
+    private volatile Executor abortExecutor;
+
+    private volatile Executor returnExecutor;
+
+    /**
+     * Guards {@link #connectionCount} and {@link #pendingDestroyCount}.
+     */
+    private final ReentrantLock destroyLock = new ReentrantLock();
+
+    private final Condition destroyCompleted = destroyLock.newCondition();
+
+    /**
+     * The number of physical connections created and not yet closed, including those still closing on the abort
+     * executor.
+     */
+    private int connectionCount;
+
+    private int pendingDestroyCount;
+
+    /**
+     * The pooled objects this factory made and has not destroyed yet.
+     */
+    private final Set<PooledObject<PoolableConnection>> pooledObjects = ConcurrentHashMap.newKeySet();
+
     private volatile int maxOpenPreparedStatements = GenericKeyedObjectPoolConfig.DEFAULT_MAX_TOTAL_PER_KEY;
 
     private Duration maxConnDuration = Duration.ofMillis(-1);
@@ -98,6 +148,14 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
 
     private Duration defaultQueryTimeoutDuration;
 
+    private Integer defaultFetchSize;
+
+    private Integer defaultMaxRows;
+
+    private volatile boolean thinResultSetTracking;
+
+    private volatile boolean cacheColumnLabels;
+
     /**
      * Creates a new {@link PoolableConnectionFactory}.
      *
@@ -132,23 +190,78 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
             Jdbc41Bridge.setSchema(poolableConnection, defaultSchema);
         }
         poolableConnection.setDefaultQueryTimeout(defaultQueryTimeoutDuration);
+        poolableConnection.setDefaultFetchSize(defaultFetchSize);
+        poolableConnection.setDefaultMaxRows(defaultMaxRows);
+    }
+
+    private void destroy(final PoolableConnection conn, final DestroyMode mode) throws SQLException {
+        if (mode == DestroyMode.ABANDONED) {
+            Jdbc41Bridge.abort(conn.getInnermostDelegate(), Runnable::run);
+        } else {
+            conn.reallyClose();
+        }
     }
 
     @Override
     public void destroyObject(final PooledObject<PoolableConnection> p) throws SQLException {
-        p.getObject().reallyClose();
+        destroyObject(p, DestroyMode.NORMAL);
     }
 
     /**
+     * Closes the connection, or aborts it if it was abandoned. If an {@link #setAbortExecutor(Executor) abort executor}
+     * is set, the connection is closed on it and this method returns at once; the connection keeps counting against
+     * the maximum size of the pool until it is closed.
+     *
      * @since 2.9.0
      */
     @Override
     public void destroyObject(final PooledObject<PoolableConnection> p, final DestroyMode mode) throws SQLException {
-        if (mode == DestroyMode.ABANDONED) {
-            Jdbc41Bridge.abort(p.getObject().getInnermostDelegate(), Runnable::run);
-        } else {
-            p.getObject().reallyClose();
+        pooledObjects.remove(p);
+        final PoolableConnection conn = p.getObject();
+        final Executor executor = abortExecutor;
+        if (executor != null) {
+            destroyLock.lock();
+            try {
+                pendingDestroyCount++;
+            } finally {
+                destroyLock.unlock();
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        destroy(conn, mode);
+                    } catch (final Exception e) {
+                        log.warn(Utils.getMessage("poolableConnectionFactory.destroy.fail"), e);
+                    } finally {
+                        releaseConnection(true);
+                    }
+                });
+                return;
+            } catch (final RejectedExecutionException e) {
+                // Fall back to closing on the calling thread
+                destroyLock.lock();
+                try {
+                    pendingDestroyCount--;
+                } finally {
+                    destroyLock.unlock();
+                }
+            }
         }
+        try {
+            destroy(conn, mode);
+        } finally {
+            releaseConnection(false);
+        }
+    }
+
+    /**
+     * Gets the executor that closes destroyed connections.
+     *
+     * @return The abort executor, or null if connections are closed on the thread that destroys them.
+     * @since 2.15.0
+     */
+    public Executor getAbortExecutor() {
+        return abortExecutor;
     }
 
     /**
@@ -180,6 +293,22 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return connectionIndex;
     }
 
+    /**
+     * Gets how many physical connections this factory has created and not yet closed, including those still closing
+     * on the {@link #setAbortExecutor(Executor) abort executor}.
+     *
+     * @return The physical connection count.
+     * @since 2.15.0
+     */
+    public int getConnectionCount() {
+        destroyLock.lock();
+        try {
+            return connectionCount;
+        } finally {
+            destroyLock.unlock();
+        }
+    }
+
     /**
      * Gets the collection of initialization SQL statements.
      *
@@ -210,6 +339,16 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return dataSourceJmxObjectName;
     }
 
+    /**
+     * Gets the cache that database metadata of the connections this factory creates answers from.
+     *
+     * @return The database metadata cache, may be null.
+     * @since 2.15.0
+     */
+    public DatabaseMetaDataCache getDatabaseMetaDataCache() {
+        return databaseMetaDataCache;
+    }
+
     /**
      * Gets the Default auto-commit value.
      *
@@ -230,6 +369,26 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return defaultCatalog;
     }
 
+    /**
+     * Gets the default fetch size of statements created from borrowed connections.
+     *
+     * @return The default fetch size, null means the driver default.
+     * @since 2.15.0
+     */
+    public Integer getDefaultFetchSize() {
+        return defaultFetchSize;
+    }
+
+    /**
+     * Gets the default maximum number of rows of statements created from borrowed connections.
+     *
+     * @return The default maximum number of rows, null means the driver default.
+     * @since 2.15.0
+     */
+    public Integer getDefaultMaxRows() {
+        return defaultMaxRows;
+    }
+
     /**
      * Gets the default query timeout in seconds.
      *
@@ -357,6 +516,30 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return maxOpenPreparedStatements;
     }
 
+    /**
+     * Gets how many destroyed connections are still closing on the {@link #setAbortExecutor(Executor) abort executor}.
+     *
+     * @return The pending destroy count.
+     * @since 2.15.0
+     */
+    public int getPendingDestroyCount() {
+        destroyLock.lock();
+        try {
+            return pendingDestroyCount;
+        } finally {
+            destroyLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the pooled objects this factory made and has not destroyed yet.
+     *
+     * @return An unmodifiable view of the pooled objects.
+     */
+    Collection<PooledObject<PoolableConnection>> getPooledObjects() {
+        return Collections.unmodifiableSet(pooledObjects);
+    }
+
     /**
      * Returns the {@link ObjectPool} in which {@link Connection}s are pooled.
      *
@@ -366,6 +549,16 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return pool;
     }
 
+    /**
+     * Gets the timer that enforces the query timeouts of statements of the connections this factory creates.
+     *
+     * @return The query timeout timer, or null if the driver enforces query timeouts.
+     * @since 2.15.0
+     */
+    public ScheduledExecutorService getQueryTimeoutScheduler() {
+        return queryTimeoutScheduler;
+    }
+
     /**
      * Tests whether to pool statements.
      *
@@ -376,6 +569,36 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return poolStatements;
     }
 
+    /**
+     * Gets the executor that returns closed connections to the pool.
+     *
+     * @return The return executor, or null if connections are returned on the thread that closes them.
+     * @since 2.15.0
+     */
+    public Executor getReturnExecutor() {
+        return returnExecutor;
+    }
+
+    /**
+     * Gets the version of the metadata that pooled prepared statements cache.
+     *
+     * @return The metadata version, or null if statement metadata is not cached.
+     * @since 2.15.0
+     */
+    public LongSupplier getStatementMetaDataVersion() {
+        return statementMetaDataVersion;
+    }
+
+    /**
+     * Gets the statement pool statistics shared by the connections this factory creates.
+     *
+     * @return The statement pool statistics, may be null.
+     * @since 2.15.0
+     */
+    public StatementPoolStatistics getStatementPoolStatistics() {
+        return statementPoolStatistics;
+    }
+
     /**
      * Gets the validation query.
      *
@@ -408,8 +631,32 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return (int) validationQueryTimeoutDuration.getSeconds();
     }
 
+    /**
+     * Gets the duration during which a connection that completed a call to the database is not validated again.
+     *
+     * @return The validation skip window, zero or negative when validation is never skipped.
+     * @since 2.15.0
+     */
+    public Duration getValidationSkipWindow() {
+        return validationSkipWindow;
+    }
+
+    /**
+     * Gets the SQL statements prepared into the statement pool of each new connection.
+     *
+     * @return The warm-up SQL statements, may be null.
+     * @since 2.15.0
+     */
+    public Collection<String> getWarmUpSqls() {
+        return warmUpSqls;
+    }
+
     /**
      * Initializes the given connection with the collection of SQL statements set in {@link #setConnectionInitSql(Collection)}.
+     * <p>
+     * If {@link #isBatchConnectionInitSqls()} is true, there is more than one statement, and the driver supports batch
+     * updates, the statements are sent to the database in a single batch, otherwise they are executed one at a time.
+     * </p>
      *
      * @param conn The connection to initialize.
      * @throws SQLException Thrown if a database access error occurs or this method is called on a closed connection.
@@ -422,13 +669,31 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         }
         if (!Utils.isEmpty(sqls)) {
             try (Statement statement = conn.createStatement()) {
-                for (final String sql : sqls) {
-                    statement.execute(Objects.requireNonNull(sql, "null connectionInitSqls element"));
+                if (batchConnectionInitSqls && sqls.size() > 1 && conn.getMetaData().supportsBatchUpdates()) {
+                    for (final String sql : sqls) {
+                        statement.addBatch(Objects.requireNonNull(sql, "null connectionInitSqls element"));
+                    }
+                    statement.executeBatch();
+                } else {
+                    for (final String sql : sqls) {
+                        statement.execute(Objects.requireNonNull(sql, "null connectionInitSqls element"));
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Tests whether result sets of the connections this factory creates cache column label resolutions.
+     *
+     * @return Whether to cache column label resolutions.
+     * @see DelegatingConnection#setCacheColumnLabels(boolean)
+     * @since 2.15.0
+     */
+    public boolean isCacheColumnLabels() {
+        return cacheColumnLabels;
+    }
+
     /**
      * Tests whether to set auto-commit on {@link #passivateObject(PooledObject)}.
      *
@@ -439,6 +704,28 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return autoCommitOnReturn;
     }
 
+    /**
+     * Tests whether the connection initialization SQL statements are sent to the database as a single batch.
+     *
+     * @return Whether the connection initialization SQL statements are batched.
+     * @see #setBatchConnectionInitSqls(boolean)
+     * @since 2.15.0
+     */
+    public boolean isBatchConnectionInitSqls() {
+        return batchConnectionInitSqls;
+    }
+
+    /**
+     * Tests whether a statement request that finds every pooled statement of a connection in use gets an unpooled
+     * statement instead of failing.
+     *
+     * @return Whether to bypass an exhausted statement pool.
+     * @since 2.15.0
+     */
+    public boolean isBypassStatementPoolWhenExhausted() {
+        return bypassStatementPoolWhenExhausted;
+    }
+
     /**
      * Tests whether to set auto-commit on {@link #passivateObject(PooledObject)}.
      *
@@ -472,17 +759,36 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         return rollbackOnReturn;
     }
 
+    /**
+     * Tests whether statements of the connections this factory creates track their open result sets in a plain list.
+     *
+     * @return Whether thin result set tracking is on.
+     * @see DelegatingConnection#setThinResultSetTracking(boolean)
+     * @since 2.15.0
+     */
+    public boolean isThinResultSetTracking() {
+        return thinResultSetTracking;
+    }
+
     @Override
     public PooledObject<PoolableConnection> makeObject() throws SQLException {
-        Connection conn = connectionFactory.createConnection();
-        if (conn == null) {
-            throw new IllegalStateException("Connection factory returned null from createConnection");
+        reserveConnection();
+        Connection conn;
+        try {
+            conn = connectionFactory.createConnection();
+            if (conn == null) {
+                throw new IllegalStateException("Connection factory returned null from createConnection");
+            }
+        } catch (final SQLException | RuntimeException e) {
+            releaseConnection(false);
+            throw e;
         }
         try {
             initializeConnection(conn);
-        } catch (final SQLException e) {
+        } catch (final SQLException | RuntimeException e) {
             // Make sure the connection is closed
             Utils.closeQuietly((AutoCloseable) conn);
+            releaseConnection(false);
             // Rethrow original exception so it is visible to caller
             throw e;
         }
@@ -510,7 +816,21 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
             final KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> stmtPool = new GenericKeyedObjectPool<>(poolingConn, config);
             poolingConn.setStatementPool(stmtPool);
             poolingConn.setClearStatementPoolOnReturn(clearStatementPoolOnReturn);
+            poolingConn.setBypassStatementPoolWhenExhausted(bypassStatementPoolWhenExhausted);
+            poolingConn.setStatementPoolStatistics(statementPoolStatistics);
+            poolingConn.setStatementMetaDataVersion(statementMetaDataVersion);
+            poolingConn.setThinResultSetTracking(thinResultSetTracking);
+            poolingConn.setQueryTimeoutScheduler(queryTimeoutScheduler);
             poolingConn.setCacheState(cacheState);
+            try {
+                warmUpStatementPool(poolingConn);
+            } catch (final SQLException | RuntimeException e) {
+                // Make sure the connection is closed
+                Utils.closeQuietly((AutoCloseable) conn);
+                releaseConnection(false);
+                // Rethrow original exception so it is visible to caller
+                throw e;
+            }
         }
 
         // Register this connection with JMX
@@ -523,6 +843,7 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
                 connJmxName = new ObjectName(name);
             } catch (final MalformedObjectNameException e) {
                 Utils.closeQuietly((AutoCloseable) conn);
+                releaseConnection(false);
                 throw new SQLException(name, e);
             }
         }
@@ -530,8 +851,13 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         final PoolableConnection pc = new PoolableConnection(conn, pool, connJmxName,
                 disconnectionSqlCodes, disconnectionIgnoreSqlCodes, fastFailValidation);
         pc.setCacheState(cacheState);
+        pc.setThinResultSetTracking(thinResultSetTracking);
+        pc.setCacheColumnLabels(cacheColumnLabels);
+        pc.setDatabaseMetaDataCache(databaseMetaDataCache);
+        pc.setQueryTimeoutScheduler(queryTimeoutScheduler);
+        pc.setReturnExecutor(returnExecutor);
 
-        return new DefaultPooledObject<>(pc);
+        return wrap(pc);
     }
 
     @Override
@@ -564,6 +890,74 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         conn.passivate();
     }
 
+    /**
+     * Stops counting a physical connection that was closed, or that {@link #reserveConnection()} counted and that
+     * could not be created.
+     *
+     * @param pending whether the connection was closed on the {@link #setAbortExecutor(Executor) abort executor}.
+     * @since 2.15.0
+     */
+    protected void releaseConnection(final boolean pending) {
+        destroyLock.lock();
+        try {
+            connectionCount--;
+            if (pending) {
+                pendingDestroyCount--;
+            }
+            destroyCompleted.signalAll();
+        } finally {
+            destroyLock.unlock();
+        }
+    }
+
+    /**
+     * Counts a physical connection about to be created. While destroyed connections are still closing on the
+     * {@link #setAbortExecutor(Executor) abort executor}, waits for them until the pool has room for one more physical
+     * connection, but no longer than the maximum wait of the pool.
+     *
+     * @throws SQLException if the pool is still full of closing connections after the maximum wait, or if the thread
+     *         is interrupted.
+     * @since 2.15.0
+     */
+    protected void reserveConnection() throws SQLException {
+        final ObjectPool<PoolableConnection> p = pool;
+        destroyLock.lock();
+        try {
+            if (pendingDestroyCount > 0 && p instanceof GenericObjectPool) {
+                final GenericObjectPool<PoolableConnection> gop = (GenericObjectPool<PoolableConnection>) p;
+                final int maxTotal = gop.getMaxTotal();
+                final Duration maxWait = gop.getMaxWaitDuration();
+                long remainingNanos = maxWait.isNegative() ? Long.MAX_VALUE : maxWait.toNanos();
+                while (maxTotal >= 0 && pendingDestroyCount > 0 && connectionCount >= maxTotal) {
+                    if (remainingNanos <= 0) {
+                        throw new SQLException(Utils.getMessage("poolableConnectionFactory.destroy.pending", pendingDestroyCount));
+                    }
+                    remainingNanos = destroyCompleted.awaitNanos(remainingNanos);
+                }
+            }
+            connectionCount++;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        } finally {
+            destroyLock.unlock();
+        }
+    }
+
+    /**
+     * Sets the executor that closes destroyed connections, so that destroying abandoned, expired or evicted
+     * connections does not block borrowers or the evictor while the driver closes a hung socket. A connection closing
+     * on the executor keeps counting against the maximum size of the pool. If the executor rejects a connection, it is
+     * closed on the calling thread.
+     *
+     * @param abortExecutor
+     *            The abort executor, or null to close connections on the thread that destroys them.
+     * @since 2.15.0
+     */
+    public void setAbortExecutor(final Executor abortExecutor) {
+        this.abortExecutor = abortExecutor;
+    }
+
     /**
      * Sets whether to set auto-commit on {@link #passivateObject(PooledObject)}.
      *
@@ -573,6 +967,44 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.autoCommitOnReturn = autoCommitOnReturn;
     }
 
+    /**
+     * Sets whether the connection initialization SQL statements are sent to the database as a single JDBC batch
+     * instead of one round trip per statement. The statements must then not return result sets, for example session
+     * settings like {@code SET} or {@code ALTER SESSION} commands. Drivers that do not support batch updates execute
+     * the statements one at a time. Default is false.
+     *
+     * @param batchConnectionInitSqls Whether to batch the connection initialization SQL statements.
+     * @see #setConnectionInitSql(Collection)
+     * @since 2.15.0
+     */
+    public void setBatchConnectionInitSqls(final boolean batchConnectionInitSqls) {
+        this.batchConnectionInitSqls = batchConnectionInitSqls;
+    }
+
+    /**
+     * Sets whether a statement request that finds every pooled statement of a connection in use gets an unpooled
+     * statement instead of failing. Default is false.
+     *
+     * @param bypassStatementPoolWhenExhausted bypass or not
+     * @see PoolingConnection#setBypassStatementPoolWhenExhausted(boolean)
+     * @since 2.15.0
+     */
+    public void setBypassStatementPoolWhenExhausted(final boolean bypassStatementPoolWhenExhausted) {
+        this.bypassStatementPoolWhenExhausted = bypassStatementPoolWhenExhausted;
+    }
+
+    /**
+     * Sets whether result sets of the connections this factory creates resolve each column label to its index once and
+     * use index-based getters afterwards.
+     *
+     * @param cacheColumnLabels Whether to cache column label resolutions.
+     * @see DelegatingConnection#setCacheColumnLabels(boolean)
+     * @since 2.15.0
+     */
+    public void setCacheColumnLabels(final boolean cacheColumnLabels) {
+        this.cacheColumnLabels = cacheColumnLabels;
+    }
+
     /**
      * Sets the cache state to propagate in {@link #makeObject()}.
      *
@@ -604,6 +1036,18 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.connectionInitSqls = connectionInitSqls;
     }
 
+    /**
+     * Sets the cache that database metadata of the connections this factory creates answers from.
+     *
+     * @param databaseMetaDataCache
+     *            The database metadata cache, or null to not cache database metadata.
+     * @see DelegatingConnection#setDatabaseMetaDataCache(DatabaseMetaDataCache)
+     * @since 2.15.0
+     */
+    public void setDatabaseMetaDataCache(final DatabaseMetaDataCache databaseMetaDataCache) {
+        this.databaseMetaDataCache = databaseMetaDataCache;
+    }
+
     /**
      * Sets the default "auto commit" setting for borrowed {@link Connection}s
      *
@@ -624,6 +1068,28 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.defaultCatalog = defaultCatalog;
     }
 
+    /**
+     * Sets the default fetch size of statements created from borrowed {@link Connection}s.
+     *
+     * @param defaultFetchSize
+     *            the default fetch size, null means the driver default.
+     * @since 2.15.0
+     */
+    public void setDefaultFetchSize(final Integer defaultFetchSize) {
+        this.defaultFetchSize = defaultFetchSize;
+    }
+
+    /**
+     * Sets the default maximum number of rows of statements created from borrowed {@link Connection}s.
+     *
+     * @param defaultMaxRows
+     *            the default maximum number of rows, null means the driver default.
+     * @since 2.15.0
+     */
+    public void setDefaultMaxRows(final Integer defaultMaxRows) {
+        this.defaultMaxRows = defaultMaxRows;
+    }
+
     /**
      * Sets the query timeout Duration.
      *
@@ -794,6 +1260,32 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.poolStatements = poolStatements;
     }
 
+    /**
+     * Sets the timer that enforces the query timeouts of statements of the connections this factory creates, instead
+     * of the driver.
+     *
+     * @param queryTimeoutScheduler
+     *            The query timeout timer, or null to let the driver enforce query timeouts.
+     * @see DelegatingConnection#setQueryTimeoutScheduler(ScheduledExecutorService)
+     * @since 2.15.0
+     */
+    public void setQueryTimeoutScheduler(final ScheduledExecutorService queryTimeoutScheduler) {
+        this.queryTimeoutScheduler = queryTimeoutScheduler;
+    }
+
+    /**
+     * Sets the executor that returns closed connections to the pool, so that the passivation and any validation on
+     * return do not run on the thread that closes the connection.
+     *
+     * @param returnExecutor
+     *            The return executor, or null to return connections on the thread that closes them.
+     * @see PoolableConnection#setReturnExecutor(Executor)
+     * @since 2.15.0
+     */
+    public void setReturnExecutor(final Executor returnExecutor) {
+        this.returnExecutor = returnExecutor;
+    }
+
     /**
      * Sets whether to rollback on return.
      *
@@ -803,6 +1295,43 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.rollbackOnReturn = rollbackOnReturn;
     }
 
+    /**
+     * Sets the version of the metadata that pooled prepared statements of new connections cache. Statements read their
+     * metadata again from the driver once the version changes.
+     *
+     * @param statementMetaDataVersion
+     *            The metadata version, or null to not cache statement metadata.
+     * @see PoolingConnection#setStatementMetaDataVersion(LongSupplier)
+     * @since 2.15.0
+     */
+    public void setStatementMetaDataVersion(final LongSupplier statementMetaDataVersion) {
+        this.statementMetaDataVersion = statementMetaDataVersion;
+    }
+
+    /**
+     * Sets the statistics the statement pools of new connections report to. A data source sets its own instance so
+     * that the statistics outlive a restart. Using {@code null} turns off aggregation.
+     *
+     * @param statementPoolStatistics
+     *            The statement pool statistics, may be null.
+     * @since 2.15.0
+     */
+    public void setStatementPoolStatistics(final StatementPoolStatistics statementPoolStatistics) {
+        this.statementPoolStatistics = statementPoolStatistics;
+    }
+
+    /**
+     * Sets whether statements of the connections this factory creates track their open result sets in a plain list
+     * instead of weakly referenced {@link AbandonedTrace} children.
+     *
+     * @param thinResultSetTracking Whether to use thin result set tracking.
+     * @see DelegatingConnection#setThinResultSetTracking(boolean)
+     * @since 2.15.0
+     */
+    public void setThinResultSetTracking(final boolean thinResultSetTracking) {
+        this.thinResultSetTracking = thinResultSetTracking;
+    }
+
     /**
      * Sets the query I use to {@link #validateObject validate} {@link Connection}s. Should return at least one row. If
      * not specified, {@link Connection#isValid(int)} will be used to validate connections.
@@ -839,7 +1368,21 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
     }
 
     /**
-     * Validates the given connection if it is open.
+     * Sets the duration during which a connection that completed a call to the database, like a statement execution, a
+     * commit, or a previous validation, is considered valid without running the validation query or
+     * {@link Connection#isValid(int)} again. Any {@link SQLException} thrown by the connection ends this grace period.
+     * Use a value less than or equal to 0 to validate connections every time, which is the default.
+     *
+     * @param validationSkipWindow new validation skip window.
+     * @since 2.15.0
+     */
+    public void setValidationSkipWindow(final Duration validationSkipWindow) {
+        this.validationSkipWindow = validationSkipWindow == null ? Duration.ZERO : validationSkipWindow;
+    }
+
+    /**
+     * Validates the given connection if it is open, unless it completed a call to the database within the
+     * {@link #setValidationSkipWindow(Duration) validation skip window}.
      *
      * @param conn The connection to validate.
      * @throws SQLException Thrown if the connection is closed or validate fails.
@@ -848,9 +1391,26 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         if (conn.isClosed()) {
             throw new SQLException("validateConnection: connection closed");
         }
+        if (conn.hasSucceededWithin(validationSkipWindow)) {
+            return;
+        }
         conn.validate(validationQuery, validationQueryTimeoutDuration);
     }
 
+    /**
+     * Sets the SQL statements prepared into the statement pool of each new {@link Connection} before it is first
+     * handed out, so that requests after a restart or a failover do not all pay the cost of preparing the same hot
+     * statements at once. Has no effect unless {@link #setPoolStatements(boolean) statement pooling} is enabled. Using
+     * {@code null} turns off warm-up.
+     *
+     * @param warmUpSqls
+     *            SQL statements to prepare on {@link Connection} creation.
+     * @since 2.15.0
+     */
+    public void setWarmUpSqls(final Collection<String> warmUpSqls) {
+        this.warmUpSqls = warmUpSqls;
+    }
+
     private void validateLifetime(final PooledObject<PoolableConnection> p) throws LifetimeExceededException {
         Utils.validateLifetime(p, maxConnDuration);
     }
@@ -868,4 +1428,47 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
             return false;
         }
     }
+
+    /**
+     * Prepares the {@link #setWarmUpSqls(Collection) warm-up SQL statements} into the statement pool of a new
+     * connection. The configured default catalog and schema are applied first since they are part of the statement
+     * pool keys. A statement that fails to prepare is logged and skipped.
+     *
+     * @param conn The new connection.
+     * @throws SQLException if the default catalog or schema cannot be set.
+     * @since 2.15.0
+     */
+    protected void warmUpStatementPool(final PoolingConnection conn) throws SQLException {
+        final Collection<String> sqls = warmUpSqls;
+        if (Utils.isEmpty(sqls)) {
+            return;
+        }
+        if (defaultCatalog != null) {
+            conn.setCatalog(defaultCatalog);
+        }
+        if (defaultSchema != null) {
+            Jdbc41Bridge.setSchema(conn, defaultSchema);
+        }
+        for (final String sql : sqls) {
+            try {
+                conn.addPreparedStatement(sql);
+            } catch (final SQLException e) {
+                log.warn(Utils.getMessage("poolableConnectionFactory.warmUp.fail", sql), e);
+            }
+        }
+    }
+
+    /**
+     * Wraps a new connection in the pooled object returned by {@link #makeObject()} and tracks the pooled object until
+     * it is destroyed.
+     *
+     * @param conn the new connection.
+     * @return The pooled object.
+     * @since 2.15.0
+     */
+    protected PooledObject<PoolableConnection> wrap(final PoolableConnection conn) {
+        final PooledObject<PoolableConnection> p = new DefaultPooledObject<>(conn);
+        pooledObjects.add(p);
+        return p;
+    }
 }
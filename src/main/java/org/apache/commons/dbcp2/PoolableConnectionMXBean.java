@@ -90,6 +90,39 @@ public interface PoolableConnectionMXBean {
      */
     String getSchema() throws SQLException;
 
+    /**
+     * Gets the number of prepared statement requests served from the statement pool, or 0 if statements are not
+     * pooled.
+     *
+     * @return The statement pool hit count.
+     * @since 2.15.0
+     */
+    default long getStatementPoolHitCount() {
+        return 0;
+    }
+
+    /**
+     * Gets the fraction of prepared statement requests served from the statement pool, or 0 if statements are not
+     * pooled.
+     *
+     * @return The statement pool hit ratio.
+     * @since 2.15.0
+     */
+    default double getStatementPoolHitRatio() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of prepared statement requests that had to prepare a new statement, or 0 if statements are not
+     * pooled.
+     *
+     * @return The statement pool miss count.
+     * @since 2.15.0
+     */
+    default long getStatementPoolMissCount() {
+        return 0;
+    }
+
     /**
      * Gets the value of the {@link Object#toString()} method via a bean getter, so it can be read as a property via JMX.
      *
@@ -16,8 +16,12 @@
  */
 package org.apache.commons.dbcp2;
 
+import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.function.LongSupplier;
 
 import org.apache.commons.pool2.KeyedObjectPool;
 
@@ -36,6 +40,24 @@ import org.apache.commons.pool2.KeyedObjectPool;
  */
 public class PoolablePreparedStatement<K> extends DelegatingPreparedStatement {
 
+    /**
+     * A metadata copy and the metadata version it was taken at.
+     *
+     * @param <T> the metadata type.
+     */
+    private static final class Snapshot<T> {
+
+        /** The copy, or null if the driver's metadata could not be copied at this version. */
+        private final T metaData;
+
+        private final long version;
+
+        private Snapshot(final T metaData, final long version) {
+            this.metaData = metaData;
+            this.version = version;
+        }
+    }
+
     /**
      * The {@link KeyedObjectPool} from which I was obtained.
      */
@@ -48,6 +70,15 @@ public class PoolablePreparedStatement<K> extends DelegatingPreparedStatement {
 
     private volatile boolean batchAdded;
 
+    /** The version of cached metadata, or null if metadata is not cached. */
+    private LongSupplier metaDataVersion;
+
+    private Snapshot<ResultSetMetaData> metaDataSnapshot;
+
+    private Snapshot<ResultSetMetaData> resultSetMetaDataSnapshot;
+
+    private Snapshot<ParameterMetaData> parameterMetaDataSnapshot;
+
     /**
      * Constructs a new instance.
      *
@@ -113,6 +144,19 @@ public class PoolablePreparedStatement<K> extends DelegatingPreparedStatement {
         }
     }
 
+    /**
+     * Executes the query and, when metadata is cached, lets the result set answer
+     * {@link ResultSet#getMetaData()} from this statement's cache.
+     */
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        final ResultSet resultSet = super.executeQuery();
+        if (metaDataVersion != null && resultSet instanceof DelegatingResultSet) {
+            ((DelegatingResultSet) resultSet).setMetaDataStatement(this);
+        }
+        return resultSet;
+    }
+
     /**
      * Package-protected for tests.
      *
@@ -122,6 +166,63 @@ public class PoolablePreparedStatement<K> extends DelegatingPreparedStatement {
         return key;
     }
 
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        if (metaDataVersion == null) {
+            return super.getMetaData();
+        }
+        final long version = metaDataVersion.getAsLong();
+        final Snapshot<ResultSetMetaData> snapshot = metaDataSnapshot;
+        if (snapshot != null && snapshot.version == version && snapshot.metaData != null) {
+            checkOpen();
+            return snapshot.metaData;
+        }
+        final ResultSetMetaData metaData = super.getMetaData();
+        if (snapshot == null || snapshot.version != version) {
+            metaDataSnapshot = new Snapshot<>(ResultSetMetaDataSnapshot.copyOf(metaData), version);
+        }
+        return metaData;
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        if (metaDataVersion == null) {
+            return super.getParameterMetaData();
+        }
+        final long version = metaDataVersion.getAsLong();
+        final Snapshot<ParameterMetaData> snapshot = parameterMetaDataSnapshot;
+        if (snapshot != null && snapshot.version == version && snapshot.metaData != null) {
+            checkOpen();
+            return snapshot.metaData;
+        }
+        final ParameterMetaData metaData = super.getParameterMetaData();
+        if (snapshot == null || snapshot.version != version) {
+            parameterMetaDataSnapshot = new Snapshot<>(ParameterMetaDataSnapshot.copyOf(metaData), version);
+        }
+        return metaData;
+    }
+
+    /**
+     * Gets the metadata of a result set returned by {@link #executeQuery()}, from this statement's cache when the
+     * cached copy is current. Every such result set has the same columns, since they come from the same SQL.
+     *
+     * @param resultSet the driver's result set.
+     * @return the result set metadata.
+     * @throws SQLException thrown by the driver.
+     */
+    ResultSetMetaData getResultSetMetaData(final ResultSet resultSet) throws SQLException {
+        final long version = metaDataVersion.getAsLong();
+        final Snapshot<ResultSetMetaData> snapshot = resultSetMetaDataSnapshot;
+        if (snapshot != null && snapshot.version == version && snapshot.metaData != null) {
+            return snapshot.metaData;
+        }
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        if (snapshot == null || snapshot.version != version) {
+            resultSetMetaDataSnapshot = new Snapshot<>(ResultSetMetaDataSnapshot.copyOf(metaData), version);
+        }
+        return metaData;
+    }
+
     @Override
     public void passivate() throws SQLException {
         // DBCP-372. clearBatch with throw an exception if called when the
@@ -131,4 +232,14 @@ public class PoolablePreparedStatement<K> extends DelegatingPreparedStatement {
         }
         prepareToReturn();
     }
+
+    /**
+     * Sets the version of this statement's cached metadata. Metadata copied at an older version is read again from
+     * the driver.
+     *
+     * @param metaDataVersion the current metadata version, or null to not cache metadata.
+     */
+    void setMetaDataVersion(final LongSupplier metaDataVersion) {
+        this.metaDataVersion = metaDataVersion;
+    }
 }
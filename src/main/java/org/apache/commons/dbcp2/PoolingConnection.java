@@ -21,8 +21,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.LongSupplier;
 
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
@@ -79,6 +79,12 @@ public class PoolingConnection extends DelegatingConnection<Connection>
 
     private volatile boolean clearStatementPoolOnReturn;
 
+    /** Borrows from the statement pool, counting hits and misses. */
+    private final StatementPoolBorrower statementPoolBorrower = new StatementPoolBorrower("MaxOpenPreparedStatements limit reached");
+
+    /** The version of pooled statements' cached metadata, or null if metadata is not cached. */
+    private volatile LongSupplier statementMetaDataVersion;
+
     /**
      * Constructs a new instance.
      *
@@ -103,6 +109,30 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         pooledObject.getObject().activate();
     }
 
+    /**
+     * Prepares a {@link PreparedStatement} for the given SQL and adds it to the pool as an idle statement, so that a
+     * later call to {@link #prepareStatement(String)} with the same SQL, catalog and schema finds it ready. Nothing is
+     * added if the pool has reached its maximum number of statements.
+     *
+     * @param sql
+     *            the SQL string used to define the PreparedStatement
+     * @throws SQLException
+     *             Wraps an underlying exception.
+     * @since 2.15.0
+     */
+    public void addPreparedStatement(final String sql) throws SQLException {
+        if (stmtPool == null) {
+            throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
+        }
+        try {
+            stmtPool.addObject(createKey(sql));
+        } catch (final RuntimeException | SQLException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SQLException("Add prepareStatement to pool failed", e);
+        }
+    }
+
     /**
      * Closes and frees all {@link PreparedStatement}s or {@link CallableStatement}s from the pool, and close the
      * underlying connection.
@@ -320,6 +350,11 @@ public class PoolingConnection extends DelegatingConnection<Connection>
                 }
             }
         }
+        final StatementPoolStatistics statistics = statementPoolBorrower.getStatistics();
+        if (statistics != null) {
+            // The pool is only detached when the connection closes
+            statistics.statementDestroyed(key.getSql(), stmtPool != null);
+        }
     }
 
     private String getCatalogOrNull() {
@@ -348,6 +383,38 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         return stmtPool;
     }
 
+    /**
+     * Gets the number of statement requests served by a statement that was already in the pool.
+     *
+     * @return statement pool hit count
+     * @since 2.15.0
+     */
+    public long getStatementPoolHitCount() {
+        return statementPoolBorrower.getHitCount();
+    }
+
+    /**
+     * Gets the fraction of statement requests served by a statement that was already in the pool, or 0 if there
+     * have been no requests.
+     *
+     * @return statement pool hit ratio between 0 and 1
+     * @since 2.15.0
+     */
+    public double getStatementPoolHitRatio() {
+        return statementPoolBorrower.getHitRatio();
+    }
+
+    /**
+     * Gets the number of statement requests that had to prepare a new statement, including statements that bypassed
+     * an exhausted pool.
+     *
+     * @return statement pool miss count
+     * @since 2.15.0
+     */
+    public long getStatementPoolMissCount() {
+        return statementPoolBorrower.getMissCount();
+    }
+
     /**
      * {@link KeyedPooledObjectFactory} method for creating {@link PoolablePreparedStatement}s or
      * {@link PoolableCallableStatement}s. The {@code stmtType} field in the key determines whether a
@@ -363,10 +430,16 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         if (key == null) {
             throw new IllegalArgumentException("Prepared statement key is null or invalid.");
         }
+        statementPoolBorrower.statementCreated();
+        final StatementPoolStatistics statistics = statementPoolBorrower.getStatistics();
+        if (statistics != null) {
+            statistics.statementCreated(key.getSql());
+        }
         if (key.getStmtType() == StatementType.PREPARED_STATEMENT) {
             final PreparedStatement statement = (PreparedStatement) key.createStatement(getDelegate());
             @SuppressWarnings({"rawtypes", "unchecked" }) // Unable to find way to avoid this
             final PoolablePreparedStatement pps = new PoolablePreparedStatement(statement, key, stmtPool, this);
+            pps.setMetaDataVersion(statementMetaDataVersion);
             return new DefaultPooledObject<>(pps);
         }
         final CallableStatement statement = (CallableStatement) key.createStatement(getDelegate());
@@ -483,15 +556,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         if (stmtPool == null) {
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
-        try {
-            return stmtPool.borrowObject(key);
-        } catch (final NoSuchElementException e) {
-            throw new SQLException("MaxOpenPreparedStatements limit reached", e);
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return statementPoolBorrower.borrow(stmtPool, key, this::prepareUnpooledStatement);
     }
 
     /**
@@ -598,6 +663,36 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         return prepareStatement(createKey(sql, columnNames));
     }
 
+    /**
+     * Creates a statement that bypasses the pool: closing it closes the underlying statement.
+     *
+     * @param key
+     *            the statement key
+     * @return a new, unpooled statement
+     * @throws SQLException
+     *             Thrown when the driver fails to create the statement.
+     */
+    private PreparedStatement prepareUnpooledStatement(final PStmtKey key) throws SQLException {
+        final Statement statement = key.createStatement(getDelegate());
+        if (key.getStmtType() == StatementType.PREPARED_STATEMENT) {
+            return new DelegatingPreparedStatement(this, (PreparedStatement) statement);
+        }
+        return new DelegatingCallableStatement(this, (CallableStatement) statement);
+    }
+
+    /**
+     * Sets whether a statement request that finds every pooled statement in use gets a new statement that bypasses
+     * the pool instead of failing with a "MaxOpenPreparedStatements limit reached" {@link SQLException}. Idle pooled
+     * statements are always evicted, least recently used first, to make room for new ones; this setting only matters
+     * when none are idle. Default is false.
+     *
+     * @param bypassStatementPoolWhenExhausted bypass or not
+     * @since 2.15.0
+     */
+    public void setBypassStatementPoolWhenExhausted(final boolean bypassStatementPoolWhenExhausted) {
+        statementPoolBorrower.setBypassWhenExhausted(bypassStatementPoolWhenExhausted);
+    }
+
     /**
      * Sets whether the pool of statements should be cleared when the connection is returned to its pool.
      * Default is false.
@@ -609,6 +704,19 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         this.clearStatementPoolOnReturn = clearStatementPoolOnReturn;
     }
 
+    /**
+     * Sets the version of the metadata that pooled prepared statements cache. A statement keeps a copy of its
+     * {@link PreparedStatement#getMetaData()}, {@link PreparedStatement#getParameterMetaData()} and query result set
+     * metadata, and reads it again from the driver once the version changes, for example after a schema change.
+     *
+     * @param statementMetaDataVersion
+     *            the current metadata version, or null to not cache metadata.
+     * @since 2.15.0
+     */
+    public void setStatementMetaDataVersion(final LongSupplier statementMetaDataVersion) {
+        this.statementMetaDataVersion = statementMetaDataVersion;
+    }
+
     /**
      * Sets the prepared statement pool.
      *
@@ -619,6 +727,17 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         stmtPool = pool;
     }
 
+    /**
+     * Sets the statistics this connection's statement pool reports to, in addition to its own counters.
+     *
+     * @param statementPoolStatistics
+     *            the statistics shared by the connections of a data source, may be null.
+     * @since 2.15.0
+     */
+    public void setStatementPoolStatistics(final StatementPoolStatistics statementPoolStatistics) {
+        statementPoolBorrower.setStatistics(statementPoolStatistics);
+    }
+
     @Override
     public synchronized String toString() {
         if (stmtPool instanceof GenericKeyedObjectPool) {
@@ -22,7 +22,9 @@ import java.sql.DriverManager;
 import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.logging.Logger;
@@ -84,9 +86,18 @@ public class PoolingDriver implements Driver {
         }
     }
 
-    /** The map of registered pools. */
+    /**
+     * The map of registered pools, guarded by its own monitor. Change it only through
+     * {@link #registerPool(String, ObjectPool)} and {@link #closePool(String)}: {@link #connect(String, Properties)}
+     * reads a copy that only those methods republish, and looks a name up in this map only when the copy lacks it. A
+     * pool put here directly under a new name is found, but one replaced or removed here directly keeps being lent
+     * until the next call to either method.
+     */
     protected static final HashMap<String, ObjectPool<? extends Connection>> pools = new HashMap<>();
 
+    /** Immutable copy of {@link #pools} keyed by connection URL, republished on every change and read without locking. */
+    private static volatile Map<String, ObjectPool<? extends Connection>> poolsByUrl = Collections.emptyMap();
+
     /**
      * The Apache Commons connection string prefix {@value}.
      */
@@ -140,11 +151,15 @@ public class PoolingDriver implements Driver {
      * @throws SQLException
      *             Thrown when a problem is caught closing the pool.
      */
-    public synchronized void closePool(final String name) throws SQLException {
-        @SuppressWarnings("resource")
-        final ObjectPool<? extends Connection> pool = pools.get(name);
+    public void closePool(final String name) throws SQLException {
+        final ObjectPool<? extends Connection> pool;
+        synchronized (pools) {
+            pool = pools.remove(name);
+            if (pool != null) {
+                publishPools();
+            }
+        }
         if (pool != null) {
-            pools.remove(name);
             try {
                 pool.close();
             } catch (final Exception e) {
@@ -156,7 +171,11 @@ public class PoolingDriver implements Driver {
     @Override
     public Connection connect(final String url, final Properties info) throws SQLException {
         if (acceptsURL(url)) {
-            final ObjectPool<? extends Connection> pool = getConnectionPool(url.substring(URL_PREFIX_LEN));
+            ObjectPool<? extends Connection> pool = poolsByUrl.get(url);
+            if (pool == null) {
+                // put straight into the pools map, or not registered at all; see the pools javadoc
+                pool = getConnectionPool(url.substring(URL_PREFIX_LEN));
+            }
             try {
                 final Connection conn = pool.borrowObject();
                 if (conn == null) {
@@ -183,8 +202,11 @@ public class PoolingDriver implements Driver {
      * @throws SQLException
      *             Thrown when the named pool is not registered.
      */
-    public synchronized ObjectPool<? extends Connection> getConnectionPool(final String name) throws SQLException {
-        final ObjectPool<? extends Connection> pool = pools.get(name);
+    public ObjectPool<? extends Connection> getConnectionPool(final String name) throws SQLException {
+        final ObjectPool<? extends Connection> pool;
+        synchronized (pools) {
+            pool = pools.get(name);
+        }
         if (pool == null) {
             throw new SQLException("Pool not registered: " + name);
         }
@@ -211,8 +233,10 @@ public class PoolingDriver implements Driver {
      *
      * @return The pool names.
      */
-    public synchronized String[] getPoolNames() {
-        return pools.keySet().toArray(Utils.EMPTY_STRING_ARRAY);
+    public String[] getPoolNames() {
+        synchronized (pools) {
+            return pools.keySet().toArray(Utils.EMPTY_STRING_ARRAY);
+        }
     }
 
     @Override
@@ -257,6 +281,15 @@ public class PoolingDriver implements Driver {
         return true;
     }
 
+    /**
+     * Republishes {@link #poolsByUrl} from {@link #pools}; the caller holds the monitor of {@link #pools}.
+     */
+    private static void publishPools() {
+        final Map<String, ObjectPool<? extends Connection>> byUrl = new HashMap<>();
+        pools.forEach((name, pool) -> byUrl.put(URL_PREFIX + name, pool));
+        poolsByUrl = Collections.unmodifiableMap(byUrl);
+    }
+
     /**
      * Registers a named pool.
      *
@@ -265,7 +298,10 @@ public class PoolingDriver implements Driver {
      * @param pool
      *            The pool.
      */
-    public synchronized void registerPool(final String name, final ObjectPool<? extends Connection> pool) {
-        pools.put(name, pool);
+    public void registerPool(final String name, final ObjectPool<? extends Connection> pool) {
+        synchronized (pools) {
+            pools.put(name, pool);
+            publishPools();
+        }
     }
 }
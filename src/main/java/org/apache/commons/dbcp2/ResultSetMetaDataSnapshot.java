@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * An immutable copy of a {@link ResultSetMetaData} that no longer refers to the driver's result set or statement.
+ *
+ * @since 2.15.0
+ */
+final class ResultSetMetaDataSnapshot implements ResultSetMetaData {
+
+    /**
+     * Copies the given metadata.
+     *
+     * @param metaData the metadata to copy, may be null.
+     * @return the copy, or null if the metadata is null or the driver does not support one of its methods.
+     */
+    static ResultSetMetaDataSnapshot copyOf(final ResultSetMetaData metaData) {
+        if (metaData == null) {
+            return null;
+        }
+        try {
+            return new ResultSetMetaDataSnapshot(metaData);
+        } catch (final SQLException e) {
+            // The driver cannot describe every column attribute; callers keep asking the driver.
+            return null;
+        }
+    }
+
+    private final String[] catalogNames;
+    private final String[] columnClassNames;
+    private final int[] columnDisplaySizes;
+    private final String[] columnLabels;
+    private final String[] columnNames;
+    private final int[] columnTypes;
+    private final String[] columnTypeNames;
+    private final int[] precisions;
+    private final int[] scales;
+    private final String[] schemaNames;
+    private final String[] tableNames;
+    private final boolean[] autoIncrements;
+    private final boolean[] caseSensitives;
+    private final boolean[] currencies;
+    private final boolean[] definitelyWritables;
+    private final int[] nullables;
+    private final boolean[] readOnlys;
+    private final boolean[] searchables;
+    private final boolean[] signeds;
+    private final boolean[] writables;
+
+    private ResultSetMetaDataSnapshot(final ResultSetMetaData metaData) throws SQLException {
+        final int count = metaData.getColumnCount();
+        catalogNames = new String[count];
+        columnClassNames = new String[count];
+        columnDisplaySizes = new int[count];
+        columnLabels = new String[count];
+        columnNames = new String[count];
+        columnTypes = new int[count];
+        columnTypeNames = new String[count];
+        precisions = new int[count];
+        scales = new int[count];
+        schemaNames = new String[count];
+        tableNames = new String[count];
+        autoIncrements = new boolean[count];
+        caseSensitives = new boolean[count];
+        currencies = new boolean[count];
+        definitelyWritables = new boolean[count];
+        nullables = new int[count];
+        readOnlys = new boolean[count];
+        searchables = new boolean[count];
+        signeds = new boolean[count];
+        writables = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            final int column = i + 1;
+            catalogNames[i] = metaData.getCatalogName(column);
+            columnClassNames[i] = metaData.getColumnClassName(column);
+            columnDisplaySizes[i] = metaData.getColumnDisplaySize(column);
+            columnLabels[i] = metaData.getColumnLabel(column);
+            columnNames[i] = metaData.getColumnName(column);
+            columnTypes[i] = metaData.getColumnType(column);
+            columnTypeNames[i] = metaData.getColumnTypeName(column);
+            precisions[i] = metaData.getPrecision(column);
+            scales[i] = metaData.getScale(column);
+            schemaNames[i] = metaData.getSchemaName(column);
+            tableNames[i] = metaData.getTableName(column);
+            autoIncrements[i] = metaData.isAutoIncrement(column);
+            caseSensitives[i] = metaData.isCaseSensitive(column);
+            currencies[i] = metaData.isCurrency(column);
+            definitelyWritables[i] = metaData.isDefinitelyWritable(column);
+            nullables[i] = metaData.isNullable(column);
+            readOnlys[i] = metaData.isReadOnly(column);
+            searchables[i] = metaData.isSearchable(column);
+            signeds[i] = metaData.isSigned(column);
+            writables[i] = metaData.isWritable(column);
+        }
+    }
+
+    private int checkColumn(final int column) throws SQLException {
+        if (column < 1 || column > columnNames.length) {
+            throw new SQLException("Invalid column index " + column + ", expected 1 to " + columnNames.length);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public String getCatalogName(final int column) throws SQLException {
+        return catalogNames[checkColumn(column)];
+    }
+
+    @Override
+    public String getColumnClassName(final int column) throws SQLException {
+        return columnClassNames[checkColumn(column)];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public int getColumnDisplaySize(final int column) throws SQLException {
+        return columnDisplaySizes[checkColumn(column)];
+    }
+
+    @Override
+    public String getColumnLabel(final int column) throws SQLException {
+        return columnLabels[checkColumn(column)];
+    }
+
+    @Override
+    public String getColumnName(final int column) throws SQLException {
+        return columnNames[checkColumn(column)];
+    }
+
+    @Override
+    public int getColumnType(final int column) throws SQLException {
+        return columnTypes[checkColumn(column)];
+    }
+
+    @Override
+    public String getColumnTypeName(final int column) throws SQLException {
+        return columnTypeNames[checkColumn(column)];
+    }
+
+    @Override
+    public int getPrecision(final int column) throws SQLException {
+        return precisions[checkColumn(column)];
+    }
+
+    @Override
+    public int getScale(final int column) throws SQLException {
+        return scales[checkColumn(column)];
+    }
+
+    @Override
+    public String getSchemaName(final int column) throws SQLException {
+        return schemaNames[checkColumn(column)];
+    }
+
+    @Override
+    public String getTableName(final int column) throws SQLException {
+        return tableNames[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isAutoIncrement(final int column) throws SQLException {
+        return autoIncrements[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isCaseSensitive(final int column) throws SQLException {
+        return caseSensitives[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isCurrency(final int column) throws SQLException {
+        return currencies[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(final int column) throws SQLException {
+        return definitelyWritables[checkColumn(column)];
+    }
+
+    @Override
+    public int isNullable(final int column) throws SQLException {
+        return nullables[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isReadOnly(final int column) throws SQLException {
+        return readOnlys[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isSearchable(final int column) throws SQLException {
+        return searchables[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isSigned(final int column) throws SQLException {
+        return signeds[checkColumn(column)];
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public boolean isWritable(final int column) throws SQLException {
+        return writables[checkColumn(column)];
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException(getClass().getName() + " is not a wrapper for " + iface);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.pool2.KeyedObjectPool;
+
+/**
+ * Borrows statements from the statement pool of a connection, counting whether each request was served by a pooled
+ * statement, and prepares an unpooled statement instead when the pool is exhausted and may be bypassed. Used by
+ * {@link PoolingConnection} and by the pooled connections of the {@code cpdsadapter} package.
+ *
+ * @since 2.15.0
+ */
+public final class StatementPoolBorrower {
+
+    /**
+     * Prepares a statement outside the pool.
+     */
+    @FunctionalInterface
+    public interface UnpooledStatementFactory {
+
+        /**
+         * Prepares a statement that is not pooled.
+         *
+         * @param key The statement key.
+         * @return A new statement.
+         * @throws SQLException Thrown when the driver fails to prepare the statement.
+         */
+        PreparedStatement prepare(PStmtKey key) throws SQLException;
+    }
+
+    /**
+     * Set by {@link #statementCreated()} while a borrow is in progress on the current thread, so a borrow can tell a
+     * new statement from a pooled one even while other threads prepare statements on the same connection.
+     */
+    private static final ThreadLocal<Boolean> STATEMENT_CREATED = new ThreadLocal<>();
+
+    private final String exhaustedMessage;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private volatile boolean bypassWhenExhausted;
+
+    /** Statistics shared with the other connections of a data source, may be null. */
+    private volatile StatementPoolStatistics statistics;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param exhaustedMessage The message of the {@link SQLException} thrown when the pool is exhausted.
+     */
+    public StatementPoolBorrower(final String exhaustedMessage) {
+        this.exhaustedMessage = exhaustedMessage;
+    }
+
+    /**
+     * Borrows a statement from the given pool, or prepares an unpooled one if the pool is exhausted and may be
+     * bypassed.
+     *
+     * @param pool The statement pool.
+     * @param key The statement key.
+     * @param unpooled Prepares a statement outside the pool.
+     * @return The statement.
+     * @throws SQLException Thrown when the pool is exhausted or the borrow failed.
+     */
+    public PreparedStatement borrow(final KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> pool, final PStmtKey key,
+            final UnpooledStatementFactory unpooled) throws SQLException {
+        STATEMENT_CREATED.set(Boolean.FALSE);
+        try {
+            final DelegatingPreparedStatement statement = pool.borrowObject(key);
+            if (STATEMENT_CREATED.get() == Boolean.TRUE) {
+                miss();
+            } else {
+                hit();
+            }
+            return statement;
+        } catch (final NoSuchElementException e) {
+            if (bypassWhenExhausted) {
+                miss();
+                return unpooled.prepare(key);
+            }
+            throw new SQLException(exhaustedMessage, e);
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SQLException("Borrow prepareStatement from pool failed", e);
+        } finally {
+            STATEMENT_CREATED.remove();
+        }
+    }
+
+    /**
+     * Gets the number of statement requests served by a statement that was already in the pool.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the fraction of statement requests served by a statement that was already in the pool, or 0 if there
+     * have been no requests.
+     *
+     * @return The hit ratio between 0 and 1.
+     */
+    public double getHitRatio() {
+        final long hits = hitCount.get();
+        final long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of statement requests that had to prepare a new statement, including statements that bypassed
+     * an exhausted pool.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the statistics this borrower reports to, in addition to its own counters.
+     *
+     * @return The statistics, may be null.
+     */
+    public StatementPoolStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void hit() {
+        hitCount.incrementAndGet();
+        final StatementPoolStatistics statistics = this.statistics;
+        if (statistics != null) {
+            statistics.hit();
+        }
+    }
+
+    private void miss() {
+        missCount.incrementAndGet();
+        final StatementPoolStatistics statistics = this.statistics;
+        if (statistics != null) {
+            statistics.miss();
+        }
+    }
+
+    /**
+     * Sets whether a request that finds the pool exhausted gets an unpooled statement instead of failing.
+     *
+     * @param bypassWhenExhausted bypass or not.
+     */
+    public void setBypassWhenExhausted(final boolean bypassWhenExhausted) {
+        this.bypassWhenExhausted = bypassWhenExhausted;
+    }
+
+    /**
+     * Sets the statistics this borrower reports to, in addition to its own counters.
+     *
+     * @param statistics The statistics shared by the connections of a data source, may be null.
+     */
+    public void setStatistics(final StatementPoolStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Records that the pool created a statement, to be called by the pool's factory. Counts the current borrow on this
+     * thread as a miss; does nothing when the statement is created outside a borrow.
+     */
+    public void statementCreated() {
+        if (STATEMENT_CREATED.get() == Boolean.FALSE) {
+            STATEMENT_CREATED.set(Boolean.TRUE);
+        } else {
+            // get() outside a borrow leaves an entry behind
+            STATEMENT_CREATED.remove();
+        }
+    }
+}
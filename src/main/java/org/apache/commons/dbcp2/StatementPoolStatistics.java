@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement pool statistics aggregated over all the {@link PoolingConnection}s created by a connection factory.
+ * <p>
+ * Each connection updates the counters as its statement pool serves, creates and destroys statements, so reading the
+ * statistics does not visit the individual statement pools. Hit and miss counting does not lock.
+ * </p>
+ *
+ * @since 2.15.0
+ */
+public class StatementPoolStatistics {
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /** Maps SQL to the number of statement pools holding a statement for it. */
+    private final ConcurrentHashMap<String, Long> residentSqls = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new instance.
+     */
+    public StatementPoolStatistics() {
+        // empty
+    }
+
+    /**
+     * Gets the number of statements removed from the statement pool of an open connection, for example to make room
+     * for another statement.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Gets the number of statement requests served by a statement that was already in a statement pool.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the fraction of statement requests served by a statement that was already in a statement pool, or 0 if
+     * there have been no requests.
+     *
+     * @return The hit ratio between 0 and 1.
+     */
+    public double getHitRatio() {
+        final long hits = hitCount.sum();
+        final long total = hits + missCount.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of statement requests that had to prepare a new statement.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the SQL of the statements currently held by the statement pools, mapped to the number of pools holding it,
+     * most widely held first.
+     *
+     * @return A snapshot of the resident SQL.
+     */
+    public Map<String, Long> getResidentSqls() {
+        final Map<String, Long> snapshot = new LinkedHashMap<>();
+        residentSqls.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEachOrdered(e -> snapshot.put(e.getKey(), e.getValue()));
+        return snapshot;
+    }
+
+    void hit() {
+        hitCount.increment();
+    }
+
+    void miss() {
+        missCount.increment();
+    }
+
+    void statementCreated(final String sql) {
+        residentSqls.merge(sql, 1L, Long::sum);
+    }
+
+    void statementDestroyed(final String sql, final boolean evicted) {
+        residentSqls.computeIfPresent(sql, (k, v) -> v == 1 ? null : v - 1);
+        if (evicted) {
+            evictionCount.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [hitCount=%,d, missCount=%,d, evictionCount=%,d, residentSqls=%,d]",
+                getClass().getSimpleName(), getHitCount(), getMissCount(), getEvictionCount(), residentSqls.size());
+    }
+}
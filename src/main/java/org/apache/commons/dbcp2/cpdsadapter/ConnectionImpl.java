@@ -62,6 +62,15 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
         this.accessToUnderlyingConnectionAllowed = accessToUnderlyingConnectionAllowed;
     }
 
+    /**
+     * Clears the cached state, including the session state the pooled connection keeps across logical connections.
+     */
+    @Override
+    public void clearCachedState() {
+        super.clearCachedState();
+        pooledConnection.clearCachedState();
+    }
+
     /**
      * Marks the Connection as closed, and notifies the pool that the pooled connection is available.
      * <p>
@@ -84,6 +93,27 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
         }
     }
 
+    /**
+     * Gets the auto-commit mode, read once per pooled connection rather than once per logical connection.
+     *
+     * @return The auto-commit mode.
+     * @throws SQLException
+     *             Thrown when the connection is closed or a database access error occurs.
+     */
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        final Boolean autoCommit = getCacheState() ? pooledConnection.getCachedAutoCommit() : null;
+        if (autoCommit != null) {
+            checkOpen();
+            return autoCommit;
+        }
+        final boolean value = super.getAutoCommit();
+        if (getCacheState()) {
+            pooledConnection.setCachedAutoCommit(value);
+        }
+        return value;
+    }
+
     /**
      * Gets the delegated connection, if allowed.
      *
@@ -93,6 +123,8 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
     @Override
     public Connection getDelegate() {
         if (isAccessToUnderlyingConnectionAllowed()) {
+            // the caller may change the session state without us seeing it
+            pooledConnection.clearCachedState();
             return getDelegateInternal();
         }
         return null;
@@ -107,6 +139,7 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
     @Override
     public Connection getInnermostDelegate() {
         if (isAccessToUnderlyingConnectionAllowed()) {
+            pooledConnection.clearCachedState();
             return super.getInnermostDelegateInternal();
         }
         return null;
@@ -121,6 +154,27 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
         return pooledConnection;
     }
 
+    /**
+     * Gets the transaction isolation level, read once per pooled connection rather than once per logical connection.
+     *
+     * @return The transaction isolation level.
+     * @throws SQLException
+     *             Thrown when the connection is closed or a database access error occurs.
+     */
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        final Integer level = getCacheState() ? pooledConnection.getCachedTransactionIsolation() : null;
+        if (level != null) {
+            checkOpen();
+            return level;
+        }
+        final int value = super.getTransactionIsolation();
+        if (getCacheState()) {
+            pooledConnection.setCachedTransactionIsolation(value);
+        }
+        return value;
+    }
+
     /**
      * If false, getDelegate() and getInnermostDelegate() will return null.
      *
@@ -131,6 +185,27 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
         return accessToUnderlyingConnectionAllowed;
     }
 
+    /**
+     * Tests the read-only mode, read once per pooled connection rather than once per logical connection.
+     *
+     * @return The read-only mode.
+     * @throws SQLException
+     *             Thrown when the connection is closed or a database access error occurs.
+     */
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        final Boolean readOnly = getCacheState() ? pooledConnection.getCachedReadOnly() : null;
+        if (readOnly != null) {
+            checkOpen();
+            return readOnly;
+        }
+        final boolean value = super.isReadOnly();
+        if (getCacheState()) {
+            pooledConnection.setCachedReadOnly(value);
+        }
+        return value;
+    }
+
     /**
      * If pooling of {@link CallableStatement}s is turned on in the {@link DriverAdapterCPDS}, a pooled object may
      * be returned, otherwise delegate to the wrapped JDBC 1.x {@link Connection}.
@@ -314,4 +389,43 @@ final class ConnectionImpl extends DelegatingConnection<Connection> {
         }
     }
 
+
+    @Override
+    public void setAutoCommit(final boolean autoCommit) throws SQLException {
+        pooledConnection.setCachedAutoCommit(null);
+        super.setAutoCommit(autoCommit);
+        if (getCacheState()) {
+            // the value the driver reported back, cached by the superclass
+            pooledConnection.setCachedAutoCommit(super.getAutoCommit());
+        }
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+        // statement keys of the pooled connection pick the new catalog up
+        pooledConnection.clearCachedCatalog();
+        super.setCatalog(catalog);
+    }
+
+    @Override
+    public void setReadOnly(final boolean readOnly) throws SQLException {
+        pooledConnection.setCachedReadOnly(null);
+        super.setReadOnly(readOnly);
+        if (getCacheState()) {
+            pooledConnection.setCachedReadOnly(super.isReadOnly());
+        }
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+        pooledConnection.clearCachedSchema();
+        super.setSchema(schema);
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+        // the driver may pick a stricter level than requested, so the next read asks it
+        pooledConnection.setCachedTransactionIsolation(null);
+        super.setTransactionIsolation(level);
+    }
 }
@@ -107,6 +107,8 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
 
     private static final String KEY_POOL_PREPARED_STATEMENTS = "poolPreparedStatements";
 
+    private static final String KEY_BYPASS_STATEMENT_POOL_WHEN_EXHAUSTED = "bypassStatementPoolWhenExhausted";
+
     private static final long serialVersionUID = -4820523787212147844L;
 
     private static final String GET_CONNECTION_CALLED = "A PooledConnection was already requested from this source, further initialization is not allowed.";
@@ -140,6 +142,9 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
     /** PreparedStatement pool property defaults to false. */
     private volatile boolean poolPreparedStatements;
 
+    /** Whether an exhausted PreparedStatement pool is bypassed, defaults to false. */
+    private volatile boolean bypassStatementPoolWhenExhausted;
+
     /** PreparedStatement pool property defaults to 10. */
     private volatile int maxIdle = 10;
 
@@ -341,6 +346,10 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
                 if (isNotEmpty(ra)) {
                     setPoolPreparedStatements(getBooleanContentString(ra));
                 }
+                ra = ref.get(KEY_BYPASS_STATEMENT_POOL_WHEN_EXHAUSTED);
+                if (isNotEmpty(ra)) {
+                    setBypassStatementPoolWhenExhausted(getBooleanContentString(ra));
+                }
                 ra = ref.get(KEY_MAX_IDLE);
                 if (isNotEmpty(ra)) {
                     setMaxIdle(getIntegerStringContent(ra));
@@ -453,6 +462,7 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
             @SuppressWarnings("resource") // PooledConnectionImpl closes
             final KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> stmtPool = new GenericKeyedObjectPool<>(pooledConnection, config);
             pooledConnection.setStatementPool(stmtPool);
+            pooledConnection.setBypassStatementPoolWhenExhausted(isBypassStatementPoolWhenExhausted());
         }
         return pooledConnection;
     }
@@ -487,6 +497,7 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
         ref.add(new StringRefAddr(KEY_URL, getUrl()));
 
         ref.add(new StringRefAddr(KEY_POOL_PREPARED_STATEMENTS, String.valueOf(isPoolPreparedStatements())));
+        ref.add(new StringRefAddr(KEY_BYPASS_STATEMENT_POOL_WHEN_EXHAUSTED, String.valueOf(isBypassStatementPoolWhenExhausted())));
         ref.add(new StringRefAddr(KEY_MAX_IDLE, String.valueOf(getMaxIdle())));
         ref.add(new StringRefAddr(KEY_NUM_TESTS_PER_EVICTION_RUN, String.valueOf(getNumTestsPerEvictionRun())));
         ref.add(new StringRefAddr(KEY_MAX_PREPARED_STATEMENTS, String.valueOf(getMaxPreparedStatements())));
@@ -546,6 +557,18 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
         return this.accessToUnderlyingConnectionAllowed;
     }
 
+    /**
+     * Tests whether a statement request that finds every pooled statement of a connection in use gets an unpooled
+     * statement instead of failing.
+     *
+     * @return true if an exhausted statement pool is bypassed.
+     * @see #setBypassStatementPoolWhenExhausted(boolean)
+     * @since 2.15.0
+     */
+    public boolean isBypassStatementPoolWhenExhausted() {
+        return bypassStatementPoolWhenExhausted;
+    }
+
     private boolean isNotEmpty(final RefAddr ra) {
         return ra != null && ra.getContent() != null;
     }
@@ -569,6 +592,20 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
         this.accessToUnderlyingConnectionAllowed = allow;
     }
 
+    /**
+     * Sets whether a statement request that finds every pooled statement of a connection in use, with
+     * {@link #setMaxPreparedStatements(int) maxPreparedStatements} reached, gets an unpooled statement instead of
+     * failing.
+     *
+     * @param bypassStatementPoolWhenExhausted bypass or not
+     * @throws IllegalStateException if {@link #getPooledConnection()} has been called
+     * @since 2.15.0
+     */
+    public void setBypassStatementPoolWhenExhausted(final boolean bypassStatementPoolWhenExhausted) {
+        assertInitializationAllowed();
+        this.bypassStatementPoolWhenExhausted = bypassStatementPoolWhenExhausted;
+    }
+
     /**
      * Sets the connection properties passed to the JDBC driver.
      * <p>
@@ -819,6 +856,8 @@ public class DriverAdapterCPDS implements ConnectionPoolDataSource, Referenceabl
         builder.append(loginTimeout);
         builder.append(", poolPreparedStatements=");
         builder.append(poolPreparedStatements);
+        builder.append(", bypassStatementPoolWhenExhausted=");
+        builder.append(bypassStatementPoolWhenExhausted);
         builder.append(", maxIdle=");
         builder.append(maxIdle);
         builder.append(", timeBetweenEvictionRunsMillis=");
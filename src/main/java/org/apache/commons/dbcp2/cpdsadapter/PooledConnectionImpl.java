@@ -22,9 +22,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.sql.ConnectionEvent;
 import javax.sql.ConnectionEventListener;
@@ -38,6 +36,7 @@ import org.apache.commons.dbcp2.PStmtKey;
 import org.apache.commons.dbcp2.PoolableCallableStatement;
 import org.apache.commons.dbcp2.PoolablePreparedStatement;
 import org.apache.commons.dbcp2.PoolingConnection.StatementType;
+import org.apache.commons.dbcp2.StatementPoolBorrower;
 import org.apache.commons.dbcp2.Utils;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
@@ -70,14 +69,14 @@ final class PooledConnectionImpl
     private Connection logicalConnection;
 
     /**
-     * ConnectionEventListeners.
+     * ConnectionEventListeners, copied on write so events are dispatched to a snapshot without locking.
      */
-    private final List<ConnectionEventListener> eventListeners;
+    private final CopyOnWriteArrayList<ConnectionEventListener> eventListeners = new CopyOnWriteArrayList<>();
 
     /**
-     * StatementEventListeners.
+     * StatementEventListeners, copied on write so events are dispatched to a snapshot without locking.
      */
-    private final List<StatementEventListener> statementEventListeners = Collections.synchronizedList(new ArrayList<>());
+    private final CopyOnWriteArrayList<StatementEventListener> statementEventListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Flag set to true, once {@link #close()} is called.
@@ -87,11 +86,37 @@ final class PooledConnectionImpl
     /** My pool of {@link PreparedStatement}s. */
     private KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> stmtPool;
 
+    /** Borrows from the statement pool, counting hits and misses. */
+    private final StatementPoolBorrower statementPoolBorrower = new StatementPoolBorrower("MaxPreparedStatements limit reached");
+
     /**
      * Controls access to the underlying connection.
      */
     private boolean accessToUnderlyingConnectionAllowed;
 
+    /**
+     * The session state of the physical connection as last read or set through a logical connection, {@code null}
+     * when unknown. It outlives each logical connection so that restoring unchanged defaults makes no driver call.
+     */
+    private volatile Boolean cachedAutoCommit;
+
+    private volatile Boolean cachedReadOnly;
+
+    private volatile Integer cachedTransactionIsolation;
+
+    /**
+     * The catalog and schema statement keys are made with, valid while the matching known flag is set. Forgotten
+     * whenever a logical connection is handed out, since SQL such as {@code USE} may have changed them, and not used
+     * at all when the logical connection does not cache state.
+     */
+    private volatile String cachedCatalog;
+
+    private volatile boolean cachedCatalogKnown;
+
+    private volatile String cachedSchema;
+
+    private volatile boolean cachedSchemaKnown;
+
     /**
      * Wraps a real connection.
      *
@@ -105,7 +130,6 @@ final class PooledConnectionImpl
         } else {
             this.delegatingConnection = new DelegatingConnection<>(connection);
         }
-        eventListeners = Collections.synchronizedList(new ArrayList<>());
         closed = false;
     }
 
@@ -125,16 +149,12 @@ final class PooledConnectionImpl
      */
     @Override
     public void addConnectionEventListener(final ConnectionEventListener listener) {
-        if (!eventListeners.contains(listener)) {
-            eventListeners.add(listener);
-        }
+        eventListeners.addIfAbsent(listener);
     }
 
     @Override
     public void addStatementEventListener(final StatementEventListener listener) {
-        if (!statementEventListeners.contains(listener)) {
-            statementEventListeners.add(listener);
-        }
+        statementEventListeners.addIfAbsent(listener);
     }
 
     /**
@@ -146,6 +166,26 @@ final class PooledConnectionImpl
         }
     }
 
+    void clearCachedCatalog() {
+        cachedCatalogKnown = false;
+    }
+
+    void clearCachedSchema() {
+        cachedSchemaKnown = false;
+    }
+
+    /**
+     * Forgets the cached session state, for when the physical connection may have been changed behind our back.
+     */
+    void clearCachedState() {
+        cachedAutoCommit = null;
+        cachedReadOnly = null;
+        cachedTransactionIsolation = null;
+        clearCachedCatalog();
+        clearCachedSchema();
+    }
+
+
     /**
      * Closes the physical connection and marks this {@link PooledConnection} so that it may not be used to
      * generate any more logical {@link Connection}s.
@@ -361,12 +401,34 @@ final class PooledConnectionImpl
         }
     }
 
+    Boolean getCachedAutoCommit() {
+        return cachedAutoCommit;
+    }
+
+    Boolean getCachedReadOnly() {
+        return cachedReadOnly;
+    }
+
+    Integer getCachedTransactionIsolation() {
+        return cachedTransactionIsolation;
+    }
+
     private String getCatalogOrNull() {
+        final boolean cacheState = isCacheState();
+        if (cacheState && cachedCatalogKnown) {
+            return cachedCatalog;
+        }
+        final String catalog;
         try {
-            return connection == null ? null : connection.getCatalog();
+            catalog = connection == null ? null : connection.getCatalog();
         } catch (final SQLException e) {
             return null;
         }
+        if (cacheState) {
+            cachedCatalog = catalog;
+            cachedCatalogKnown = true;
+        }
+        return catalog;
     }
 
     /**
@@ -386,6 +448,9 @@ final class PooledConnectionImpl
             throw new SQLException("PooledConnection was reused, without its previous Connection being closed.");
         }
 
+        // the previous borrower may have changed the catalog or schema through SQL
+        clearCachedCatalog();
+        clearCachedSchema();
         // the spec requires that this return a new Connection instance.
         logicalConnection = new ConnectionImpl(this, connection, isAccessToUnderlyingConnectionAllowed());
         return logicalConnection;
@@ -397,11 +462,53 @@ final class PooledConnectionImpl
     }
 
     private String getSchemaOrNull() {
+        final boolean cacheState = isCacheState();
+        if (cacheState && cachedSchemaKnown) {
+            return cachedSchema;
+        }
+        final String schema;
         try {
-            return connection == null ? null : Jdbc41Bridge.getSchema(connection);
+            schema = connection == null ? null : Jdbc41Bridge.getSchema(connection);
         } catch (final SQLException e) {
             return null;
         }
+        if (cacheState) {
+            cachedSchema = schema;
+            cachedSchemaKnown = true;
+        }
+        return schema;
+    }
+
+    /**
+     * Gets the number of statement requests served by a statement that was already in the pool.
+     *
+     * @return statement pool hit count
+     * @since 2.15.0
+     */
+    public long getStatementPoolHitCount() {
+        return statementPoolBorrower.getHitCount();
+    }
+
+    /**
+     * Gets the fraction of statement requests served by a statement that was already in the pool, or 0 if there
+     * have been no requests.
+     *
+     * @return statement pool hit ratio between 0 and 1
+     * @since 2.15.0
+     */
+    public double getStatementPoolHitRatio() {
+        return statementPoolBorrower.getHitRatio();
+    }
+
+    /**
+     * Gets the number of statement requests that had to prepare a new statement, including statements that bypassed
+     * an exhausted pool.
+     *
+     * @return statement pool miss count
+     * @since 2.15.0
+     */
+    public long getStatementPoolMissCount() {
+        return statementPoolBorrower.getMissCount();
     }
 
     /**
@@ -413,6 +520,15 @@ final class PooledConnectionImpl
         return this.accessToUnderlyingConnectionAllowed;
     }
 
+    /**
+     * Tests whether the current logical connection caches session state, which the catalog and schema of statement
+     * keys follow.
+     */
+    private boolean isCacheState() {
+        final Connection logical = logicalConnection;
+        return logical instanceof DelegatingConnection && ((DelegatingConnection<?>) logical).getCacheState();
+    }
+
     /**
      * My {@link KeyedPooledObjectFactory} method for creating {@link PreparedStatement}s.
      *
@@ -425,6 +541,7 @@ final class PooledConnectionImpl
         if (key == null) {
             throw new IllegalArgumentException("Prepared statement key is null or invalid.");
         }
+        statementPoolBorrower.statementCreated();
         if (key.getStmtType() == StatementType.PREPARED_STATEMENT) {
             final PreparedStatement statement = (PreparedStatement) key.createStatement(connection);
             @SuppressWarnings({"rawtypes", "unchecked" }) // Unable to find way to avoid this
@@ -443,8 +560,11 @@ final class PooledConnectionImpl
      * Sends a connectionClosed event.
      */
     void notifyListeners() {
+        if (eventListeners.isEmpty()) {
+            return;
+        }
         final ConnectionEvent event = new ConnectionEvent(this);
-        new ArrayList<>(eventListeners).forEach(listener -> listener.connectionClosed(event));
+        eventListeners.forEach(listener -> listener.connectionClosed(event));
     }
 
     /**
@@ -481,13 +601,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareCall(sql);
         }
-        try {
-            return (CallableStatement) stmtPool.borrowObject(createKey(sql, StatementType.CALLABLE_STATEMENT));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareCall from pool failed", e);
-        }
+        return (CallableStatement) prepareStatement(createKey(sql, StatementType.CALLABLE_STATEMENT));
     }
 
     /**
@@ -515,14 +629,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareCall(sql, resultSetType, resultSetConcurrency);
         }
-        try {
-            return (CallableStatement) stmtPool.borrowObject(
-                    createKey(sql, resultSetType, resultSetConcurrency, StatementType.CALLABLE_STATEMENT));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareCall from pool failed", e);
-        }
+        return (CallableStatement) prepareStatement(createKey(sql, resultSetType, resultSetConcurrency, StatementType.CALLABLE_STATEMENT));
     }
 
     /**
@@ -553,14 +660,16 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
         }
-        try {
-            return (CallableStatement) stmtPool.borrowObject(createKey(sql, resultSetType, resultSetConcurrency,
-                    resultSetHoldability, StatementType.CALLABLE_STATEMENT));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareCall from pool failed", e);
-        }
+        return (CallableStatement) prepareStatement(createKey(sql, resultSetType, resultSetConcurrency, resultSetHoldability,
+                StatementType.CALLABLE_STATEMENT));
+    }
+
+    /**
+     * Borrows a statement from my pool, counting whether it was already there, or prepares an unpooled one if the pool
+     * is exhausted and may be bypassed.
+     */
+    private PreparedStatement prepareStatement(final PStmtKey key) throws SQLException {
+        return statementPoolBorrower.borrow(stmtPool, key, this::prepareUnpooledStatement);
     }
 
     /**
@@ -576,13 +685,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareStatement(sql);
         }
-        try {
-            return stmtPool.borrowObject(createKey(sql));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return prepareStatement(createKey(sql));
     }
 
     /**
@@ -603,13 +706,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareStatement(sql, autoGeneratedKeys);
         }
-        try {
-            return stmtPool.borrowObject(createKey(sql, autoGeneratedKeys));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return prepareStatement(createKey(sql, autoGeneratedKeys));
     }
 
     /**
@@ -636,13 +733,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareStatement(sql, resultSetType, resultSetConcurrency);
         }
-        try {
-            return stmtPool.borrowObject(createKey(sql, resultSetType, resultSetConcurrency));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return prepareStatement(createKey(sql, resultSetType, resultSetConcurrency));
     }
 
     @SuppressWarnings("resource") // getRawConnection() does not allocate
@@ -651,13 +742,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
         }
-        try {
-            return stmtPool.borrowObject(createKey(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return prepareStatement(createKey(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
     }
 
     @SuppressWarnings("resource") // getRawConnection() does not allocate
@@ -665,13 +750,7 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareStatement(sql, columnIndexes);
         }
-        try {
-            return stmtPool.borrowObject(createKey(sql, columnIndexes));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return prepareStatement(createKey(sql, columnIndexes));
     }
 
     @SuppressWarnings("resource") // getRawConnection() does not allocate
@@ -679,13 +758,12 @@ final class PooledConnectionImpl
         if (stmtPool == null) {
             return getRawConnection().prepareStatement(sql, columnNames);
         }
-        try {
-            return stmtPool.borrowObject(createKey(sql, columnNames));
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final Exception e) {
-            throw new SQLException("Borrow prepareStatement from pool failed", e);
-        }
+        return prepareStatement(createKey(sql, columnNames));
+    }
+
+    @SuppressWarnings("resource") // getRawConnection() does not allocate
+    private PreparedStatement prepareUnpooledStatement(final PStmtKey key) throws SQLException {
+        return (PreparedStatement) key.createStatement(getRawConnection());
     }
 
     /**
@@ -712,6 +790,29 @@ final class PooledConnectionImpl
         this.accessToUnderlyingConnectionAllowed = allow;
     }
 
+    /**
+     * Sets whether a statement request that finds every pooled statement in use gets an unpooled statement instead of
+     * failing.
+     *
+     * @param bypassStatementPoolWhenExhausted bypass or not
+     * @since 2.15.0
+     */
+    public void setBypassStatementPoolWhenExhausted(final boolean bypassStatementPoolWhenExhausted) {
+        statementPoolBorrower.setBypassWhenExhausted(bypassStatementPoolWhenExhausted);
+    }
+
+    void setCachedAutoCommit(final Boolean autoCommit) {
+        cachedAutoCommit = autoCommit;
+    }
+
+    void setCachedReadOnly(final Boolean readOnly) {
+        cachedReadOnly = readOnly;
+    }
+
+    void setCachedTransactionIsolation(final Integer transactionIsolation) {
+        cachedTransactionIsolation = transactionIsolation;
+    }
+
     public void setStatementPool(final KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> statementPool) {
         stmtPool = statementPool;
     }
@@ -18,10 +18,11 @@
 package org.apache.commons.dbcp2.datasources;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +54,7 @@ class AbstractConnectionFactory {
     protected final Set<PooledConnection> validatingSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
     protected final String validationQuery;
     protected final Duration validationQueryTimeoutDuration;
+    protected volatile Duration validationSkipWindow = Duration.ZERO;
 
     AbstractConnectionFactory(final ConnectionPoolDataSource cpds, final String validationQuery,
             final Duration validationQueryTimeoutDuration, final boolean rollbackAfterValidation) {
@@ -62,6 +64,19 @@ class AbstractConnectionFactory {
         this.rollbackAfterValidation = rollbackAfterValidation;
     }
 
+    /**
+     * Tests whether a connection passed validation within the {@link #setValidationSkipWindow(Duration) validation
+     * skip window}. Returning a connection to the pool proves nothing about its health, so only validations count.
+     */
+    private boolean isRecentlyValidated(final PooledObject<PooledConnectionAndInfo> pooledObject) {
+        final Duration window = validationSkipWindow;
+        if (window.isNegative() || window.isZero()) {
+            return false;
+        }
+        final Instant validated = pooledObject.getObject().getLastValidatedInstant();
+        return validated != null && Duration.between(validated, Instant.now()).compareTo(window) < 0;
+    }
+
     /**
      * Sets the maximum lifetime of a connection after which the connection will always fail activation,
      * passivation and validation.
@@ -74,6 +89,18 @@ class AbstractConnectionFactory {
         this.maxConnDuration = duration;
     }
 
+    /**
+     * Sets the duration during which a connection that passed validation is considered valid without validating it
+     * again.
+     *
+     * @param validationSkipWindow
+     *            A value of zero or less validates connections every time, which is the default.
+     * @since 2.15.0
+     */
+    void setValidationSkipWindow(final Duration validationSkipWindow) {
+        this.validationSkipWindow = validationSkipWindow == null ? Duration.ZERO : validationSkipWindow;
+    }
+
     /**
      * Converts a duration to seconds where a duration less than one second becomes 1 second.
      *
@@ -99,6 +126,9 @@ class AbstractConnectionFactory {
         } catch (final Exception e) {
             return false;
         }
+        if (isRecentlyValidated(pooledObject)) {
+            return true;
+        }
         boolean valid = false;
         final PooledConnection pooledConn = pooledObject.getObject().getPooledConnection();
         Connection conn = null;
@@ -117,30 +147,31 @@ class AbstractConnectionFactory {
                     valid = false;
                 }
             } else {
-                Statement stmt = null;
-                ResultSet rset = null;
                 try {
                     conn = pooledConn.getConnection();
-                    stmt = conn.createStatement();
-                    if (timeoutSeconds > 0) {
-                        stmt.setQueryTimeout(timeoutSeconds);
+                    // Prepared, so that a pooled connection caching statements reuses it across validations
+                    try (PreparedStatement stmt = conn.prepareStatement(validationQuery)) {
+                        if (timeoutSeconds > 0) {
+                            stmt.setQueryTimeout(timeoutSeconds);
+                        }
+                        try (ResultSet rset = stmt.executeQuery()) {
+                            valid = rset.next();
+                        }
                     }
-                    rset = stmt.executeQuery(validationQuery);
-                    valid = rset.next();
                     if (rollbackAfterValidation) {
                         conn.rollback();
                     }
                 } catch (final Exception e) {
                     valid = false;
-                } finally {
-                    Utils.closeQuietly((AutoCloseable) rset);
-                    Utils.closeQuietly((AutoCloseable) stmt);
                 }
             }
         } finally {
             Utils.closeQuietly((AutoCloseable) conn);
             validatingSet.remove(pooledConn);
         }
+        if (valid) {
+            pooledObject.getObject().setLastValidatedInstant(Instant.now());
+        }
         return valid;
     }
 
@@ -19,6 +19,7 @@ package org.apache.commons.dbcp2.datasources;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.Objects;
 
 import javax.sql.ConnectionEvent;
 import javax.sql.ConnectionEventListener;
@@ -41,8 +42,9 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
 
     private static final String NO_KEY_MESSAGE = "close() was called on a Connection, but I have no record of the underlying PooledConnection.";
 
+    private volatile ConnectionBudget budget;
     private ObjectPool<PooledConnectionAndInfo> pool;
-    private UserPassKey userPassKey;
+    private volatile UserPassKey userPassKey;
 
     /**
      * Creates a new {@link PoolableConnectionFactory}.
@@ -72,6 +74,9 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
 
     @Override
     public void activateObject(final PooledObject<PooledConnectionAndInfo> pooledObject) throws SQLException {
+        if (isStale(pooledObject.getObject())) {
+            throw new SQLException("Connection was created with a retired password.");
+        }
         validateLifetime(pooledObject);
     }
 
@@ -110,7 +115,12 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
             }
 
             try {
-                pool.returnObject(pci);
+                final ConnectionBudget budget = this.budget;
+                if (isStale(pci) || budget != null && budget.shouldYield(this)) {
+                    pool.invalidateObject(pci);
+                } else {
+                    pool.returnObject(pci);
+                }
             } catch (final Exception e) {
                 System.err.println("CLOSING DOWN CONNECTION AS IT COULD NOT BE RETURNED TO THE POOL");
                 pc.removeConnectionEventListener(this);
@@ -158,8 +168,15 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
     private void doDestroyObject(final PooledConnectionAndInfo pci) throws SQLException {
         final PooledConnection pc = pci.getPooledConnection();
         pc.removeConnectionEventListener(this);
-        pcMap.remove(pc);
-        pc.close();
+        final boolean removed = pcMap.remove(pc) != null;
+        try {
+            pc.close();
+        } finally {
+            final ConnectionBudget budget = this.budget;
+            if (removed && budget != null) {
+                budget.release();
+            }
+        }
     }
 
     /**
@@ -201,7 +218,39 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
     }
 
     @Override
-    public synchronized PooledObject<PooledConnectionAndInfo> makeObject() throws SQLException {
+    public boolean isCurrentPassword(final String userName, final String password) {
+        return Objects.equals(userPassKey.getPassword(), password);
+    }
+
+    /**
+     * Tests whether a connection was created before the last password change, which replaces the credentials key.
+     */
+    private boolean isStale(final PooledConnectionAndInfo pci) {
+        return pci.getUserPassKey() != userPassKey;
+    }
+
+    @Override
+    public PooledObject<PooledConnectionAndInfo> makeObject() throws SQLException {
+        final ConnectionBudget budget = this.budget;
+        if (budget == null) {
+            return createObject();
+        }
+        budget.acquire(this);
+        boolean created = false;
+        try {
+            final PooledObject<PooledConnectionAndInfo> p = createObject();
+            created = true;
+            return p;
+        } finally {
+            if (!created) {
+                budget.release();
+            }
+        }
+    }
+
+    private PooledObject<PooledConnectionAndInfo> createObject() throws SQLException {
+        // Connections are created concurrently, read the credentials once
+        final UserPassKey userPassKey = this.userPassKey;
         PooledConnection pc = null;
         if (userPassKey.getUserName() == null) {
             pc = cpds.getPooledConnection();
@@ -224,8 +273,30 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
         validateLifetime(p);
     }
 
+    @Override
+    public void rotatePassword(final String userName, final char[] password) throws SQLException {
+        setPassword(password);
+        try {
+            pool.clear(); // every idle connection predates the new password
+        } catch (final Exception ex) {
+            throw new SQLException("Error clearing connection pool", ex);
+        }
+    }
+
+    /**
+     * Sets the budget limiting the connections of all the pools of a data source.
+     *
+     * @param budget
+     *            the budget, or null for no limit
+     * @since 2.15.0
+     */
+    void setConnectionBudget(final ConnectionBudget budget) {
+        this.budget = budget;
+    }
+
     /**
-     * Sets the database password used when creating new connections.
+     * Sets the database password used when creating new connections. Connections created with an earlier password
+     * are closed instead of being activated or returned to the pool.
      *
      * @param userPassword
      *            new password
@@ -236,7 +307,8 @@ final class CPDSConnectionFactory extends AbstractConnectionFactory
     }
 
     /**
-     * Sets the database password used when creating new connections.
+     * Sets the database password used when creating new connections. Connections created with an earlier password
+     * are closed instead of being activated or returned to the pool.
      *
      * @param userPassword
      *            new password
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2.datasources;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.pool2.ObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * Limits the number of physical connections held by all the per user pools of a {@link PerUserPoolDataSource}.
+ * <p>
+ * A pool takes a permit for each connection it creates and gives it back when the connection is destroyed. Permits
+ * are handed out in arrival order. When none is left, the idle connections of the pool holding the most connections
+ * above its fair share are closed, and a pool above its fair share closes returned connections instead of keeping
+ * them idle while others wait, so that a burst from one user cannot starve the others.
+ * </p>
+ *
+ * @since 2.15.0
+ */
+final class ConnectionBudget {
+
+    private static int getNumTotal(final CPDSConnectionFactory factory) {
+        final ObjectPool<PooledConnectionAndInfo> pool = factory.getPool();
+        return pool.getNumActive() + pool.getNumIdle();
+    }
+
+    private final Set<CPDSConnectionFactory> factories = ConcurrentHashMap.newKeySet();
+
+    private final int maxTotal;
+
+    private final Semaphore permits;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param maxTotal The maximum number of connections across all pools.
+     */
+    ConnectionBudget(final int maxTotal) {
+        this.maxTotal = maxTotal;
+        this.permits = new Semaphore(maxTotal, true);
+    }
+
+    /**
+     * Takes a permit to create a connection for the given pool, waiting up to the pool's maximum wait duration.
+     *
+     * @param factory The factory of the pool creating a connection.
+     * @throws SQLTransientConnectionException if no permit became available in time.
+     */
+    void acquire(final CPDSConnectionFactory factory) throws SQLTransientConnectionException {
+        try {
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            reclaim(factory);
+            boolean blockWhenExhausted = true;
+            Duration maxWait = Duration.ZERO;
+            final ObjectPool<PooledConnectionAndInfo> pool = factory.getPool();
+            if (pool instanceof GenericObjectPool) {
+                blockWhenExhausted = ((GenericObjectPool<?>) pool).getBlockWhenExhausted();
+                maxWait = ((GenericObjectPool<?>) pool).getMaxWaitDuration();
+            }
+            if (blockWhenExhausted && maxWait.isNegative()) {
+                permits.acquire();
+                return;
+            }
+            if (!permits.tryAcquire(blockWhenExhausted ? maxWait.toNanos() : 0, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("All " + maxTotal + " connections of the data source are in use");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection of the data source", e);
+        }
+    }
+
+    /**
+     * Gets the number of connections a pool may hold while others are waiting.
+     *
+     * @return The fair share of each pool, at least 1.
+     */
+    int getFairShare() {
+        return Math.max(1, maxTotal / Math.max(1, factories.size()));
+    }
+
+    /**
+     * Gets the maximum number of connections across all pools.
+     *
+     * @return The maximum number of connections across all pools.
+     */
+    int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Gets the number of connections that can still be created.
+     *
+     * @return The number of available permits.
+     */
+    int getNumAvailable() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Closes the idle connections of the pool holding the most connections above its fair share, other than the given
+     * one.
+     */
+    private void reclaim(final CPDSConnectionFactory requester) {
+        final int fairShare = getFairShare();
+        CPDSConnectionFactory victim = null;
+        int victimTotal = fairShare;
+        for (final CPDSConnectionFactory factory : factories) {
+            if (factory != requester && factory.getPool().getNumIdle() > 0) {
+                final int total = getNumTotal(factory);
+                if (total > victimTotal) {
+                    victim = factory;
+                    victimTotal = total;
+                }
+            }
+        }
+        if (victim != null) {
+            try {
+                victim.getPool().clear();
+            } catch (final Exception ignored) {
+                // the victim's connections are released when they are destroyed anyway.
+            }
+        }
+    }
+
+    /**
+     * Registers a pool with this budget.
+     *
+     * @param factory The factory of the pool.
+     */
+    void register(final CPDSConnectionFactory factory) {
+        factories.add(factory);
+    }
+
+    /**
+     * Gives back the permit of a destroyed connection.
+     */
+    void release() {
+        permits.release();
+    }
+
+    /**
+     * Tests whether a connection returned to the given pool should be closed rather than kept idle, because others
+     * are waiting and the pool holds more than its fair share.
+     *
+     * @param factory The factory of the pool.
+     * @return Whether the returned connection should be closed.
+     */
+    boolean shouldYield(final CPDSConnectionFactory factory) {
+        return permits.hasQueuedThreads() && getNumTotal(factory) > getFairShare();
+    }
+
+    /**
+     * Unregisters a pool from this budget.
+     *
+     * @param factory The factory of the pool.
+     */
+    void unregister(final CPDSConnectionFactory factory) {
+        factories.remove(factory);
+    }
+}
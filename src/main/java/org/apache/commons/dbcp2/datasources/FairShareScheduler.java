@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2.datasources;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Schedules the borrowers of a {@link SharedPoolDataSource} fairly across users once the shared pool is exhausted.
+ * <p>
+ * Each borrow takes a slot out of the pool's maximum total before it reaches the pool, and gives it back when the
+ * connection is returned or destroyed. A borrower takes a free slot at once if no one of its user is waiting. Slots
+ * given back while borrowers wait go first to the users holding fewer than their guaranteed minimum, then to the
+ * waiting users in weighted round-robin order, so that one busy user cannot take every slot from the others.
+ * </p>
+ * <p>
+ * A user is tracked, wait statistics included, only while it holds slots or waits for one.
+ * </p>
+ *
+ * @since 2.15.0
+ */
+final class FairShareScheduler {
+
+    /**
+     * Tracks the slots, waiters and wait statistics of one user.
+     */
+    private static final class UserState {
+
+        private final String userName;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private int active;
+        private int credit;
+        private long waitCount;
+        private long waitNanos;
+        private long maxWaitNanos;
+
+        private UserState(final String userName) {
+            this.userName = userName;
+        }
+    }
+
+    /**
+     * A borrower waiting for a slot.
+     */
+    private static final class Waiter {
+
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(final Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    private final Map<PooledConnectionAndInfo, UserState> leases = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxTotalPerUser;
+    private final int minTotalPerUser;
+
+    /**
+     * Users with waiters, in round-robin order.
+     */
+    private final ArrayDeque<UserState> ring = new ArrayDeque<>();
+    private final Map<String, UserState> users = new HashMap<>();
+    private final ToIntFunction<String> weights;
+    private int available;
+    private boolean closed;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param maxTotal The number of slots, the maximum total of the shared pool.
+     * @param maxTotalPerUser The maximum number of slots of a user, negative for no limit.
+     * @param minTotalPerUser The number of slots guaranteed to each waiting user.
+     * @param weights Gets the round-robin weight of a user, values below 1 count as 1.
+     */
+    FairShareScheduler(final int maxTotal, final int maxTotalPerUser, final int minTotalPerUser, final ToIntFunction<String> weights) {
+        this.available = maxTotal;
+        this.maxTotalPerUser = maxTotalPerUser;
+        this.minTotalPerUser = minTotalPerUser;
+        this.weights = weights;
+    }
+
+    /**
+     * Takes a slot for the given user, waiting if none is free.
+     *
+     * @param userName The user name, may be null.
+     * @param maxWait The maximum duration to wait, negative to wait indefinitely.
+     * @param blockWhenExhausted Whether to wait at all.
+     * @return The part of {@code maxWait} left after waiting for the slot, negative to wait indefinitely.
+     * @throws SQLException if no slot was granted in time, the thread was interrupted or the scheduler is closed.
+     */
+    Duration acquire(final String userName, final Duration maxWait, final boolean blockWhenExhausted) throws SQLException {
+        final long startNanos = System.nanoTime();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new SQLException("Pool closed");
+            }
+            final UserState user = users.computeIfAbsent(userName, UserState::new);
+            // Users still waiting while slots are free are at their own limit
+            if (available > 0 && user.waiters.isEmpty() && isUnderLimit(user)) {
+                grant(user);
+                recordWait(user, 0);
+                return remaining(maxWait, startNanos);
+            }
+            if (!blockWhenExhausted) {
+                removeIfIdle(user);
+                throw new SQLTransientConnectionException("No connection available for user " + userName);
+            }
+            final Waiter waiter = new Waiter(lock.newCondition());
+            user.waiters.addLast(waiter);
+            if (user.waiters.size() == 1) {
+                ring.addLast(user);
+            }
+            long remainingNanos = maxWait.toNanos();
+            try {
+                while (!waiter.granted) {
+                    if (closed) {
+                        removeWaiter(user, waiter);
+                        throw new SQLException("Pool closed while waiting for a connection for user " + userName);
+                    }
+                    if (maxWait.isNegative()) {
+                        waiter.condition.await();
+                    } else if (remainingNanos <= 0) {
+                        recordWait(user, System.nanoTime() - startNanos);
+                        removeWaiter(user, waiter);
+                        throw new SQLTransientConnectionException("Timeout waiting for a connection for user " + userName);
+                    } else {
+                        remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                    }
+                }
+            } catch (final InterruptedException e) {
+                if (waiter.granted) {
+                    giveBack(user);
+                } else {
+                    removeWaiter(user, waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a connection for user " + userName, e);
+            }
+            recordWait(user, System.nanoTime() - startNanos);
+            return remaining(maxWait, startNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a slot of the given user for which no connection could be borrowed.
+     *
+     * @param userName The user name, may be null.
+     */
+    void cancel(final String userName) {
+        giveBack(getUser(userName));
+    }
+
+    /**
+     * Closes this scheduler: borrowers waiting for a slot and later borrowers fail with an {@link SQLException}.
+     * Slots still held are given back as usual.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (final UserState user : ring) {
+                user.waiters.forEach(waiter -> waiter.condition.signal());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands free slots to waiting users: first up to their guaranteed minimum, then in weighted round-robin order.
+     */
+    private void dispatch() {
+        if (minTotalPerUser > 0) {
+            for (final UserState user : ring) {
+                while (available > 0 && user.active < minTotalPerUser && !user.waiters.isEmpty() && isUnderLimit(user)) {
+                    grantFirstWaiter(user);
+                }
+            }
+        }
+        int skipped = 0;
+        while (available > 0 && !ring.isEmpty() && skipped < ring.size()) {
+            final UserState user = ring.peekFirst();
+            if (user.waiters.isEmpty()) {
+                ring.pollFirst();
+                user.credit = 0;
+                continue;
+            }
+            if (!isUnderLimit(user)) {
+                ring.addLast(ring.pollFirst());
+                skipped++;
+                continue;
+            }
+            skipped = 0;
+            if (user.credit <= 0) {
+                user.credit = Math.max(1, weights.applyAsInt(user.userName));
+            }
+            grantFirstWaiter(user);
+            if (user.waiters.isEmpty()) {
+                ring.pollFirst();
+                user.credit = 0;
+            } else if (--user.credit <= 0) {
+                ring.addLast(ring.pollFirst());
+            }
+        }
+    }
+
+    /**
+     * Gets the longest duration a borrower of the given user waited for a slot.
+     *
+     * @param userName The user name, may be null.
+     * @return The longest wait, zero if the user never borrowed.
+     */
+    Duration getMaxBorrowWaitDuration(final String userName) {
+        lock.lock();
+        try {
+            final UserState user = users.get(userName);
+            return user == null ? Duration.ZERO : Duration.ofNanos(user.maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the mean duration borrowers of the given user waited for a slot.
+     *
+     * @param userName The user name, may be null.
+     * @return The mean wait, zero if the user never borrowed.
+     */
+    Duration getMeanBorrowWaitDuration(final String userName) {
+        lock.lock();
+        try {
+            final UserState user = users.get(userName);
+            return user == null || user.waitCount == 0 ? Duration.ZERO : Duration.ofNanos(user.waitNanos / user.waitCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserState getUser(final String userName) {
+        lock.lock();
+        try {
+            return users.get(userName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void giveBack(final UserState user) {
+        lock.lock();
+        try {
+            user.active--;
+            available++;
+            dispatch();
+            removeIfIdle(user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void grant(final UserState user) {
+        user.active++;
+        available--;
+    }
+
+    private void grantFirstWaiter(final UserState user) {
+        final Waiter waiter = user.waiters.pollFirst();
+        waiter.granted = true;
+        grant(user);
+        waiter.condition.signal();
+    }
+
+    private boolean isUnderLimit(final UserState user) {
+        return maxTotalPerUser < 0 || user.active < maxTotalPerUser;
+    }
+
+    /**
+     * Binds the slot of a borrow to the borrowed connection.
+     *
+     * @param userName The user name, may be null.
+     * @param info The borrowed connection.
+     */
+    void lease(final String userName, final PooledConnectionAndInfo info) {
+        leases.put(info, getUser(userName));
+    }
+
+    private void recordWait(final UserState user, final long nanos) {
+        user.waitCount++;
+        user.waitNanos += nanos;
+        user.maxWaitNanos = Math.max(user.maxWaitNanos, nanos);
+    }
+
+    /**
+     * Gives back the slot of a connection that was returned to the pool or destroyed. Does nothing if the connection
+     * holds no slot.
+     *
+     * @param info The connection.
+     */
+    void release(final PooledConnectionAndInfo info) {
+        final UserState user = leases.remove(info);
+        if (user != null) {
+            giveBack(user);
+        }
+    }
+
+    private Duration remaining(final Duration maxWait, final long startNanos) {
+        return maxWait.isNegative() ? maxWait : Duration.ofNanos(Math.max(0, maxWait.toNanos() - (System.nanoTime() - startNanos)));
+    }
+
+    /**
+     * Stops tracking a user that holds no slot and waits for none.
+     */
+    private void removeIfIdle(final UserState user) {
+        if (user.active == 0 && user.waiters.isEmpty()) {
+            users.remove(user.userName, user);
+        }
+    }
+
+    private void removeWaiter(final UserState user, final Waiter waiter) {
+        user.waiters.remove(waiter);
+        if (user.waiters.isEmpty()) {
+            ring.remove(user);
+            user.credit = 0;
+        }
+        removeIfIdle(user);
+    }
+}
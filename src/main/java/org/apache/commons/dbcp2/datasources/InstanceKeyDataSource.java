@@ -24,7 +24,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.time.Duration;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import javax.naming.Context;
@@ -87,6 +89,9 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
      */
     protected static final int UNKNOWN_TRANSACTIONISOLATION = -1;
 
+    /** Serializes the verification of password changes, per user. */
+    private transient volatile ConcurrentHashMap<UserPassKey, Object> passwordChangeLocks;
+
     /** Guards property setters - once true, setters throw IllegalStateException */
     private volatile boolean getConnectionCalled;
 
@@ -168,6 +173,9 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
     /** Connection factory property defaults to -1 milliseconds. */
     private Duration maxConnDuration = Duration.ofMillis(-1);
 
+    /** Connection factory property defaults to zero. */
+    private Duration validationSkipWindow = Duration.ZERO;
+
     /** Connection property defaults to false. */
     private Boolean defaultAutoCommit;
 
@@ -194,6 +202,49 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
         }
     }
 
+    /**
+     * Handles a borrowed connection created with a password other than the given one. The first borrower presenting a
+     * new password verifies it with a test connection and moves the user's connections over to it; borrowers
+     * presenting the same password meanwhile wait for that outcome instead of testing it again.
+     *
+     * @param userName The user name.
+     * @param userPassword The password given by the borrower.
+     * @param borrowed The borrowed connection, which this method takes care of.
+     * @return A connection created with the given password.
+     * @throws SQLException if the password is wrong or no connection can be borrowed.
+     */
+    private PooledConnectionAndInfo changePassword(final String userName, final String userPassword, final PooledConnectionAndInfo borrowed)
+            throws SQLException {
+        final PooledConnectionManager manager = getConnectionManager(borrowed.getUserPassKey());
+        final Object lock = getPasswordChangeLocks().computeIfAbsent(new UserPassKey(userName), k -> new Object());
+        synchronized (lock) {
+            if (!manager.isCurrentPassword(userName, userPassword)) {
+                try { // See if password has changed by attempting connection
+                    testCPDS(userName, userPassword);
+                } catch (final SQLException ex) {
+                    // Password has not changed, so refuse client, but return connection to the pool
+                    closeDueToException(borrowed);
+                    throw new SQLException("Given password did not match password used to create the PooledConnection.", ex);
+                } catch (final javax.naming.NamingException ne) {
+                    closeDueToException(borrowed);
+                    throw new SQLException("NamingException encountered connecting to database", ne);
+                }
+                // Password must have changed -> create connections with the new one and retire the others
+                manager.rotatePassword(userName, userPassword == null ? null : userPassword.toCharArray());
+            }
+        }
+        // The borrowed connection predates the change and is closed as it is returned
+        closeDueToException(borrowed);
+        for (int i = 0; i < 10; i++) { // Bound the number of retries - only needed if another change overtakes this one
+            final PooledConnectionAndInfo info = getPooledConnectionAndInfo(userName, userPassword);
+            if (Objects.equals(userPassword, info.getPassword())) {
+                return info;
+            }
+            closeDueToException(info);
+        }
+        throw new SQLException("Cannot borrow connection from pool - password change failure.");
+    }
+
     /**
      * Closes the connection pool being maintained by this datasource.
      */
@@ -252,48 +303,7 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
 
         // Password on PooledConnectionAndInfo does not match
         if (!(userPassword == null ? info.getPassword() == null : userPassword.equals(info.getPassword()))) {
-            try { // See if password has changed by attempting connection
-                testCPDS(userName, userPassword);
-            } catch (final SQLException ex) {
-                // Password has not changed, so refuse client, but return connection to the pool
-                closeDueToException(info);
-                throw new SQLException(
-                        "Given password did not match password used to create the PooledConnection.", ex);
-            } catch (final javax.naming.NamingException ne) {
-                throw new SQLException("NamingException encountered connecting to database", ne);
-            }
-            /*
-             * Password must have changed -> destroy connection and keep retrying until we get a new, good one,
-             * destroying any idle connections with the old password as we pull them from the pool.
-             */
-            final UserPassKey upkey = info.getUserPassKey();
-            final PooledConnectionManager manager = getConnectionManager(upkey);
-            // Destroy and remove from pool
-            manager.invalidate(info.getPooledConnection());
-            // Reset the password on the factory if using CPDSConnectionFactory
-            manager.setPassword(upkey.getPasswordCharArray());
-            info = null;
-            for (int i = 0; i < 10; i++) { // Bound the number of retries - only needed if bad instances return
-                try {
-                    info = getPooledConnectionAndInfo(userName, userPassword);
-                } catch (final RuntimeException | SQLException e) {
-                    closeDueToException(info);
-                    throw e;
-                } catch (final Exception e) {
-                    closeDueToException(info);
-                    throw new SQLException("Cannot borrow connection from pool", e);
-                }
-                if (info != null && userPassword != null && userPassword.equals(info.getPassword())) {
-                    break;
-                }
-                if (info != null) {
-                    manager.invalidate(info.getPooledConnection());
-                }
-                info = null;
-            }
-            if (info == null) {
-                throw new SQLException("Cannot borrow connection from pool - password change failure.");
-            }
+            info = changePassword(userName, userPassword, info);
         }
 
         final Connection connection = info.getPooledConnection().getConnection();
@@ -663,6 +673,21 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
         throw new SQLFeatureNotSupportedException();
     }
 
+    private ConcurrentHashMap<UserPassKey, Object> getPasswordChangeLocks() {
+        ConcurrentHashMap<UserPassKey, Object> locks = passwordChangeLocks;
+        if (locks == null) {
+            synchronized (this) {
+                locks = passwordChangeLocks;
+                if (locks == null) {
+                    // transient, so also created after deserialization
+                    locks = new ConcurrentHashMap<>();
+                    passwordChangeLocks = locks;
+                }
+            }
+        }
+        return locks;
+    }
+
     /**
      * This method is protected but can only be implemented in this package because PooledConnectionAndInfo is a package
      * private type.
@@ -707,6 +732,16 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
         return validationQueryTimeoutDuration;
     }
 
+    /**
+     * Gets the duration during which a connection that passed validation is not validated again.
+     *
+     * @return The validation skip window, zero or negative when validation is never skipped.
+     * @since 2.15.0
+     */
+    public Duration getValidationSkipWindow() {
+        return validationSkipWindow;
+    }
+
     /**
      * Gets the value of defaultAutoCommit, which defines the state of connections handed out from this pool. The value
      * can be changed on the Connection using Connection.setAutoCommit(boolean). The default is {@code null} which
@@ -1244,6 +1279,20 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
         this.validationQueryTimeoutDuration = Duration.ofSeconds(validationQueryTimeoutSeconds);
     }
 
+    /**
+     * Sets the duration during which a connection that passed validation is considered valid without running the
+     * validation query or {@link Connection#isValid(int)} again. Use a value less than or equal to 0 to validate
+     * connections every time, which is the default.
+     *
+     * @param validationSkipWindow
+     *            The new validation skip window.
+     * @since 2.15.0
+     */
+    public void setValidationSkipWindow(final Duration validationSkipWindow) {
+        assertInitializationAllowed();
+        this.validationSkipWindow = validationSkipWindow == null ? Duration.ZERO : validationSkipWindow;
+    }
+
     /**
      * Tests and returns whether a JNDI context can be created to lookup a ConnectionPoolDataSource to then access a PooledConnection connection.
      *
@@ -1366,6 +1415,8 @@ public abstract class InstanceKeyDataSource implements DataSource, Referenceable
         builder.append(rollbackAfterValidation);
         builder.append(", maxConnDuration=");
         builder.append(maxConnDuration);
+        builder.append(", validationSkipWindow=");
+        builder.append(validationSkipWindow);
         builder.append(", defaultAutoCommit=");
         builder.append(defaultAutoCommit);
         builder.append(", defaultTransactionIsolation=");
@@ -316,6 +316,11 @@ abstract class InstanceKeyDataSourceFactory implements ObjectFactory {
             ikds.setMaxConnLifetime(toDurationFromMillis(refAddr));
         }
 
+        refAddr = ref.get("validationSkipWindowMillis");
+        if (hasContent(refAddr)) {
+            ikds.setValidationSkipWindow(toDurationFromMillis(refAddr));
+        }
+
         // Connection properties
 
         refAddr = ref.get("defaultAutoCommit");
@@ -19,6 +19,9 @@ package org.apache.commons.dbcp2.datasources;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sql.ConnectionEvent;
 import javax.sql.ConnectionEventListener;
@@ -41,6 +44,12 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
 
     private static final String NO_KEY_MESSAGE = "close() was called on a Connection, but I have no record of the underlying PooledConnection.";
     private KeyedObjectPool<UserPassKey, PooledConnectionAndInfo> pool;
+    private volatile FairShareScheduler scheduler;
+
+    /**
+     * The credentials last verified for each user, keyed by user name; connections made with others are retired.
+     */
+    private final Map<UserPassKey, UserPassKey> currentKeys = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@code KeyedCPDSConnectionFactory}.
@@ -64,6 +73,9 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
 
     @Override
     public void activateObject(final UserPassKey ignored, final PooledObject<PooledConnectionAndInfo> pooledObject) throws SQLException {
+        if (isStale(pooledObject.getObject())) {
+            throw new SQLException("Connection was created with a retired password.");
+        }
         validateLifetime(pooledObject);
     }
 
@@ -97,7 +109,11 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
                 throw new IllegalStateException(NO_KEY_MESSAGE);
             }
             try {
-                pool.returnObject(pci.getUserPassKey(), pci);
+                if (isStale(pci)) {
+                    pool.invalidateObject(pci.getUserPassKey(), pci);
+                } else {
+                    pool.returnObject(pci.getUserPassKey(), pci);
+                }
             } catch (final Exception e) {
                 System.err.println("CLOSING DOWN CONNECTION AS IT COULD NOT BE RETURNED TO THE POOL");
                 pc.removeConnectionEventListener(this);
@@ -108,6 +124,7 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
                     e3.printStackTrace();
                 }
             }
+            releaseSlot(pci);
         }
     }
 
@@ -142,7 +159,11 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
         final PooledConnection pooledConnection = pooledObject.getObject().getPooledConnection();
         pooledConnection.removeConnectionEventListener(this);
         pcMap.remove(pooledConnection);
-        pooledConnection.close();
+        try {
+            pooledConnection.close();
+        } finally {
+            releaseSlot(pooledObject.getObject());
+        }
     }
 
     /**
@@ -175,6 +196,23 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
         }
     }
 
+    @Override
+    public boolean isCurrentPassword(final String userName, final String password) {
+        final UserPassKey current = currentKeys.get(new UserPassKey(userName));
+        return current != null && Objects.equals(current.getPassword(), password);
+    }
+
+    /**
+     * Tests whether a connection was created with a password other than the one last verified for its user.
+     */
+    private boolean isStale(final PooledConnectionAndInfo pci) {
+        if (currentKeys.isEmpty()) {
+            return false;
+        }
+        final UserPassKey current = currentKeys.get(pci.getUserPassKey());
+        return current != null && !Objects.equals(current.getPassword(), pci.getPassword());
+    }
+
     /**
      * Creates a new {@code PooledConnectionAndInfo} from the given {@code UserPassKey}.
      *
@@ -185,7 +223,7 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
      * @see org.apache.commons.pool2.KeyedPooledObjectFactory#makeObject(Object)
      */
     @Override
-    public synchronized PooledObject<PooledConnectionAndInfo> makeObject(final UserPassKey userPassKey) throws SQLException {
+    public PooledObject<PooledConnectionAndInfo> makeObject(final UserPassKey userPassKey) throws SQLException {
         PooledConnection pooledConnection = null;
         final String userName = userPassKey.getUserName();
         final String password = userPassKey.getPassword();
@@ -210,6 +248,27 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
         validateLifetime(pooledObject);
     }
 
+    /**
+     * Gives back the scheduler slot held by a connection, if any.
+     */
+    private void releaseSlot(final PooledConnectionAndInfo info) {
+        final FairShareScheduler scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.release(info);
+        }
+    }
+
+    @Override
+    public void rotatePassword(final String userName, final char[] password) throws SQLException {
+        final UserPassKey key = new UserPassKey(userName, password);
+        currentKeys.put(key, key);
+        try {
+            pool.clear(key); // every idle connection of the user predates the new password
+        } catch (final Exception ex) {
+            throw new SQLException("Error clearing connection pool", ex);
+        }
+    }
+
     /**
      * Does nothing. This factory does not cache user credentials.
      */
@@ -230,6 +289,17 @@ final class KeyedCPDSConnectionFactory extends AbstractConnectionFactory
         this.pool = pool;
     }
 
+    /**
+     * Sets the scheduler whose slots are given back when borrowed connections are returned or destroyed.
+     *
+     * @param scheduler
+     *            the scheduler, or null
+     * @since 2.15.0
+     */
+    void setScheduler(final FairShareScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
     /**
      * Validates a pooled connection.
      * <p>
@@ -20,10 +20,15 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.naming.NamingException;
@@ -57,6 +62,11 @@ import org.apache.commons.pool2.impl.GenericObjectPool;
  * for connections using the new password.
  * </p>
  *
+ * <p>
+ * The total number of connections across all users can be capped with {@link #setGlobalMaxTotal(int)}, and the pool
+ * of a user can be closed once unused for {@link #setMaxPoolIdleDuration(Duration)}.
+ * </p>
+ *
  * @since 2.0
  */
 public class PerUserPoolDataSource extends InstanceKeyDataSource {
@@ -161,9 +171,67 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
     private Map<String, Boolean> perUserDefaultReadOnly;
 
     /**
-     * Map to keep track of Pools for a given user.
+     * Holds the pool of one user. Pool creation is serialized on the holder, so that concurrent first requests for a
+     * user create a single pool without blocking requests for other users.
      */
-    private transient Map<PoolKey, PooledConnectionManager> managers = createMap();
+    private static final class ManagerHolder {
+
+        private volatile long lastUsedNanos;
+
+        private volatile CPDSConnectionFactory manager;
+
+        private volatile SessionDefaults sessionDefaults;
+
+    }
+
+    /**
+     * The connection defaults resolved for one user, so a borrow does not look them up again.
+     */
+    private static final class SessionDefaults {
+
+        private final Boolean autoCommit;
+
+        private final Boolean readOnly;
+
+        private final int transactionIsolation;
+
+        SessionDefaults(final Boolean autoCommit, final Boolean readOnly, final int transactionIsolation) {
+            this.autoCommit = autoCommit;
+            this.readOnly = readOnly;
+            this.transactionIsolation = transactionIsolation;
+        }
+
+    }
+
+    /**
+     * Map to keep track of Pools for a given user, keyed by user name.
+     */
+    private transient ConcurrentHashMap<String, ManagerHolder> managers = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the pool for a {@code null} user name, which {@link #managers} cannot key.
+     */
+    private transient ManagerHolder defaultManager = new ManagerHolder();
+
+    /**
+     * The maximum number of connections across all pools, negative for no limit.
+     */
+    private int globalMaxTotal = -1;
+
+    /**
+     * The duration after which an unused pool is closed, non-positive to keep pools open.
+     */
+    private Duration maxPoolIdleDuration = Duration.ZERO;
+
+    /**
+     * Limits the connections of all pools if {@link #globalMaxTotal} is set, created with the first pool.
+     */
+    private transient volatile ConnectionBudget budget;
+
+    /**
+     * Closes unused pools if {@link #maxPoolIdleDuration} is set, started with the first pool.
+     */
+    private transient volatile ScheduledThreadPoolExecutor poolReaper;
 
     /**
      * Constructs a new instance.
@@ -179,9 +247,9 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
      */
     @SuppressWarnings("resource") // does not allocate a pool
     public void clear() {
-        managers.values().forEach(manager -> {
+        forEachManager(manager -> {
             try {
-                getCPDSConnectionFactoryPool(manager).clear();
+                manager.getPool().clear();
             } catch (final Exception ignored) {
                 // ignore and try to close others.
             }
@@ -196,10 +264,48 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
      */
     @Override
     public void close() {
-        managers.values().forEach(manager -> Utils.closeQuietly(getCPDSConnectionFactoryPool(manager)));
+        final ScheduledThreadPoolExecutor reaper = poolReaper;
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        forEachManager(manager -> Utils.closeQuietly(manager.getPool()));
         InstanceKeyDataSourceFactory.removeInstance(getInstanceKey());
     }
 
+    /**
+     * Closes the pool held by the given holder if it has not been used for {@link #maxPoolIdleDuration} and has no
+     * active connections.
+     */
+    @SuppressWarnings("resource")
+    private void closeIfIdle(final String userName, final ManagerHolder holder, final long nowNanos, final long maxIdleNanos) {
+        final CPDSConnectionFactory manager;
+        synchronized (holder) {
+            manager = holder.manager;
+            if (manager == null || nowNanos - holder.lastUsedNanos < maxIdleNanos || manager.getPool().getNumActive() > 0) {
+                return;
+            }
+            holder.manager = null;
+            if (userName != null) {
+                managers.remove(userName, holder);
+            }
+        }
+        final ConnectionBudget budget = this.budget;
+        if (budget != null) {
+            budget.unregister(manager);
+        }
+        Utils.closeQuietly(manager.getPool());
+    }
+
+    /**
+     * Closes the pools that have not been used for {@link #maxPoolIdleDuration}.
+     */
+    private void closeIdlePools() {
+        final long nowNanos = System.nanoTime();
+        final long maxIdleNanos = maxPoolIdleDuration.toNanos();
+        closeIfIdle(null, defaultManager, nowNanos, maxIdleNanos);
+        managers.forEach((userName, holder) -> closeIfIdle(userName, holder, nowNanos, maxIdleNanos));
+    }
+
     /**
      * Converts a map with Long milliseconds values to another map with Duration values.
      */
@@ -215,6 +321,24 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
 
     }
 
+    /**
+     * Applies the given action to each registered pool.
+     *
+     * @param action The action to apply.
+     */
+    private void forEachManager(final Consumer<CPDSConnectionFactory> action) {
+        final CPDSConnectionFactory manager = defaultManager.manager;
+        if (manager != null) {
+            action.accept(manager);
+        }
+        managers.values().forEach(holder -> {
+            final CPDSConnectionFactory m = holder.manager;
+            if (m != null) {
+                action.accept(m);
+            }
+        });
+    }
+
     /**
      * Gets the user specific default value in a map for the specified user's pool.
      *
@@ -238,17 +362,42 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
 
     @Override
     protected PooledConnectionManager getConnectionManager(final UserPassKey upKey) {
-        return managers.get(getPoolKey(upKey.getUserName()));
+        return getManager(upKey.getUserName());
+    }
+
+    /**
+     * Gets the registered pool for a user without allocating or locking.
+     *
+     * @param userName The user name key, may be null.
+     * @return The pool's connection factory, or null if no pool has been registered for the user.
+     */
+    private CPDSConnectionFactory getManager(final String userName) {
+        final ManagerHolder holder = getManagerHolder(userName);
+        return holder == null ? null : holder.manager;
+    }
+
+    private ManagerHolder getManagerHolder(final String userName) {
+        return userName == null ? defaultManager : managers.get(userName);
     }
 
     /**
-     * Gets the underlying pre-allocated pool (does NOT allocate).
+     * Gets the maximum number of connections across all user pools.
      *
-     * @param manager A CPDSConnectionFactory.
-     * @return The underlying pool.
+     * @return The maximum number of connections across all user pools, negative for no limit.
+     * @since 2.15.0
      */
-    private ObjectPool<PooledConnectionAndInfo> getCPDSConnectionFactoryPool(final PooledConnectionManager manager) {
-        return ((CPDSConnectionFactory) manager).getPool();
+    public int getGlobalMaxTotal() {
+        return globalMaxTotal;
+    }
+
+    /**
+     * Gets the duration after which a user pool that has not been used is closed.
+     *
+     * @return The duration after which an unused pool is closed, non-positive if pools are kept open.
+     * @since 2.15.0
+     */
+    public Duration getMaxPoolIdleDuration() {
+        return maxPoolIdleDuration;
     }
 
     /**
@@ -269,10 +418,21 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
      */
     @SuppressWarnings("resource")
     public int getNumActive(final String userName) {
-        final ObjectPool<PooledConnectionAndInfo> pool = getPool(getPoolKey(userName));
+        final ObjectPool<PooledConnectionAndInfo> pool = getPool(userName);
         return pool == null ? 0 : pool.getNumActive();
     }
 
+    /**
+     * Gets the number of connections that can still be created within the global budget.
+     *
+     * @return The number of connections that can still be created, or -1 if there is no global budget.
+     * @since 2.15.0
+     */
+    public int getNumGlobalAvailable() {
+        final ConnectionBudget budget = this.budget;
+        return budget == null ? -1 : budget.getNumAvailable();
+    }
+
     /**
      * Gets the number of idle connections in the default pool.
      *
@@ -291,7 +451,7 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
      */
     @SuppressWarnings("resource")
     public int getNumIdle(final String userName) {
-        final ObjectPool<PooledConnectionAndInfo> pool = getPool(getPoolKey(userName));
+        final ObjectPool<PooledConnectionAndInfo> pool = getPool(userName);
         return pool == null ? 0 : pool.getNumIdle();
     }
 
@@ -573,76 +733,100 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
     }
 
     /**
-     * Returns the object pool associated with the given PoolKey.
+     * Returns the object pool associated with the given user name.
      *
-     * @param poolKey
-     *            PoolKey identifying the pool
-     * @return The GenericObjectPool pooling connections for the userName and datasource specified by the PoolKey
+     * @param userName
+     *            The user name key, may be null.
+     * @return The GenericObjectPool pooling connections for the userName, or null if none has been registered.
      */
-    private ObjectPool<PooledConnectionAndInfo> getPool(final PoolKey poolKey) {
-        final CPDSConnectionFactory mgr = (CPDSConnectionFactory) managers.get(poolKey);
+    ObjectPool<PooledConnectionAndInfo> getPool(final String userName) {
+        final CPDSConnectionFactory mgr = getManager(userName);
         return mgr == null ? null : mgr.getPool();
     }
 
+    /**
+     * Gets the pool for a user, registering a new one if none exists or if the current one is {@code stale}. Only one
+     * thread creates the pool of a given user; other users are not blocked meanwhile.
+     *
+     * @param userName The user name key, may be null.
+     * @param password The password used to create the pool.
+     * @param stale The pool to replace, or null.
+     * @return The pool's connection factory.
+     * @throws SQLException if the pool cannot be registered.
+     */
+    private CPDSConnectionFactory getOrRegisterPool(final String userName, final String password, final CPDSConnectionFactory stale)
+            throws SQLException {
+        startPoolMaintenance();
+        while (true) {
+            final ManagerHolder holder = userName == null ? defaultManager : managers.computeIfAbsent(userName, k -> new ManagerHolder());
+            synchronized (holder) {
+                if (userName != null && managers.get(userName) != holder) {
+                    // the holder was removed with its idle pool, start over
+                    continue;
+                }
+                CPDSConnectionFactory manager = holder.manager;
+                if (manager == null || manager == stale) {
+                    try {
+                        manager = registerPool(userName, password);
+                    } catch (final NamingException e) {
+                        throw new SQLException("RegisterPool failed", e);
+                    }
+                    final ConnectionBudget budget = this.budget;
+                    if (budget != null && stale != null) {
+                        budget.unregister(stale);
+                    }
+                    holder.manager = manager;
+                }
+                if (holder.sessionDefaults == null) {
+                    holder.sessionDefaults = resolveSessionDefaults(userName);
+                }
+                holder.lastUsedNanos = System.nanoTime();
+                return manager;
+            }
+        }
+    }
+
     @SuppressWarnings("resource") // does not allocate a pool
     @Override
     protected PooledConnectionAndInfo getPooledConnectionAndInfo(final String userName, final String password) throws SQLException {
-        final PoolKey key = getPoolKey(userName);
-        ObjectPool<PooledConnectionAndInfo> pool;
-        PooledConnectionManager manager;
-        synchronized (this) {
-            manager = managers.get(key);
-            if (manager == null) {
-                try {
-                    registerPool(userName, password);
-                    manager = managers.get(key);
-                } catch (final NamingException e) {
-                    throw new SQLException("RegisterPool failed", e);
-                }
-            }
-            pool = getCPDSConnectionFactoryPool(manager);
+        final ManagerHolder holder = getManagerHolder(userName);
+        CPDSConnectionFactory manager = holder == null ? null : holder.manager;
+        if (manager == null) {
+            manager = getOrRegisterPool(userName, password, null);
+        } else if (poolReaper != null) {
+            holder.lastUsedNanos = System.nanoTime();
         }
-        PooledConnectionAndInfo info = null;
-        try {
-            info = pool.borrowObject();
-        } catch (final NoSuchElementException ex) {
-            throw new SQLException("Could not retrieve connection info from pool", ex);
-        } catch (final Exception e) {
-            // See if failure is due to CPDSConnectionFactory authentication failure
+        while (true) {
+            ObjectPool<PooledConnectionAndInfo> pool = manager.getPool();
             try {
-                testCPDS(userName, password);
-            } catch (final Exception ex) {
-                throw new SQLException("Could not retrieve connection info from pool", ex);
-            }
-            // New password works, so kill the old pool, create a new one, and borrow
-            manager.closePool(userName);
-            synchronized (this) {
-                managers.remove(key);
-            }
-            try {
-                registerPool(userName, password);
-                pool = getPool(key);
-            } catch (final NamingException ne) {
-                throw new SQLException("RegisterPool failed", ne);
-            }
-            try {
-                info = pool.borrowObject();
-            } catch (final Exception ex) {
+                return pool.borrowObject();
+            } catch (final NoSuchElementException ex) {
                 throw new SQLException("Could not retrieve connection info from pool", ex);
+            } catch (final SQLTransientConnectionException ex) {
+                // the global budget is exhausted, the pool itself is fine
+                throw ex;
+            } catch (final Exception e) {
+                if (e instanceof IllegalStateException && isClosed(pool)) {
+                    // the reaper closed the pool after it was looked up, this is not an authentication failure
+                    manager = getOrRegisterPool(userName, password, manager);
+                    continue;
+                }
+                // See if failure is due to CPDSConnectionFactory authentication failure
+                try {
+                    testCPDS(userName, password);
+                } catch (final Exception ex) {
+                    throw new SQLException("Could not retrieve connection info from pool", ex);
+                }
+                // New password works, so kill the old pool, create a new one, and borrow
+                manager.closePool(userName);
+                pool = getOrRegisterPool(userName, password, manager).getPool();
+                try {
+                    return pool.borrowObject();
+                } catch (final Exception ex) {
+                    throw new SQLException("Could not retrieve connection info from pool", ex);
+                }
             }
         }
-        return info;
-    }
-
-    /**
-     * Creates a pool key from the provided parameters.
-     *
-     * @param userName
-     *            User name
-     * @return The pool key
-     */
-    private PoolKey getPoolKey(final String userName) {
-        return new PoolKey(getDataSourceName(), userName);
     }
 
     /**
@@ -655,6 +839,16 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
         return ref;
     }
 
+    /**
+     * Tests whether a pool has been closed.
+     *
+     * @param pool The pool to test.
+     * @return whether the pool has been closed.
+     */
+    private boolean isClosed(final ObjectPool<PooledConnectionAndInfo> pool) {
+        return pool instanceof GenericObjectPool && ((GenericObjectPool<PooledConnectionAndInfo>) pool).isClosed();
+    }
+
     <K, V> Map<K, V> put(Map<K, V> map, final K key, final V value) {
         if (map == null) {
             map = createMap();
@@ -673,7 +867,11 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
     @SuppressWarnings("resource")
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        this.managers = readObjectImpl().managers;
+        final PerUserPoolDataSource instance = readObjectImpl();
+        this.managers = instance.managers;
+        this.defaultManager = instance.defaultManager;
+        this.budget = instance.budget;
+        this.poolReaper = instance.poolReaper;
     }
 
     private PerUserPoolDataSource readObjectImpl() throws IOException, ClassNotFoundException {
@@ -684,7 +882,7 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
         }
     }
 
-    private synchronized void registerPool(final String userName, final String password) throws NamingException, SQLException {
+    private CPDSConnectionFactory registerPool(final String userName, final String password) throws NamingException, SQLException {
         final ConnectionPoolDataSource cpds = testCPDS(userName, password);
         // Set up the factory we will use (passing the pool associates
         // the factory with the pool, so we do not have to do so
@@ -692,6 +890,7 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
         final CPDSConnectionFactory factory = new CPDSConnectionFactory(cpds, getValidationQuery(), getValidationQueryTimeoutDuration(),
                 isRollbackAfterValidation(), userName, Utils.toCharArray(password));
         factory.setMaxConn(getMaxConnDuration());
+        factory.setValidationSkipWindow(getValidationSkipWindow());
         // Create an object pool to contain our PooledConnections
         @SuppressWarnings("resource")
         final GenericObjectPool<PooledConnectionAndInfo> pool = new GenericObjectPool<>(factory);
@@ -712,12 +911,12 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
         pool.setTestWhileIdle(getPerUserTestWhileIdle(userName));
         pool.setDurationBetweenEvictionRuns(getPerUserDurationBetweenEvictionRuns(userName));
         pool.setSwallowedExceptionListener(new SwallowedExceptionLogger(log));
-        final PoolKey poolKey = getPoolKey(userName);
-        if (managers.containsKey(poolKey)) {
-            pool.close();
-            throw new IllegalStateException("Pool already contains an entry for this user/password: " + userName);
+        final ConnectionBudget budget = this.budget;
+        if (budget != null) {
+            factory.setConnectionBudget(budget);
+            budget.register(factory);
         }
-        managers.put(poolKey, factory);
+        return factory;
     }
 
     private <K, V> Map<K, V> replaceAll(final Map<K, V> currentMap, final Map<K, V> newMap) {
@@ -729,6 +928,55 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
         return currentMap;
     }
 
+    private SessionDefaults resolveSessionDefaults(final String userName) {
+        Boolean defaultAutoCommit = isDefaultAutoCommit();
+        Boolean defaultReadOnly = isDefaultReadOnly();
+        int defaultTransactionIsolation = getDefaultTransactionIsolation();
+        if (userName != null) {
+            final Boolean userAutoCommit = getPerUserDefaultAutoCommit(userName);
+            if (userAutoCommit != null) {
+                defaultAutoCommit = userAutoCommit;
+            }
+            final Boolean userReadOnly = getPerUserDefaultReadOnly(userName);
+            if (userReadOnly != null) {
+                defaultReadOnly = userReadOnly;
+            }
+            final Integer userTransactionIsolation = getPerUserDefaultTransactionIsolation(userName);
+            if (userTransactionIsolation != null) {
+                defaultTransactionIsolation = userTransactionIsolation;
+            }
+        }
+        return new SessionDefaults(defaultAutoCommit, defaultReadOnly, defaultTransactionIsolation);
+    }
+
+    /**
+     * Sets the maximum number of connections across all user pools. When it is reached, requests wait for a
+     * connection to be closed in arrival order, and the pools holding more than an equal share of it give up their
+     * idle and returned connections first. A negative value, the default, means no limit.
+     *
+     * @param globalMaxTotal
+     *            The maximum number of connections across all user pools.
+     * @since 2.15.0
+     */
+    public void setGlobalMaxTotal(final int globalMaxTotal) {
+        assertInitializationAllowed();
+        this.globalMaxTotal = globalMaxTotal;
+    }
+
+    /**
+     * Sets the duration after which a user pool that has not been used and has no active connections is closed. The
+     * pool is created again on the next request for the user. A zero or negative value, the default, keeps pools
+     * open.
+     *
+     * @param maxPoolIdleDuration
+     *            The duration after which an unused pool is closed.
+     * @since 2.15.0
+     */
+    public void setMaxPoolIdleDuration(final Duration maxPoolIdleDuration) {
+        assertInitializationAllowed();
+        this.maxPoolIdleDuration = maxPoolIdleDuration == null ? Duration.ZERO : maxPoolIdleDuration;
+    }
+
     void setPerUserBlockWhenExhausted(final Map<String, Boolean> newMap) {
         assertInitializationAllowed();
         perUserBlockWhenExhausted = replaceAll(perUserBlockWhenExhausted, newMap);
@@ -1136,40 +1384,42 @@ public class PerUserPoolDataSource extends InstanceKeyDataSource {
 
     @Override
     protected void setupDefaults(final Connection con, final String userName) throws SQLException {
-        Boolean defaultAutoCommit = isDefaultAutoCommit();
-        if (userName != null) {
-            final Boolean userMax = getPerUserDefaultAutoCommit(userName);
-            if (userMax != null) {
-                defaultAutoCommit = userMax;
-            }
+        final ManagerHolder holder = getManagerHolder(userName);
+        SessionDefaults defaults = holder == null ? null : holder.sessionDefaults;
+        if (defaults == null) {
+            defaults = resolveSessionDefaults(userName);
         }
 
-        Boolean defaultReadOnly = isDefaultReadOnly();
-        if (userName != null) {
-            final Boolean userMax = getPerUserDefaultReadOnly(userName);
-            if (userMax != null) {
-                defaultReadOnly = userMax;
-            }
+        // The pooled connection remembers its session state, so unchanged defaults cost no driver call.
+        if (defaults.autoCommit != null && con.getAutoCommit() != defaults.autoCommit) {
+            con.setAutoCommit(defaults.autoCommit);
         }
 
-        int defaultTransactionIsolation = getDefaultTransactionIsolation();
-        if (userName != null) {
-            final Integer userMax = getPerUserDefaultTransactionIsolation(userName);
-            if (userMax != null) {
-                defaultTransactionIsolation = userMax;
-            }
+        if (defaults.transactionIsolation != UNKNOWN_TRANSACTIONISOLATION && con.getTransactionIsolation() != defaults.transactionIsolation) {
+            con.setTransactionIsolation(defaults.transactionIsolation);
         }
 
-        if (defaultAutoCommit != null && con.getAutoCommit() != defaultAutoCommit) {
-            con.setAutoCommit(defaultAutoCommit);
+        if (defaults.readOnly != null && con.isReadOnly() != defaults.readOnly) {
+            con.setReadOnly(defaults.readOnly);
         }
+    }
 
-        if (defaultTransactionIsolation != UNKNOWN_TRANSACTIONISOLATION) {
-            con.setTransactionIsolation(defaultTransactionIsolation);
+    /**
+     * Creates the global budget and starts closing unused pools, if configured and not done yet.
+     */
+    private synchronized void startPoolMaintenance() {
+        if (globalMaxTotal >= 0 && budget == null) {
+            budget = new ConnectionBudget(globalMaxTotal);
         }
-
-        if (defaultReadOnly != null && con.isReadOnly() != defaultReadOnly) {
-            con.setReadOnly(defaultReadOnly);
+        if (!maxPoolIdleDuration.isNegative() && !maxPoolIdleDuration.isZero() && poolReaper == null) {
+            final ScheduledThreadPoolExecutor reaper = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "commons-dbcp2-pool-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long periodNanos = Math.max(maxPoolIdleDuration.toNanos() / 2, 1);
+            reaper.scheduleWithFixedDelay(this::closeIdlePools, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+            poolReaper = reaper;
         }
     }
 
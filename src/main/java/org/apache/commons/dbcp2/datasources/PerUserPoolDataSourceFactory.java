@@ -55,6 +55,16 @@ public class PerUserPoolDataSourceFactory extends InstanceKeyDataSourceFactory {
             pupds.setDefaultMaxWait(Duration.ofMillis(parseInt(refAddr)));
         }
 
+        refAddr = ref.get("globalMaxTotal");
+        if (refAddr != null && refAddr.getContent() != null) {
+            pupds.setGlobalMaxTotal(parseInt(refAddr));
+        }
+
+        refAddr = ref.get("maxPoolIdleDurationMillis");
+        if (refAddr != null && refAddr.getContent() != null) {
+            pupds.setMaxPoolIdleDuration(Duration.ofMillis(parseInt(refAddr)));
+        }
+
         refAddr = ref.get("perUserDefaultAutoCommit");
         if (refAddr != null && refAddr.getContent() != null) {
             final byte[] serialized = (byte[]) refAddr.getContent();
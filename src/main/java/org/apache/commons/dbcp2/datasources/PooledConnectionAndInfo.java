@@ -16,11 +16,13 @@
  */
 package org.apache.commons.dbcp2.datasources;
 
+import java.time.Instant;
+
 import javax.sql.PooledConnection;
 
 /**
- * Immutable poolable object holding a {@link PooledConnection} along with the user name and password used to create the
- * connection.
+ * Poolable object holding a {@link PooledConnection} along with the user name and password used to create the
+ * connection. Only the time of the last successful validation changes.
  *
  * @since 2.0
  */
@@ -30,11 +32,22 @@ final class PooledConnectionAndInfo {
 
     private final UserPassKey userPassKey;
 
+    private volatile Instant lastValidatedInstant;
+
     PooledConnectionAndInfo(final PooledConnection pooledConnection, final UserPassKey userPassKey) {
         this.pooledConnection = pooledConnection;
         this.userPassKey = userPassKey;
     }
 
+    /**
+     * Gets the time of the last successful validation.
+     *
+     * @return The time of the last successful validation, or null.
+     */
+    Instant getLastValidatedInstant() {
+        return lastValidatedInstant;
+    }
+
     /**
      * Gets the value of password.
      *
@@ -65,4 +78,13 @@ final class PooledConnectionAndInfo {
     UserPassKey getUserPassKey() {
         return userPassKey;
     }
+
+    /**
+     * Sets the time of the last successful validation.
+     *
+     * @param lastValidatedInstant The time of the last successful validation.
+     */
+    void setLastValidatedInstant(final Instant lastValidatedInstant) {
+        this.lastValidatedInstant = lastValidatedInstant;
+    }
 }
@@ -48,6 +48,36 @@ interface PooledConnectionManager {
      */
     void invalidate(PooledConnection pc) throws SQLException;
 
+    /**
+     * Tests whether connections for a user are currently created with the given password.
+     *
+     * @param userName
+     *            user name.
+     * @param password
+     *            the password to test.
+     * @return whether the password is known to be current, false if unknown.
+     * @since 2.15.0
+     */
+    default boolean isCurrentPassword(final String userName, final String password) {
+        return false;
+    }
+
+    /**
+     * Makes a verified password the current one for a user: connections are created with it from now on, idle
+     * connections created with an earlier password are closed, and borrowed ones are closed when returned.
+     *
+     * @param userName
+     *            user name.
+     * @param password
+     *            the password verified for the user.
+     * @throws SQLException
+     *             if an error occurs closing idle connections.
+     * @since 2.15.0
+     */
+    default void rotatePassword(final String userName, final char[] password) throws SQLException {
+        setPassword(password);
+    }
+
     /**
      * Sets the database password used when creating connections.
      *
@@ -20,6 +20,9 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.naming.NamingException;
 import javax.naming.Reference;
@@ -28,7 +31,6 @@ import javax.sql.ConnectionPoolDataSource;
 import javax.sql.DataSource;
 
 import org.apache.commons.dbcp2.PoolableConnection;
-import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
@@ -48,6 +50,11 @@ import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
  * destroyed and new connections are created using the new password.
  * </p>
  *
+ * <p>
+ * With {@link #setFairScheduling(boolean) fair scheduling}, connections freed while the pool is exhausted are handed
+ * to the waiting users in turn rather than to the busiest one.
+ * </p>
+ *
  * @since 2.0
  */
 public class SharedPoolDataSource extends InstanceKeyDataSource {
@@ -59,16 +66,36 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
      */
     private volatile int maxTotal = GenericKeyedObjectPoolConfig.DEFAULT_MAX_TOTAL;
 
+    /**
+     * Whether borrowers are scheduled fairly across users once the pool is exhausted.
+     */
+    private boolean fairScheduling;
+
+    /**
+     * The number of connections guaranteed to each waiting user under fair scheduling.
+     */
+    private int minTotalPerUser;
+
+    /**
+     * Maps user names to their round-robin weight under fair scheduling.
+     */
+    private Map<String, Integer> perUserWeight;
+
     /**
      * Maps user credentials to pooled connection with credentials.
      */
-    private transient KeyedObjectPool<UserPassKey, PooledConnectionAndInfo> pool;
+    private transient GenericKeyedObjectPool<UserPassKey, PooledConnectionAndInfo> pool;
 
     /**
      * A {@link KeyedPooledObjectFactory} that creates {@link PoolableConnection}s.
      */
     private transient KeyedCPDSConnectionFactory factory;
 
+    /**
+     * Schedules borrowers across users if {@link #fairScheduling} is enabled.
+     */
+    private transient volatile FairShareScheduler scheduler;
+
     /**
      * Default no-argument constructor for Serialization
      */
@@ -81,6 +108,10 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
      */
     @Override
     public void close() throws SQLException {
+        final FairShareScheduler scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.close();
+        }
         if (pool != null) {
             pool.close();
         }
@@ -92,6 +123,20 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         return factory;
     }
 
+    /**
+     * Gets the longest duration a borrower of the given user waited for a connection under fair scheduling.
+     *
+     * The statistics of a user are discarded once it holds no connection and waits for none.
+     *
+     * @param userName The user name.
+     * @return The longest wait, zero if unknown.
+     * @since 2.15.0
+     */
+    public Duration getMaxBorrowWaitDuration(final String userName) {
+        final FairShareScheduler scheduler = this.scheduler;
+        return scheduler == null ? Duration.ZERO : scheduler.getMaxBorrowWaitDuration(userName);
+    }
+
     /**
      * Gets {@link GenericKeyedObjectPool#getMaxTotal()} for this pool.
      *
@@ -101,6 +146,30 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         return this.maxTotal;
     }
 
+    /**
+     * Gets the mean duration borrowers of the given user waited for a connection under fair scheduling.
+     *
+     * The statistics of a user are discarded once it holds no connection and waits for none.
+     *
+     * @param userName The user name.
+     * @return The mean wait, zero if unknown.
+     * @since 2.15.0
+     */
+    public Duration getMeanBorrowWaitDuration(final String userName) {
+        final FairShareScheduler scheduler = this.scheduler;
+        return scheduler == null ? Duration.ZERO : scheduler.getMeanBorrowWaitDuration(userName);
+    }
+
+    /**
+     * Gets the number of connections guaranteed to each waiting user under fair scheduling.
+     *
+     * @return The number of connections guaranteed to each waiting user.
+     * @since 2.15.0
+     */
+    public int getMinTotalPerUser() {
+        return minTotalPerUser;
+    }
+
     /**
      * Gets the number of active connections in the pool.
      *
@@ -119,6 +188,19 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         return pool == null ? 0 : pool.getNumIdle();
     }
 
+    /**
+     * Gets the round-robin weight of the given user under fair scheduling: a user with weight 2 is handed two freed
+     * connections for every one handed to a user with weight 1.
+     *
+     * @param userName The user name.
+     * @return The weight of the user, 1 by default.
+     * @since 2.15.0
+     */
+    public int getPerUserWeight(final String userName) {
+        final Integer weight = perUserWeight == null ? null : perUserWeight.get(userName);
+        return weight == null ? 1 : weight;
+    }
+
     @Override
     protected PooledConnectionAndInfo getPooledConnectionAndInfo(final String userName, final String userPassword)
             throws SQLException {
@@ -133,11 +215,35 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
             }
         }
 
+        final FairShareScheduler scheduler = this.scheduler;
+        if (scheduler == null) {
+            try {
+                return pool.borrowObject(new UserPassKey(userName, userPassword));
+            } catch (final Exception e) {
+                throw new SQLException("Could not retrieve connection info from pool", e);
+            }
+        }
+        // the pool only waits for what is left of the maximum wait after waiting for a slot
+        final Duration maxWait = scheduler.acquire(userName, getDefaultMaxWait(), getDefaultBlockWhenExhausted());
+        final PooledConnectionAndInfo info;
         try {
-            return pool.borrowObject(new UserPassKey(userName, userPassword));
+            info = pool.borrowObject(new UserPassKey(userName, userPassword), maxWait);
         } catch (final Exception e) {
+            scheduler.cancel(userName);
             throw new SQLException("Could not retrieve connection info from pool", e);
         }
+        scheduler.lease(userName, info);
+        return info;
+    }
+
+    /**
+     * Tests whether borrowers are scheduled fairly across users once the pool is exhausted.
+     *
+     * @return Whether fair scheduling is enabled.
+     * @since 2.15.0
+     */
+    public boolean isFairScheduling() {
+        return fairScheduling;
     }
 
     /**
@@ -159,12 +265,14 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
      */
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        this.pool = readObjectImpl();
+        final SharedPoolDataSource instance = readObjectImpl();
+        this.pool = instance.pool;
+        this.scheduler = instance.scheduler;
     }
 
-    private KeyedObjectPool<UserPassKey, PooledConnectionAndInfo> readObjectImpl() throws IOException, ClassNotFoundException {
+    private SharedPoolDataSource readObjectImpl() throws IOException, ClassNotFoundException {
         try {
-            return ((SharedPoolDataSource) new SharedPoolDataSourceFactory().getObjectInstance(getReference(), null, null, null)).pool;
+            return (SharedPoolDataSource) new SharedPoolDataSourceFactory().getObjectInstance(getReference(), null, null, null);
         } catch (final NamingException e) {
             throw new IOException("NamingException: " + e);
         }
@@ -177,6 +285,7 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         // Create an object pool to contain our PooledConnections
         factory = new KeyedCPDSConnectionFactory(cpds, getValidationQuery(), getValidationQueryTimeoutDuration(), isRollbackAfterValidation());
         factory.setMaxConn(getMaxConnDuration());
+        factory.setValidationSkipWindow(getValidationSkipWindow());
 
         final GenericKeyedObjectPoolConfig<PooledConnectionAndInfo> config = new GenericKeyedObjectPoolConfig<>();
         config.setBlockWhenExhausted(getDefaultBlockWhenExhausted());
@@ -196,11 +305,30 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         config.setTestWhileIdle(getDefaultTestWhileIdle());
         config.setTimeBetweenEvictionRuns(getDefaultDurationBetweenEvictionRuns());
 
-        final KeyedObjectPool<UserPassKey, PooledConnectionAndInfo> tmpPool = new GenericKeyedObjectPool<>(factory, config);
+        final GenericKeyedObjectPool<UserPassKey, PooledConnectionAndInfo> tmpPool = new GenericKeyedObjectPool<>(factory, config);
         factory.setPool(tmpPool);
+        if (fairScheduling && getMaxTotal() > 0) {
+            scheduler = new FairShareScheduler(getMaxTotal(), getDefaultMaxTotal(), minTotalPerUser, this::getPerUserWeight);
+            factory.setScheduler(scheduler);
+        }
         pool = tmpPool;
     }
 
+    /**
+     * Sets whether borrowers are scheduled fairly across users once the pool is exhausted. Each waiting user is first
+     * handed up to {@link #setMinTotalPerUser(int) its guaranteed minimum} of the freed connections, the remaining ones
+     * go to the waiting users in {@link #setPerUserWeight(String, Integer) weighted} round-robin order. Has no effect
+     * if {@link #getMaxTotal()} is negative.
+     *
+     * @param fairScheduling
+     *            Whether to schedule borrowers fairly across users.
+     * @since 2.15.0
+     */
+    public void setFairScheduling(final boolean fairScheduling) {
+        assertInitializationAllowed();
+        this.fairScheduling = fairScheduling;
+    }
+
     /**
      * Sets {@link GenericKeyedObjectPool#getMaxTotal()} for this pool.
      *
@@ -212,6 +340,40 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         this.maxTotal = maxTotal;
     }
 
+    /**
+     * Sets the number of connections guaranteed to each waiting user under fair scheduling.
+     *
+     * @param minTotalPerUser
+     *            The number of connections guaranteed to each waiting user.
+     * @since 2.15.0
+     */
+    public void setMinTotalPerUser(final int minTotalPerUser) {
+        assertInitializationAllowed();
+        this.minTotalPerUser = minTotalPerUser;
+    }
+
+    /**
+     * Sets the round-robin weight of the given user under fair scheduling.
+     *
+     * @param userName
+     *            The user name.
+     * @param weight
+     *            The weight of the user, null to reset it to 1.
+     * @since 2.15.0
+     */
+    public void setPerUserWeight(final String userName, final Integer weight) {
+        assertInitializationAllowed();
+        if (perUserWeight == null) {
+            perUserWeight = new HashMap<>();
+        }
+        perUserWeight.put(userName, weight);
+    }
+
+    void setPerUserWeight(final Map<String, Integer> newMap) {
+        assertInitializationAllowed();
+        perUserWeight = newMap == null ? null : new HashMap<>(newMap);
+    }
+
     @Override
     protected void setupDefaults(final Connection connection, final String userName) throws SQLException {
         final Boolean defaultAutoCommit = isDefaultAutoCommit();
@@ -220,7 +382,7 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         }
 
         final int defaultTransactionIsolation = getDefaultTransactionIsolation();
-        if (defaultTransactionIsolation != UNKNOWN_TRANSACTIONISOLATION) {
+        if (defaultTransactionIsolation != UNKNOWN_TRANSACTIONISOLATION && connection.getTransactionIsolation() != defaultTransactionIsolation) {
             connection.setTransactionIsolation(defaultTransactionIsolation);
         }
 
@@ -235,5 +397,7 @@ public class SharedPoolDataSource extends InstanceKeyDataSource {
         super.toStringFields(builder);
         builder.append(", maxTotal=");
         builder.append(maxTotal);
+        builder.append(", fairScheduling=");
+        builder.append(fairScheduling);
     }
 }
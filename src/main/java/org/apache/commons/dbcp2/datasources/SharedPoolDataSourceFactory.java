@@ -16,6 +16,8 @@
  */
 package org.apache.commons.dbcp2.datasources;
 
+import java.io.IOException;
+
 import javax.naming.RefAddr;
 import javax.naming.Reference;
 
@@ -36,12 +38,25 @@ public class SharedPoolDataSourceFactory extends InstanceKeyDataSourceFactory {
     }
 
     @Override
-    protected InstanceKeyDataSource getNewInstance(final Reference ref) {
+    protected InstanceKeyDataSource getNewInstance(final Reference ref) throws IOException, ClassNotFoundException {
         final SharedPoolDataSource spds = new SharedPoolDataSource();
-        final RefAddr ra = ref.get("maxTotal");
+        RefAddr ra = ref.get("maxTotal");
         if (ra != null && ra.getContent() != null) {
             spds.setMaxTotal(Integer.parseInt(ra.getContent().toString()));
         }
+        ra = ref.get("fairScheduling");
+        if (ra != null && ra.getContent() != null) {
+            spds.setFairScheduling(parseBoolean(ra));
+        }
+        ra = ref.get("minTotalPerUser");
+        if (ra != null && ra.getContent() != null) {
+            spds.setMinTotalPerUser(parseInt(ra));
+        }
+        ra = ref.get("perUserWeight");
+        if (ra != null && ra.getContent() != null) {
+            final byte[] serialized = (byte[]) ra.getContent();
+            spds.setPerUserWeight(deserialize(serialized));
+        }
         return spds;
     }
 
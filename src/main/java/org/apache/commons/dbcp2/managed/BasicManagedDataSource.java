@@ -136,7 +136,10 @@ public class BasicManagedDataSource extends BasicDataSource {
             connectionFactory = new PoolableManagedConnectionFactory((XAConnectionFactory) driverConnectionFactory, getRegisteredJmxName());
             connectionFactory.setValidationQuery(getValidationQuery());
             connectionFactory.setValidationQueryTimeout(getValidationQueryTimeoutDuration());
+            connectionFactory.setValidationSkipWindow(getValidationSkipWindow());
             connectionFactory.setConnectionInitSql(getConnectionInitSqls());
+            connectionFactory.setBatchConnectionInitSqls(isBatchConnectionInitSqls());
+            connectionFactory.setWarmUpSqls(getWarmUpSqls());
             connectionFactory.setDefaultReadOnly(getDefaultReadOnly());
             connectionFactory.setDefaultAutoCommit(getDefaultAutoCommit());
             connectionFactory.setDefaultTransactionIsolation(getDefaultTransactionIsolation());
@@ -145,11 +148,20 @@ public class BasicManagedDataSource extends BasicDataSource {
             connectionFactory.setCacheState(getCacheState());
             connectionFactory.setPoolStatements(isPoolPreparedStatements());
             connectionFactory.setClearStatementPoolOnReturn(isClearStatementPoolOnReturn());
+            connectionFactory.setBypassStatementPoolWhenExhausted(isBypassStatementPoolWhenExhausted());
+            connectionFactory.setStatementPoolStatistics(getStatementPoolStatistics());
+            connectionFactory.setStatementMetaDataVersion(isCacheStatementMetaData() ? this::getStatementMetaDataVersion : null);
             connectionFactory.setMaxOpenPreparedStatements(getMaxOpenPreparedStatements());
             connectionFactory.setMaxConn(getMaxConnDuration());
             connectionFactory.setRollbackOnReturn(getRollbackOnReturn());
             connectionFactory.setAutoCommitOnReturn(getAutoCommitOnReturn());
             connectionFactory.setDefaultQueryTimeout(getDefaultQueryTimeoutDuration());
+            connectionFactory.setDefaultFetchSize(getDefaultFetchSize());
+            connectionFactory.setDefaultMaxRows(getDefaultMaxRows());
+            connectionFactory.setThinResultSetTracking(isThinResultSetTracking());
+            connectionFactory.setCacheColumnLabels(isCacheColumnLabels());
+            connectionFactory.setAbortExecutor(getAbortExecutor());
+            connectionFactory.setReturnExecutor(getReturnExecutor());
             connectionFactory.setFastFailValidation(getFastFailValidation());
             connectionFactory.setDisconnectionSqlCodes(getDisconnectionSqlCodes());
             connectionFactory.setDisconnectionIgnoreSqlCodes(getDisconnectionIgnoreSqlCodes());
@@ -31,7 +31,6 @@ import org.apache.commons.dbcp2.PoolingConnection;
 import org.apache.commons.dbcp2.Utils;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.PooledObject;
-import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 
@@ -76,16 +75,24 @@ public class PoolableManagedConnectionFactory extends PoolableConnectionFactory
      */
     @SuppressWarnings("resource") // Connection is released elsewhere.
     @Override
-    public synchronized PooledObject<PoolableConnection> makeObject() throws SQLException {
-        Connection conn = getConnectionFactory().createConnection();
-        if (conn == null) {
-            throw new IllegalStateException("Connection factory returned null from createConnection");
+    public PooledObject<PoolableConnection> makeObject() throws SQLException {
+        reserveConnection();
+        Connection conn;
+        try {
+            conn = getConnectionFactory().createConnection();
+            if (conn == null) {
+                throw new IllegalStateException("Connection factory returned null from createConnection");
+            }
+        } catch (final SQLException | RuntimeException e) {
+            releaseConnection(false);
+            throw e;
         }
         try {
             initializeConnection(conn);
-        } catch (final SQLException e) {
+        } catch (final SQLException | RuntimeException e) {
             // Make sure the connection is closed
             Utils.closeQuietly((AutoCloseable) conn);
+            releaseConnection(false);
             // Rethrow original exception so it is visible to caller
             throw e;
         }
@@ -112,10 +119,29 @@ public class PoolableManagedConnectionFactory extends PoolableConnectionFactory
                     (PoolingConnection) conn, config);
             ((PoolingConnection) conn).setStatementPool(stmtPool);
             ((PoolingConnection) conn).setCacheState(getCacheState());
+            ((PoolingConnection) conn).setBypassStatementPoolWhenExhausted(isBypassStatementPoolWhenExhausted());
+            ((PoolingConnection) conn).setStatementPoolStatistics(getStatementPoolStatistics());
+            ((PoolingConnection) conn).setStatementMetaDataVersion(getStatementMetaDataVersion());
+            ((PoolingConnection) conn).setThinResultSetTracking(isThinResultSetTracking());
+            ((PoolingConnection) conn).setQueryTimeoutScheduler(getQueryTimeoutScheduler());
+            try {
+                warmUpStatementPool((PoolingConnection) conn);
+            } catch (final SQLException | RuntimeException e) {
+                // Make sure the connection is closed
+                Utils.closeQuietly((AutoCloseable) conn);
+                releaseConnection(false);
+                // Rethrow original exception so it is visible to caller
+                throw e;
+            }
         }
         final PoolableManagedConnection pmc = new PoolableManagedConnection(transactionRegistry, conn, getPool(),
                 getDisconnectionSqlCodes(), getDisconnectionIgnoreSqlCodes(), isFastFailValidation());
         pmc.setCacheState(getCacheState());
-        return new DefaultPooledObject<>(pmc);
+        pmc.setThinResultSetTracking(isThinResultSetTracking());
+        pmc.setCacheColumnLabels(isCacheColumnLabels());
+        pmc.setDatabaseMetaDataCache(getDatabaseMetaDataCache());
+        pmc.setQueryTimeoutScheduler(getQueryTimeoutScheduler());
+        pmc.setReturnExecutor(getReturnExecutor());
+        return wrap(pmc);
     }
 }
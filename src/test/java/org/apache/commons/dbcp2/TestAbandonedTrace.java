@@ -18,8 +18,10 @@
 package org.apache.commons.dbcp2;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
+import java.time.Instant;
 
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +36,17 @@ public class TestAbandonedTrace {
             assertEquals(trace.getLastUsedInstant().toEpochMilli(), trace.getLastUsed());
         }
     }
+
+    @Test
+    void testSetLastUsed() throws SQLException {
+        try (AbandonedTrace trace = new AbandonedTrace()) {
+            assertEquals(Instant.EPOCH, trace.getLastUsedInstant());
+            final long before = System.currentTimeMillis();
+            trace.setLastUsed();
+            assertTrue(trace.getLastUsed() >= before);
+            assertEquals(trace.getLastUsed(), trace.getLastUsedInstant().toEpochMilli());
+            trace.setLastUsed(Instant.ofEpochMilli(1234));
+            assertEquals(1234, trace.getLastUsed());
+        }
+    }
 }
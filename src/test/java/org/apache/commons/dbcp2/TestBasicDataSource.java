@@ -31,7 +31,10 @@ import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -144,6 +147,27 @@ public class TestBasicDataSource extends TestConnectionPool {
         }
     }
 
+    @Test
+    void testBatchConnectionInitSqls() throws Exception {
+        try (BasicDataSource h2DataSource = new BasicDataSource()) {
+            h2DataSource.setUrl("jdbc:h2:mem:testBatchConnectionInitSqls");
+            h2DataSource.setConnectionInitSqls(Arrays.asList("SET @A = 1", "SET @B = 2"));
+            h2DataSource.setBatchConnectionInitSqls(true);
+            assertTrue(h2DataSource.isBatchConnectionInitSqls());
+            try (Connection conn = h2DataSource.getConnection();
+                    Statement statement = conn.createStatement();
+                    ResultSet resultSet = statement.executeQuery("SELECT @A + @B")) {
+                assertTrue(resultSet.next());
+                assertEquals(3, resultSet.getInt(1));
+            }
+        }
+        // The tester driver does not support batch updates, statements run one at a time
+        ds.setConnectionInitSqls(Arrays.asList("SELECT 1", "invalid"));
+        ds.setBatchConnectionInitSqls(true);
+        final SQLException e = assertThrows(SQLException.class, ds::getConnection);
+        assertTrue(e.toString().contains("invalid"));
+    }
+
     @Test
     void testClose() throws Exception {
         ds.setAccessToUnderlyingConnectionAllowed(true);
@@ -565,6 +589,31 @@ public class TestBasicDataSource extends TestConnectionPool {
                 () -> "EvictionTimer thread was destroyed with numIdle=" + ds.getNumIdle() + "(expected: less or equal than " + ds.getMinIdle() + ")");
     }
 
+    @Test
+    void testEvictionThreads() throws Exception {
+        ds.setInitialSize(4);
+        ds.setEvictionThreads(2);
+        ds.setTestWhileIdle(true);
+        ds.setNumTestsPerEvictionRun(4);
+        ds.setDurationBetweenEvictionRuns(Duration.ofMillis(50));
+        try (Connection conn = ds.getConnection()) {
+            assertNotNull(conn);
+        }
+        // Validation moved off the evictor thread of the pool
+        assertFalse(ds.getConnectionPool().getTestWhileIdle());
+        assertTrue(ds.getTestWhileIdle());
+        // Destroyed connections are not closed on the validating threads
+        assertNull(((PoolableConnectionFactory) ds.getConnectionPool().getFactory()).getAbortExecutor());
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (ds.getEvictionSweepCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(ds.getEvictionSweepCount() > 0);
+        assertEquals(4, ds.getEvictionLastSweepTestedCount());
+        assertEquals(0, ds.getEvictionLastSweepDestroyedCount());
+        assertEquals(4, ds.getNumIdle());
+    }
+
     @Test
     void testInitialSize() throws Exception {
         ds.setMaxTotal(20);
@@ -1025,6 +1074,13 @@ public class TestBasicDataSource extends TestConnectionPool {
         assertThrows(NullPointerException.class, () -> ds.setConnectionProperties(null));
     }
 
+    @Test
+    void testSetValidationSkipWindowNull() {
+        ds.setValidationSkipWindow(Duration.ofSeconds(1));
+        ds.setValidationSkipWindow(null);
+        assertEquals(Duration.ZERO, ds.getValidationSkipWindow());
+    }
+
     @Test
     void testSetValidationTestProperties() {
         // defaults
@@ -1090,6 +1146,30 @@ public class TestBasicDataSource extends TestConnectionPool {
         assertNotNull(ds.getRegisteredJmxName());
     }
 
+    @Test
+    void testThinResultSetTracking() throws Exception {
+        ds.setThinResultSetTracking(true);
+        assertTrue(ds.isThinResultSetTracking());
+        try (Connection conn = getConnection()) {
+            assertTrue(((DelegatingConnection<?>) conn).isThinResultSetTracking());
+            final Statement stmt = conn.createStatement();
+            final ResultSet rs1 = stmt.executeQuery("select * from dual");
+            final ResultSet rs2 = stmt.executeQuery("select * from dual");
+            assertSame(stmt, rs1.getStatement());
+            assertEquals(2, ((DelegatingStatement) stmt).getTrace().size());
+            rs2.close();
+            assertEquals(1, ((DelegatingStatement) stmt).getTrace().size());
+            stmt.close();
+            assertTrue(rs1.isClosed());
+            try (PreparedStatement ps = conn.prepareStatement("select * from dual")) {
+                final ResultSet rs = ps.executeQuery();
+                assertSame(ps, rs.getStatement());
+                ps.close();
+                assertTrue(rs.isClosed());
+            }
+        }
+    }
+
     @Test
     void testTransactionIsolationBehavior() throws Exception {
         try (final Connection conn = getConnection()) {
@@ -23,8 +23,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Properties;
@@ -35,6 +39,7 @@ import javax.naming.StringRefAddr;
 
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * TestSuite for BasicDataSourceFactory
@@ -82,9 +87,14 @@ public class TestBasicDataSourceFactory {
         assertEquals("password", ds.getPassword());
         assertEquals("SELECT DUMMY FROM DUAL", ds.getValidationQuery());
         assertEquals(Duration.ofSeconds(100), ds.getValidationQueryTimeoutDuration());
+        assertEquals(Duration.ofMillis(250), ds.getValidationSkipWindow());
         assertEquals(2, ds.getConnectionInitSqls().size());
         assertEquals("SELECT 1", ds.getConnectionInitSqls().get(0));
         assertEquals("SELECT 2", ds.getConnectionInitSqls().get(1));
+        assertTrue(ds.isBatchConnectionInitSqls());
+        assertEquals(2, ds.getWarmUpSqls().size());
+        assertEquals("SELECT 3", ds.getWarmUpSqls().get(0));
+        assertEquals("SELECT 4", ds.getWarmUpSqls().get(1));
         assertEquals(Duration.ofMillis(1000), ds.getDurationBetweenEvictionRuns());
         assertEquals(Duration.ofMillis(2000), ds.getMinEvictableIdleDuration());
         assertEquals(Duration.ofMillis(3000), ds.getSoftMinEvictableIdleDuration());
@@ -98,6 +108,15 @@ public class TestBasicDataSourceFactory {
         assertTrue(ds.getAbandonedUsageTracking());
         assertTrue(ds.isPoolPreparedStatements());
         assertTrue(ds.isClearStatementPoolOnReturn());
+        assertTrue(ds.isBypassStatementPoolWhenExhausted());
+        assertTrue(ds.isCacheStatementMetaData());
+        assertEquals(500, ds.getDefaultFetchSize());
+        assertEquals(1000, ds.getDefaultMaxRows());
+        assertTrue(ds.isThinResultSetTracking());
+        assertTrue(ds.isCacheColumnLabels());
+        assertTrue(ds.isCacheDatabaseMetaData());
+        assertEquals(Duration.ofMinutes(1), ds.getDatabaseMetaDataTimeToLive());
+        assertTrue(ds.isSharedQueryTimeoutTimer());
         assertEquals(10, ds.getMaxOpenPreparedStatements());
         assertTrue(ds.getLifo());
         assertTrue(ds.getFastFailValidation());
@@ -130,7 +149,10 @@ public class TestBasicDataSourceFactory {
         properties.setProperty("password", "password");
         properties.setProperty("validationQuery", "SELECT DUMMY FROM DUAL");
         properties.setProperty("validationQueryTimeout", "100");
+        properties.setProperty("validationSkipWindowMillis", "250");
         properties.setProperty("connectionInitSqls", "SELECT 1;SELECT 2");
+        properties.setProperty("batchConnectionInitSqls", "true");
+        properties.setProperty("warmUpSqls", "SELECT 3;SELECT 4");
         properties.setProperty("timeBetweenEvictionRunsMillis", "1000");
         properties.setProperty("minEvictableIdleTimeMillis", "2000");
         properties.setProperty("softMinEvictableIdleTimeMillis", "3000");
@@ -144,6 +166,15 @@ public class TestBasicDataSourceFactory {
         properties.setProperty("abandonedUsageTracking", "true");
         properties.setProperty("poolPreparedStatements", "true");
         properties.setProperty("clearStatementPoolOnReturn", "true");
+        properties.setProperty("bypassStatementPoolWhenExhausted", "true");
+        properties.setProperty("cacheStatementMetaData", "true");
+        properties.setProperty("defaultFetchSize", "500");
+        properties.setProperty("defaultMaxRows", "1000");
+        properties.setProperty("thinResultSetTracking", "true");
+        properties.setProperty("cacheColumnLabels", "true");
+        properties.setProperty("cacheDatabaseMetaData", "true");
+        properties.setProperty("databaseMetaDataTimeToLiveMillis", "60000");
+        properties.setProperty("sharedQueryTimeoutTimer", "true");
         properties.setProperty("maxOpenPreparedStatements", "10");
         properties.setProperty("lifo", "true");
         properties.setProperty("fastFailValidation", "true");
@@ -175,6 +206,15 @@ public class TestBasicDataSourceFactory {
         }
     }
 
+    @Test
+    void testEvictionThreads() throws Exception {
+        final Properties properties = new Properties();
+        properties.setProperty("evictionThreads", "2");
+        try (final BasicDataSource ds = BasicDataSourceFactory.createDataSource(properties)) {
+            assertEquals(2, ds.getEvictionThreads());
+        }
+    }
+
     @Test
     void testNoProperties() throws Exception {
         final Properties properties = new Properties();
@@ -216,4 +256,16 @@ public class TestBasicDataSourceFactory {
             StackMessageLog.unLock();
         }
     }
+
+    @Test
+    void testWarmUpSqlsFile(@TempDir final Path tempDir) throws Exception {
+        final Path file = tempDir.resolve("warm-up.sql");
+        Files.write(file, Arrays.asList("-- hot statements", "SELECT 2", "", "  SELECT 3  "), StandardCharsets.UTF_8);
+        final Properties properties = new Properties();
+        properties.setProperty("warmUpSqls", "SELECT 1");
+        properties.setProperty("warmUpSqlsFile", file.toString());
+        try (final BasicDataSource ds = BasicDataSourceFactory.createDataSource(properties)) {
+            assertEquals(Arrays.asList("SELECT 1", "SELECT 2", "SELECT 3"), ds.getWarmUpSqls());
+        }
+    }
 }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ConcurrentEvictor}.
+ */
+public class TestConcurrentEvictor {
+
+    private final AtomicBoolean failValidation = new AtomicBoolean();
+
+    private final CountDownLatch validating = new CountDownLatch(1);
+
+    /** Holds failing validations back until it opens. */
+    private volatile CountDownLatch failValidationGate = new CountDownLatch(0);
+
+    private PoolableConnectionFactory factory;
+
+    private GenericObjectPool<PoolableConnection> pool;
+
+    private ConcurrentEvictor evictor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        factory = new PoolableConnectionFactory(
+                new DriverConnectionFactory(new TesterDriver(), "jdbc:apache:commons:testdriver", null), null) {
+            @Override
+            public boolean validateObject(final PooledObject<PoolableConnection> p) {
+                if (failValidation.get()) {
+                    validating.countDown();
+                    try {
+                        failValidationGate.await(10, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return false;
+                }
+                return super.validateObject(p);
+            }
+        };
+        pool = new GenericObjectPool<>(factory);
+        factory.setPool(pool);
+        pool.setNumTestsPerEvictionRun(3);
+        evictor = new ConcurrentEvictor(pool, factory, 2);
+        evictor.setNumTestsPerEvictionRun(3);
+        for (int i = 0; i < 4; i++) {
+            pool.addObject();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        evictor.close();
+        pool.close();
+    }
+
+    @Test
+    void testSweep() throws Exception {
+        evictor.sweep();
+        assertEquals(1, evictor.getSweepCount());
+        assertEquals(3, evictor.getLastSweepTestedCount());
+        assertEquals(0, evictor.getLastSweepDestroyedCount());
+        assertEquals(4, pool.getNumIdle());
+        assertTrue(evictor.getMaxSweepDuration().compareTo(evictor.getLastSweepDuration()) >= 0);
+        // Validated connections are usable
+        final PoolableConnection conn = pool.borrowObject();
+        conn.createStatement().close();
+        pool.returnObject(conn);
+    }
+
+    @Test
+    void testSweepDestroysInvalidConnections() throws Exception {
+        failValidation.set(true);
+        evictor.sweep();
+        assertEquals(3, evictor.getLastSweepTestedCount());
+        assertEquals(3, evictor.getLastSweepDestroyedCount());
+        assertEquals(3, pool.getDestroyedCount());
+    }
+
+    @Test
+    void testSweepDestroysInvalidConnectionsWhileBorrowersWait() throws Exception {
+        // Every connection is claimed by the sweep, so the borrowers wait at maxTotal with no maxWait
+        pool.setMaxTotal(4);
+        evictor.setNumTestsPerEvictionRun(4);
+        failValidation.set(true);
+        failValidationGate = new CountDownLatch(1);
+        final ExecutorService borrowers = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<PoolableConnection>> borrowed = new ArrayList<>();
+            final Thread sweep = new Thread(() -> {
+                try {
+                    evictor.sweep();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            sweep.setDaemon(true);
+            sweep.start();
+            // A sweep claims all its connections before it validates any
+            assertTrue(validating.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 2; i++) {
+                borrowed.add(borrowers.submit(() -> pool.borrowObject()));
+            }
+            while (pool.getNumWaiters() < 2) {
+                Thread.sleep(10);
+            }
+            failValidationGate.countDown();
+            // The invalidations create replacements for the waiting borrowers without deadlocking
+            sweep.join(10_000);
+            assertFalse(sweep.isAlive());
+            assertEquals(4, evictor.getLastSweepDestroyedCount());
+            for (final Future<PoolableConnection> conn : borrowed) {
+                pool.returnObject(conn.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            borrowers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSweepSkipsBorrowedConnections() throws Exception {
+        final PoolableConnection conn = pool.borrowObject();
+        try {
+            evictor.setNumTestsPerEvictionRun(-1);
+            evictor.sweep();
+            assertEquals(3, evictor.getLastSweepTestedCount());
+        } finally {
+            pool.returnObject(conn);
+        }
+    }
+
+    @Test
+    void testTestWhileIdle() throws Exception {
+        evictor.setTestWhileIdle(false);
+        evictor.sweep();
+        assertEquals(1, evictor.getSweepCount());
+        assertEquals(0, evictor.getLastSweepTestedCount());
+    }
+}
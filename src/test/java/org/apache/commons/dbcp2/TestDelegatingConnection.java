@@ -24,11 +24,17 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.Duration;
 
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.junit.jupiter.api.AfterEach;
@@ -356,6 +362,33 @@ public class TestDelegatingConnection {
         assertEquals(expected, delegatingConnection.getDefaultQueryTimeout());
     }
 
+    @Test
+    void testStatementDefaultsReadDriverDefaultsOnce() throws Exception {
+        final Connection mockedConnection = mock(Connection.class);
+        final Statement statement1 = mock(Statement.class);
+        final Statement statement2 = mock(Statement.class);
+        when(mockedConnection.createStatement()).thenReturn(statement1, statement2);
+        try (DelegatingConnection<Connection> conn = new DelegatingConnection<>(mockedConnection)) {
+            conn.setDefaultQueryTimeout(Duration.ofSeconds(5));
+            conn.setDefaultFetchSize(100);
+            conn.setDefaultMaxRows(0);
+            conn.createStatement();
+            conn.createStatement();
+        }
+        verify(statement1).getQueryTimeout();
+        verify(statement1).getFetchSize();
+        verify(statement1).getMaxRows();
+        verify(statement2, never()).getQueryTimeout();
+        verify(statement2, never()).getFetchSize();
+        verify(statement2, never()).getMaxRows();
+        for (final Statement statement : new Statement[] { statement1, statement2 }) {
+            verify(statement).setQueryTimeout(5);
+            verify(statement).setFetchSize(100);
+            // The driver default max rows is 0 already
+            verify(statement, never()).setMaxRows(0);
+        }
+    }
+
     @Test
     void testSetHoldability() throws Exception {
         final int expected = 1;
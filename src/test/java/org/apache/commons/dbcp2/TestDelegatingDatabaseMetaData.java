@@ -27,9 +27,14 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -55,6 +60,16 @@ public class TestDelegatingDatabaseMetaData {
         delegateSpy = Mockito.spy(delegate);
     }
 
+    private int countRows(final ResultSet resultSet) throws SQLException {
+        try (ResultSet rs = resultSet) {
+            int count = 0;
+            while (rs.next()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
     @Test
     void testAllProceduresAreCallable() throws Exception {
         try {
@@ -97,6 +112,68 @@ public class TestDelegatingDatabaseMetaData {
         assertThrows(SQLException.class, delegate::autoCommitFailureClosesAllResultSets);
     }
 
+    @Test
+    void testCachedAnswers() throws Exception {
+        conn.setDatabaseMetaDataCache(new DatabaseMetaDataCache(null));
+        Mockito.when(obj.getDatabaseProductName()).thenReturn("Tester");
+        Mockito.when(obj.supportsResultSetType(ResultSet.TYPE_FORWARD_ONLY)).thenReturn(true);
+        for (int i = 0; i < 3; i++) {
+            final DelegatingDatabaseMetaData metaData = new DelegatingDatabaseMetaData(conn, obj);
+            assertEquals("Tester", metaData.getDatabaseProductName());
+            assertTrue(metaData.supportsResultSetType(ResultSet.TYPE_FORWARD_ONLY));
+            assertFalse(metaData.supportsResultSetType(ResultSet.TYPE_SCROLL_INSENSITIVE));
+            metaData.isReadOnly();
+        }
+        verify(obj, times(1)).getDatabaseProductName();
+        verify(obj, times(1)).supportsResultSetType(ResultSet.TYPE_FORWARD_ONLY);
+        verify(obj, times(1)).supportsResultSetType(ResultSet.TYPE_SCROLL_INSENSITIVE);
+        // connection state is never cached
+        verify(obj, times(3)).isReadOnly();
+    }
+
+    @Test
+    void testCachedCatalogQueries() throws Exception {
+        final DatabaseMetaDataCache cache = new DatabaseMetaDataCache(Duration.ofMinutes(10));
+        try (DelegatingConnection<Connection> h2 = new DelegatingConnection<>(DriverManager.getConnection("jdbc:h2:mem:testCachedCatalogQueries"));
+                Statement statement = h2.createStatement()) {
+            h2.setDatabaseMetaDataCache(cache);
+            statement.execute("CREATE TABLE CACHED_T1 (ID INT)");
+            assertEquals(1, countRows(h2.getMetaData().getTables(null, null, "CACHED_T%", null)));
+            statement.execute("CREATE TABLE CACHED_T2 (ID INT)");
+            // answered from the cache
+            assertEquals(1, countRows(h2.getMetaData().getTables(null, null, "CACHED_T%", null)));
+            assertEquals(1, cache.getResultSetCount());
+            // other arguments are a different query
+            assertEquals(2, countRows(h2.getMetaData().getTables(null, null, "CACHED_T%", new String[] { "TABLE", "BASE TABLE" })));
+            cache.clear();
+            assertEquals(2, countRows(h2.getMetaData().getTables(null, null, "CACHED_T%", null)));
+        }
+    }
+
+    @Test
+    void testCachedCatalogQueriesNamingCatalog() throws Exception {
+        final AtomicInteger catalogCalls = new AtomicInteger();
+        try (Connection raw = DriverManager.getConnection("jdbc:h2:mem:testCachedCatalogQueriesNamingCatalog");
+                DelegatingConnection<Connection> h2 = new DelegatingConnection<>(new DelegatingConnection<Connection>(raw) {
+                    @Override
+                    public String getCatalog() throws SQLException {
+                        catalogCalls.incrementAndGet();
+                        return super.getCatalog();
+                    }
+                })) {
+            h2.setCacheState(false);
+            h2.setDatabaseMetaDataCache(new DatabaseMetaDataCache(Duration.ofMinutes(10)));
+            final String catalog = raw.getCatalog();
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0, countRows(h2.getMetaData().getTables(catalog, "PUBLIC", "NAMED%", new String[] { "TABLE" })));
+            }
+            assertEquals(0, catalogCalls.get());
+            // a null catalog means the connection's current one
+            assertEquals(0, countRows(h2.getMetaData().getTables(null, "PUBLIC", "NAMED%", new String[] { "TABLE" })));
+            assertEquals(1, catalogCalls.get());
+        }
+    }
+
     @Test
     void testCheckOpen() throws Exception {
         delegate = new DelegatingDatabaseMetaData(conn, conn.getMetaData());
@@ -162,6 +239,27 @@ public class TestDelegatingDatabaseMetaData {
         assertThrows(SQLException.class, delegate::doesMaxRowSizeIncludeBlobs);
     }
 
+    @Test
+    void testExpiredCatalogQueriesDiscarded() throws Exception {
+        try (DelegatingConnection<Connection> h2 = new DelegatingConnection<>(
+                DriverManager.getConnection("jdbc:h2:mem:testExpiredCatalogQueriesDiscarded"))) {
+            // warm up the driver and the row set implementation so that the first results do not expire at once
+            h2.setDatabaseMetaDataCache(new DatabaseMetaDataCache(Duration.ofMinutes(1)));
+            countRows(h2.getMetaData().getTables(null, null, "A%", null));
+            final DatabaseMetaDataCache cache = new DatabaseMetaDataCache(Duration.ofMillis(200));
+            h2.setDatabaseMetaDataCache(cache);
+            countRows(h2.getMetaData().getTables(null, null, "A%", null));
+            countRows(h2.getMetaData().getTables(null, null, "B%", null));
+            assertEquals(2, cache.getResultSetCount());
+            Thread.sleep(250);
+            // the expired result is replaced and the one nobody asked for again is swept
+            countRows(h2.getMetaData().getTables(null, null, "A%", null));
+            assertEquals(1, cache.getResultSetCount());
+            countRows(h2.getMetaData().getTables(null, null, "C%", null));
+            assertEquals(2, cache.getResultSetCount());
+        }
+    }
+
     @Test
     void testGeneratedKeyAlwaysReturned() throws Exception {
         try {
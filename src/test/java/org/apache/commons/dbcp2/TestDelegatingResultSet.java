@@ -21,13 +21,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -88,6 +92,34 @@ public class TestDelegatingResultSet {
         verify(rs, times(1)).beforeFirst();
     }
 
+    @Test
+    void testCacheColumnLabels() throws Exception {
+        conn.setCacheColumnLabels(true);
+        final Statement stmt = mock(Statement.class);
+        when(stmt.executeQuery("select")).thenReturn(rs);
+        when(rs.findColumn(anyString())).thenAnswer(invocation -> Integer.parseInt(invocation.getArgument(0, String.class).substring(1)));
+        try (DelegatingStatement delegatingStatement = new DelegatingStatement(conn, stmt);
+                ResultSet resultSet = delegatingStatement.executeQuery("select")) {
+            resultSet.getString("c2");
+            resultSet.getString("c2");
+            resultSet.getInt("c3");
+            assertEquals(2, resultSet.findColumn("c2"));
+            verify(rs, times(1)).findColumn("c2");
+            verify(rs, times(2)).getString(2);
+            verify(rs, times(1)).getInt(3);
+            verify(rs, never()).getString("c2");
+            // enough labels to grow the map
+            for (int i = 1; i <= 100; i++) {
+                resultSet.getObject("c" + i);
+            }
+            for (int i = 1; i <= 100; i++) {
+                assertEquals(i, resultSet.findColumn("c" + i));
+            }
+            verify(rs, times(1)).findColumn("c100");
+            verify(rs, times(1)).getObject(100);
+        }
+    }
+
     @Test
     void testCancelRowUpdates() throws Exception {
         try {
@@ -23,14 +23,29 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -584,6 +599,79 @@ public class TestDelegatingStatement {
         verify(mockedStatement, times(1)).setQueryTimeout(1);
     }
 
+    @Test
+    void testSharedQueryTimeoutTimer() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            delegatingConnection.setQueryTimeoutScheduler(scheduler);
+            final CountDownLatch cancelled = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                cancelled.countDown();
+                return null;
+            }).when(mockedStatement).cancel();
+            when(mockedStatement.execute("SELECT 1")).thenAnswer(invocation -> {
+                assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                throw new SQLException("cancelled");
+            });
+            final DelegatingStatement statement = new DelegatingStatement(delegatingConnection, mockedStatement);
+            statement.setQueryTimeout(1);
+            assertEquals(1, statement.getQueryTimeout());
+            assertThrows(SQLTimeoutException.class, () -> statement.execute("SELECT 1"));
+            verify(mockedStatement, never()).setQueryTimeout(anyInt());
+            // A timed out execution does not affect the next one
+            when(mockedStatement.execute("SELECT 2")).thenReturn(true);
+            assertTrue(statement.execute("SELECT 2"));
+            assertThrows(SQLException.class, () -> statement.setQueryTimeout(-1));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSharedQueryTimeoutTimerFiresLate() throws Exception {
+        final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        final List<Runnable> timers = new ArrayList<>();
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            timers.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+        delegatingConnection.setQueryTimeoutScheduler(scheduler);
+        when(mockedStatement.execute("SELECT 1")).thenReturn(true);
+        final DelegatingStatement statement = new DelegatingStatement(delegatingConnection, mockedStatement);
+        statement.setQueryTimeout(1);
+        assertTrue(statement.execute("SELECT 1"));
+        // The timer of the execution that ended runs during the next execution
+        when(mockedStatement.execute("SELECT 2")).thenAnswer(invocation -> {
+            timers.get(0).run();
+            return true;
+        });
+        assertTrue(statement.execute("SELECT 2"));
+        verify(mockedStatement, never()).cancel();
+        // The timer of the running execution still cancels it
+        when(mockedStatement.execute("SELECT 3")).thenAnswer(invocation -> {
+            timers.get(2).run();
+            throw new SQLException("cancelled");
+        });
+        assertThrows(SQLTimeoutException.class, () -> statement.execute("SELECT 3"));
+        verify(mockedStatement, times(1)).cancel();
+    }
+
+    @Test
+    void testSharedQueryTimeoutTimerShutDown() throws Exception {
+        final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenThrow(new RejectedExecutionException());
+        delegatingConnection.setQueryTimeoutScheduler(scheduler);
+        when(mockedStatement.execute("SELECT 1")).thenReturn(true);
+        final DelegatingStatement statement = new DelegatingStatement(delegatingConnection, mockedStatement);
+        statement.setQueryTimeout(5);
+        verify(mockedStatement, never()).setQueryTimeout(anyInt());
+        assertTrue(statement.execute("SELECT 1"));
+        // The timer was shut down by the closed data source, the driver enforces the timeout instead
+        verify(mockedStatement).setQueryTimeout(5);
+        statement.setQueryTimeout(7);
+        verify(mockedStatement).setQueryTimeout(7);
+    }
+
     @Test
     void testWrap() throws SQLException {
         assertEquals(delegatingStatement, delegatingStatement.unwrap(Statement.class));
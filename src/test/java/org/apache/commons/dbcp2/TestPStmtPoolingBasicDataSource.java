@@ -18,6 +18,7 @@
 package org.apache.commons.dbcp2;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -29,6 +30,8 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +51,32 @@ public class TestPStmtPoolingBasicDataSource extends TestBasicDataSource {
         ds.setMaxOpenPreparedStatements(2);
     }
 
+    @Test
+    void testBypassStatementPoolWhenExhausted() throws Exception {
+        ds.setBypassStatementPoolWhenExhausted(true);
+        ds.setAccessToUnderlyingConnectionAllowed(true);
+        try (Connection conn = getConnection()) {
+            final PoolableConnection poolableConn = (PoolableConnection) ((DelegatingConnection<?>) conn).getDelegateInternal();
+            final PreparedStatement stmt1 = conn.prepareStatement("select 'a' from dual");
+            final PreparedStatement stmt2 = conn.prepareStatement("select 'b' from dual");
+            // The pool is exhausted, the next statement bypasses it
+            final PreparedStatement stmt3 = conn.prepareStatement("select 'c' from dual");
+            final Statement inner3 = ((DelegatingPreparedStatement) stmt3).getInnermostDelegate();
+            assertFalse(((DelegatingPreparedStatement) stmt3).getDelegate() instanceof PoolablePreparedStatement);
+            stmt3.close();
+            assertTrue(inner3.isClosed());
+            final Statement inner1 = ((DelegatingPreparedStatement) stmt1).getInnermostDelegate();
+            stmt1.close();
+            stmt2.close();
+            try (PreparedStatement stmt4 = conn.prepareStatement("select 'a' from dual")) {
+                assertSame(inner1, ((DelegatingPreparedStatement) stmt4).getInnermostDelegate());
+            }
+            assertEquals(1, poolableConn.getStatementPoolHitCount());
+            assertEquals(3, poolableConn.getStatementPoolMissCount());
+            assertEquals(0.25, poolableConn.getStatementPoolHitRatio());
+        }
+    }
+
     /**
      * Verifies that the prepared statement pool behaves as an LRU cache,
      * closing least-recently-used statements idle in the pool to make room
@@ -107,6 +136,27 @@ public class TestPStmtPoolingBasicDataSource extends TestBasicDataSource {
         multipleThreads(Duration.ofMillis(5), false, false, Duration.ofMillis(-1), 3, 100, 10000);
     }
 
+    @Test
+    void testPooledStatementGetsDefaults() throws Exception {
+        // same values as the tester driver's own defaults
+        ds.setDefaultFetchSize(1);
+        ds.setDefaultMaxRows(1024);
+        ds.setDefaultQueryTimeout(Duration.ofSeconds(1000));
+        ds.setMaxTotal(1);
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("select 'a' from dual")) {
+                stmt.setFetchSize(50);
+                stmt.setMaxRows(10);
+                stmt.setQueryTimeout(30);
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("select 'a' from dual")) {
+                assertEquals(1, stmt.getFetchSize());
+                assertEquals(1024, stmt.getMaxRows());
+                assertEquals(1000, stmt.getQueryTimeout());
+            }
+        }
+    }
+
     @Test
     void testPreparedStatementPooling() throws Exception {
         final Connection conn = getConnection();
@@ -292,4 +342,48 @@ public class TestPStmtPoolingBasicDataSource extends TestBasicDataSource {
 
         assertSame(inner1, inner2);
     }
+
+    @Test
+    void testStatementPoolStatistics() throws Exception {
+        try (Connection conn1 = getConnection(); Connection conn2 = getConnection()) {
+            for (final Connection conn : new Connection[] { conn1, conn2 }) {
+                conn.prepareStatement("select 'a' from dual").close();
+                conn.prepareStatement("select 'a' from dual").close();
+            }
+            assertEquals(2, ds.getStatementPoolHitCount());
+            assertEquals(2, ds.getStatementPoolMissCount());
+            assertEquals(0.5, ds.getStatementPoolHitRatio());
+            assertEquals(Collections.singletonMap("select 'a' from dual", 2L), ds.getStatementPoolResidentSqls());
+            // maxOpenPreparedStatements is 2, the third statement evicts the oldest idle one
+            conn1.prepareStatement("select 'b' from dual").close();
+            conn1.prepareStatement("select 'c' from dual").close();
+            assertEquals(1, ds.getStatementPoolEvictionCount());
+            assertEquals(3, ds.getStatementPoolResidentSqls().size());
+        }
+        ds.close();
+        // Closing connections is not eviction
+        assertEquals(1, ds.getStatementPoolEvictionCount());
+        assertTrue(ds.getStatementPoolResidentSqls().isEmpty());
+    }
+
+    @Test
+    void testWarmUpSqls() throws Exception {
+        ds.setMaxTotal(1);
+        ds.setWarmUpSqls(Arrays.asList("select 'a' from dual", "", "select 'b' from dual"));
+        ds.setAccessToUnderlyingConnectionAllowed(true);
+        assertEquals(2, ds.getWarmUpSqls().size());
+        try (Connection conn = getConnection()) {
+            @SuppressWarnings("unchecked")
+            final DelegatingConnection<Connection> poolableConn =
+                (DelegatingConnection<Connection>) ((DelegatingConnection<Connection>) conn).getDelegateInternal();
+            final KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> stmtPool =
+                ((PoolingConnection) poolableConn.getDelegateInternal()).getStatementPool();
+            assertEquals(2, stmtPool.getNumIdle());
+            try (PreparedStatement stmt = conn.prepareStatement("select 'a' from dual")) {
+                assertEquals(1, stmtPool.getNumIdle());
+                assertEquals(1, stmtPool.getNumActive());
+            }
+            assertEquals(2, stmtPool.getNumIdle());
+        }
+    }
 }
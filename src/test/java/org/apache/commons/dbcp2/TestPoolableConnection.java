@@ -19,16 +19,27 @@ package org.apache.commons.dbcp2;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.management.OperationsException;
 
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +67,44 @@ public class TestPoolableConnection {
         pool.close();
     }
 
+    @Test
+    void testAbortExecutor() throws Exception {
+        final PoolableConnectionFactory factory = (PoolableConnectionFactory) pool.getFactory();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            factory.setAbortExecutor(command -> executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                command.run();
+            }));
+            pool.setMaxTotal(2);
+            pool.setMaxWait(Duration.ofMillis(100));
+            final PoolableConnection conn = pool.borrowObject();
+            // Returns at once while the connection is still open, and the pool adds a replacement
+            pool.invalidateObject(conn);
+            assertFalse(conn.getInnermostDelegate().isClosed());
+            assertEquals(1, factory.getPendingDestroyCount());
+            assertEquals(2, factory.getConnectionCount());
+            final PoolableConnection replacement = pool.borrowObject();
+            // The closing connection still counts against maxTotal
+            assertThrows(SQLException.class, pool::borrowObject);
+            release.countDown();
+            final PoolableConnection next = pool.borrowObject();
+            assertTrue(conn.getInnermostDelegate().isClosed());
+            assertEquals(0, factory.getPendingDestroyCount());
+            assertEquals(2, factory.getConnectionCount());
+            pool.returnObject(replacement);
+            pool.returnObject(next);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
     @Test
     void testClosingWrappedInDelegate() throws Exception {
         assertEquals(0, pool.getNumActive());
@@ -165,6 +214,47 @@ public class TestPoolableConnection {
         assertEquals(0, pool.getNumIdle(), "The pool should have no idle connections");
     }
 
+    @Test
+    void testHasSucceededWithin() throws Exception {
+        final Duration window = Duration.ofMinutes(1);
+        final PoolableConnection conn = pool.borrowObject();
+        assertFalse(conn.hasSucceededWithin(window));
+
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+        assertTrue(conn.hasSucceededWithin(window));
+        assertFalse(conn.hasSucceededWithin(Duration.ZERO));
+
+        // Any exception ends the grace period
+        assertThrows(SQLException.class, () -> {
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("invalid");
+            }
+        });
+        assertFalse(conn.hasSucceededWithin(window));
+
+        conn.setReadOnly(false);
+        conn.commit();
+        assertTrue(conn.hasSucceededWithin(window));
+        conn.close();
+    }
+
+    @Test
+    void testInitSqlRuntimeFailureReleasesReservation() throws Exception {
+        final List<TesterConnection> created = new ArrayList<>();
+        final PoolableConnectionFactory factory = new PoolableConnectionFactory(() -> {
+            final TesterConnection conn = new TesterConnection("userName", "password");
+            created.add(conn);
+            return conn;
+        }, null);
+        factory.setConnectionInitSql(Arrays.asList("select 'a' from dual", null));
+        assertThrows(NullPointerException.class, factory::makeObject);
+        assertEquals(1, created.size());
+        assertTrue(created.get(0).isClosed());
+        assertEquals(0, factory.getConnectionCount());
+    }
+
     @Test
     void testIsDisconnectionSqlExceptionStackOverflow() throws Exception {
         final int maxDeep = 100_000;
@@ -213,4 +303,119 @@ public class TestPoolableConnection {
 
         assertEquals(0, pool.getNumActive(), "The pool should have no active connections");
     }
+
+    @Test
+    void testReturnExecutor() throws Exception {
+        final List<Runnable> returns = new ArrayList<>();
+        ((PoolableConnectionFactory) pool.getFactory()).setReturnExecutor(returns::add);
+        final PoolableConnection conn = pool.borrowObject();
+        conn.setAutoCommit(false);
+        conn.close();
+        // Only marked closed until the return executor runs
+        assertTrue(conn.isClosed());
+        assertEquals(1, returns.size());
+        assertEquals(1, pool.getNumActive());
+        assertEquals(0, pool.getNumIdle());
+        conn.close();
+        assertEquals(1, returns.size());
+        returns.get(0).run();
+        assertEquals(0, pool.getNumActive());
+        assertEquals(1, pool.getNumIdle());
+        final PoolableConnection next = pool.borrowObject();
+        assertSame(conn, next);
+        assertFalse(next.isClosed());
+        assertTrue(next.getAutoCommit());
+        pool.returnObject(next);
+    }
+
+    @Test
+    void testReturnExecutorExecuteFailure() throws Exception {
+        ((PoolableConnectionFactory) pool.getFactory()).setReturnExecutor(command -> {
+            throw new IllegalStateException("executor failed");
+        });
+        final PoolableConnection conn = pool.borrowObject();
+        conn.close();
+        // Returned on the calling thread instead
+        assertEquals(0, pool.getNumActive());
+        assertEquals(1, pool.getNumIdle());
+    }
+
+    @Test
+    void testReturnExecutorRejectsUseAfterClose() throws Exception {
+        final List<Runnable> returns = new ArrayList<>();
+        ((PoolableConnectionFactory) pool.getFactory()).setReturnExecutor(returns::add);
+        final PoolableConnection conn = pool.borrowObject();
+        conn.setAutoCommit(false);
+        conn.close();
+        // The connection still waits for the return executor, but the caller closed it
+        assertThrows(SQLException.class, conn::createStatement);
+        assertThrows(SQLException.class, conn::commit);
+        assertThrows(SQLException.class, () -> conn.prepareStatement("SELECT 1"));
+        returns.get(0).run();
+        assertEquals(1, pool.getNumIdle());
+        assertThrows(SQLException.class, conn::createStatement);
+    }
+
+    @Test
+    void testReturnExecutorReturnFailure() throws Exception {
+        final List<Runnable> returns = new ArrayList<>();
+        final PoolableConnectionFactory factory = new PoolableConnectionFactory(
+                new DriverConnectionFactory(new TesterDriver(), "jdbc:apache:commons:testdriver", null), null);
+        factory.setReturnExecutor(returns::add);
+        try (GenericObjectPool<PoolableConnection> failingPool = new GenericObjectPool<PoolableConnection>(factory) {
+            @Override
+            public void returnObject(final PoolableConnection obj) {
+                throw new IllegalArgumentException("return failed");
+            }
+        }) {
+            factory.setPool(failingPool);
+            final PoolableConnection conn = failingPool.borrowObject();
+            conn.close();
+            returns.get(0).run();
+            // Neither usable nor stuck as active
+            assertEquals(0, failingPool.getNumActive());
+            assertEquals(1, failingPool.getDestroyedCount());
+        }
+    }
+
+    @Test
+    void testValidationSkipWindow() throws Exception {
+        final PoolableConnectionFactory factory = (PoolableConnectionFactory) pool.getFactory();
+        factory.setValidationSkipWindow(Duration.ofMinutes(1));
+        final PoolableConnection conn = pool.borrowObject();
+        final PooledObject<PoolableConnection> p = new DefaultPooledObject<>(conn);
+        try (PreparedStatement statement = conn.prepareStatement("SELECT 1");
+                ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+        }
+
+        // The tester driver returns no ResultSet for this query, which fails validation when it runs
+        factory.setValidationQuery("null");
+        assertTrue(factory.validateObject(p));
+        factory.setValidationSkipWindow(Duration.ZERO);
+        assertFalse(factory.validateObject(p));
+        conn.close();
+    }
+
+    @Test
+    void testWarmUpFailureClosesConnection() throws Exception {
+        final List<TesterConnection> created = new ArrayList<>();
+        final PoolableConnectionFactory factory = new PoolableConnectionFactory(() -> {
+            final TesterConnection conn = new TesterConnection("userName", "password") {
+                @Override
+                public void setCatalog(final String catalog) throws SQLException {
+                    throw new SQLException("setCatalog failed");
+                }
+            };
+            created.add(conn);
+            return conn;
+        }, null);
+        factory.setPoolStatements(true);
+        factory.setDefaultCatalog("catalog");
+        factory.setWarmUpSqls(Arrays.asList("select 'a' from dual"));
+        assertThrows(SQLException.class, factory::makeObject);
+        assertEquals(1, created.size());
+        assertTrue(created.get(0).isClosed());
+        assertEquals(0, factory.getConnectionCount());
+    }
 }
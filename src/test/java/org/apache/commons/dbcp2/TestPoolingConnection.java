@@ -18,9 +18,19 @@ package org.apache.commons.dbcp2;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
@@ -170,6 +180,75 @@ public class TestPoolingConnection {
         }
     }
 
+    @Test
+    void testStatementMetaDataVersion() throws Exception {
+        final Connection mockConnection = mock(Connection.class);
+        final PreparedStatement mockStatement = mock(PreparedStatement.class);
+        final ResultSet mockResultSet = mock(ResultSet.class);
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        final ParameterMetaData parameterMetaData = mock(ParameterMetaData.class);
+        final String sql = "select a from dual where b = ?";
+        when(mockConnection.prepareStatement(sql)).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockStatement.getMetaData()).thenReturn(metaData);
+        when(mockStatement.getParameterMetaData()).thenReturn(parameterMetaData);
+        when(mockResultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("A");
+        when(parameterMetaData.getParameterCount()).thenReturn(1);
+        final AtomicLong version = new AtomicLong();
+        try (PoolingConnection poolingConnection = new PoolingConnection(mockConnection)) {
+            poolingConnection.setStatementPool(new GenericKeyedObjectPool<>(poolingConnection));
+            poolingConnection.setStatementMetaDataVersion(version::get);
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement statement = poolingConnection.prepareStatement(sql);
+                        ResultSet resultSet = statement.executeQuery()) {
+                    assertEquals("A", statement.getMetaData().getColumnLabel(1));
+                    assertEquals(1, statement.getParameterMetaData().getParameterCount());
+                    assertEquals("A", resultSet.getMetaData().getColumnLabel(1));
+                }
+            }
+            verify(mockStatement, times(1)).getMetaData();
+            verify(mockStatement, times(1)).getParameterMetaData();
+            verify(mockResultSet, times(1)).getMetaData();
+            // a new version reads the metadata from the driver again
+            version.incrementAndGet();
+            try (PreparedStatement statement = poolingConnection.prepareStatement(sql)) {
+                statement.getMetaData();
+                statement.getMetaData();
+            }
+            verify(mockStatement, times(2)).getMetaData();
+        }
+    }
+
+    @Test
+    void testStatementPoolHitWhileAnotherThreadCreates() throws Exception {
+        final String sql = "select 'a' from dual";
+        try (PoolingConnection poolingConnection = new PoolingConnection(new TesterConnection("test", "test"))) {
+            final PStmtKey otherKey = poolingConnection.createKey("select 'b' from dual");
+            poolingConnection.setStatementPool(new GenericKeyedObjectPool<PStmtKey, DelegatingPreparedStatement>(poolingConnection) {
+                @Override
+                public DelegatingPreparedStatement borrowObject(final PStmtKey key) throws Exception {
+                    // another thread creates a statement on the same connection while this borrow is in progress
+                    final Thread thread = new Thread(() -> {
+                        try {
+                            poolingConnection.destroyObject(otherKey, poolingConnection.makeObject(otherKey));
+                        } catch (final SQLException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                    thread.start();
+                    thread.join();
+                    return super.borrowObject(key);
+                }
+            });
+            poolingConnection.prepareStatement(sql).close();
+            poolingConnection.prepareStatement(sql).close();
+            assertEquals(1, poolingConnection.getStatementPoolHitCount());
+            assertEquals(1, poolingConnection.getStatementPoolMissCount());
+        }
+    }
+
     /**
      * Tests DBCP-596 PoolingConnection.toString() causes StackOverflowError.
      */
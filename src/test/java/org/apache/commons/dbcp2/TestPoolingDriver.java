@@ -128,6 +128,28 @@ public class TestPoolingDriver extends TestConnectionPool {
         assertThrows(SQLException.class, () -> DriverManager.getConnection("jdbc:apache:commons:dbcp:test"));
     }
 
+    @Test
+    void testConnectFindsRegisteredPools() throws Exception {
+        final ObjectPool<? extends Connection> pool = driver.getConnectionPool("test");
+        driver.registerPool("other", pool);
+        try (Connection conn = DriverManager.getConnection("jdbc:apache:commons:dbcp:other")) {
+            assertEquals(1, pool.getNumActive());
+        }
+        // pools put straight into the map are still found
+        synchronized (PoolingDriver.pools) {
+            PoolingDriver.pools.put("direct", pool);
+        }
+        try (Connection conn = DriverManager.getConnection("jdbc:apache:commons:dbcp:direct")) {
+            assertEquals(1, pool.getNumActive());
+        }
+        synchronized (PoolingDriver.pools) {
+            PoolingDriver.pools.remove("direct");
+        }
+        assertThrows(SQLException.class, () -> DriverManager.getConnection("jdbc:apache:commons:dbcp:direct"));
+        driver.closePool("other");
+        assertThrows(SQLException.class, () -> DriverManager.getConnection("jdbc:apache:commons:dbcp:other"));
+    }
+
     @Test
     void testInvalidateConnection() throws Exception {
         final Connection conn = DriverManager.getConnection("jdbc:apache:commons:dbcp:test");
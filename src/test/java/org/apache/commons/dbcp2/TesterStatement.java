@@ -126,6 +126,10 @@ public class TesterStatement extends AbandonedTrace implements Statement {
         if ("invalid".equals(sql)) {
             throw new SQLException("invalid query");
         }
+        if (sql.startsWith("USE ")) {
+            // changes the catalog behind the back of any wrapping connection
+            connection.setCatalog(sql.substring(4));
+        }
         return executeResponse;
     }
 
@@ -34,20 +34,27 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 import java.time.Duration;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.NamingException;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
 import javax.sql.DataSource;
+import javax.sql.PooledConnection;
 
 import org.apache.commons.dbcp2.Constants;
+import org.apache.commons.dbcp2.DelegatingConnection;
 import org.apache.commons.dbcp2.DelegatingPreparedStatement;
 import org.apache.commons.dbcp2.DelegatingStatement;
 import org.apache.commons.dbcp2.PStmtKey;
 import org.apache.commons.dbcp2.PoolablePreparedStatement;
 import org.apache.commons.dbcp2.TestUtils;
+import org.apache.commons.dbcp2.TesterDriver;
 import org.apache.commons.dbcp2.datasources.SharedPoolDataSource;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -110,6 +117,25 @@ public class TestDriverAdapterCPDS {
         pcds.setPoolPreparedStatements(true);
     }
 
+    @Test
+    void testCatalogChangedThroughSql() throws Exception {
+        final PooledConnectionImpl pooledConnection = (PooledConnectionImpl) pcds.getPooledConnection();
+        try (Connection connection = pooledConnection.getConnection()) {
+            connection.setCatalog("first");
+            connection.prepareStatement("select * from dual").close();
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("USE other");
+            }
+        }
+        try (Connection connection = pooledConnection.getConnection()) {
+            // the next borrower prepares against the new catalog, not the statement of the old one
+            connection.prepareStatement("select * from dual").close();
+        }
+        assertEquals(0, pooledConnection.getStatementPoolHitCount());
+        assertEquals(2, pooledConnection.getStatementPoolMissCount());
+        pooledConnection.close();
+    }
+
     @Test
     void testClose()
             throws Exception {
@@ -168,6 +194,32 @@ public class TestDriverAdapterCPDS {
         }
     }
 
+    @Test
+    void testConnectionEventListenerRemovedWhileNotified() throws Exception {
+        final PooledConnection pooledConnection = pcds.getPooledConnection();
+        final AtomicInteger closedEvents = new AtomicInteger();
+        final ConnectionEventListener listener = new ConnectionEventListener() {
+
+            @Override
+            public void connectionClosed(final ConnectionEvent event) {
+                closedEvents.incrementAndGet();
+                // pools deregister while the event is being dispatched
+                pooledConnection.removeConnectionEventListener(this);
+            }
+
+            @Override
+            public void connectionErrorOccurred(final ConnectionEvent event) {
+                // ignore
+            }
+        };
+        pooledConnection.addConnectionEventListener(listener);
+        pooledConnection.addConnectionEventListener(listener);
+        pooledConnection.getConnection().close();
+        pooledConnection.getConnection().close();
+        assertEquals(1, closedEvents.get());
+        pooledConnection.close();
+    }
+
     /**
      * Tests https://issues.apache.org/jira/browse/DBCP-376
      */
@@ -305,6 +357,31 @@ public class TestDriverAdapterCPDS {
         pcds.getPooledConnection("u1", "p1").close();
     }
 
+    @Test
+    void testNullCatalogCached() throws Exception {
+        final AtomicInteger catalogReads = new AtomicInteger();
+        final Properties properties = new Properties();
+        properties.setProperty(Constants.KEY_USER, "foo");
+        properties.setProperty(Constants.KEY_PASSWORD, "bar");
+        final Connection physical = new TesterDriver().connect("jdbc:apache:commons:testdriver", properties);
+        final PooledConnectionImpl pooledConnection = new PooledConnectionImpl(new DelegatingConnection<Connection>(physical) {
+            @Override
+            public String getCatalog() throws SQLException {
+                catalogReads.incrementAndGet();
+                return super.getCatalog();
+            }
+        });
+        pooledConnection.setStatementPool(new GenericKeyedObjectPool<>(pooledConnection));
+        try (Connection connection = pooledConnection.getConnection()) {
+            connection.prepareStatement("select * from dual").close();
+            connection.prepareStatement("select * from dual").close();
+        }
+        // a null catalog is remembered like any other
+        assertEquals(1, catalogReads.get());
+        assertEquals(1, pooledConnection.getStatementPoolHitCount());
+        pooledConnection.close();
+    }
+
     /**
      * JIRA: DBCP-442
      */
@@ -319,6 +396,34 @@ public class TestDriverAdapterCPDS {
         }
     }
 
+    @Test
+    void testSessionStateCachedAcrossConnections() throws Exception {
+        pcds.setAccessToUnderlyingConnectionAllowed(true);
+        final PooledConnectionImpl pooledConnection = (PooledConnectionImpl) pcds.getPooledConnection();
+        try (Connection connection = pooledConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            assertNull(pooledConnection.getCachedTransactionIsolation());
+            assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+        }
+        assertEquals(Boolean.FALSE, pooledConnection.getCachedAutoCommit());
+        assertEquals(Boolean.TRUE, pooledConnection.getCachedReadOnly());
+        assertEquals(Connection.TRANSACTION_SERIALIZABLE, pooledConnection.getCachedTransactionIsolation());
+        try (Connection connection = pooledConnection.getConnection()) {
+            // a new logical connection sees the state without asking the driver
+            assertFalse(connection.getAutoCommit());
+            assertTrue(connection.isReadOnly());
+            assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+            // handing out the physical connection forgets the state
+            assertNotNull(((ConnectionImpl) connection).getInnermostDelegate());
+            assertNull(pooledConnection.getCachedAutoCommit());
+            assertNull(pooledConnection.getCachedReadOnly());
+            assertNull(pooledConnection.getCachedTransactionIsolation());
+        }
+        pooledConnection.close();
+    }
+
     @Test
     void testSetConnectionProperties() throws Exception {
         // Set user property to bad value
@@ -434,6 +539,68 @@ public class TestDriverAdapterCPDS {
         checkAfterClose(connCheck, pStmtKey);
     }
 
+    @Test
+    void testStatementPoolBypassedWhenExhausted() throws Exception {
+        pcds.setMaxPreparedStatements(1);
+        pcds.setBypassStatementPoolWhenExhausted(true);
+        final PooledConnectionImpl pooledConnection = (PooledConnectionImpl) pcds.getPooledConnection();
+        try (Connection connection = pooledConnection.getConnection()) {
+            try (PreparedStatement stmt = connection.prepareStatement("select * from dual")) {
+                assertNotNull(stmt);
+            }
+            try (PreparedStatement stmt = connection.prepareStatement("select * from dual")) {
+                // the pooled statement is in use, so this one is prepared outside the pool
+                try (PreparedStatement other = connection.prepareStatement("select * from dual")) {
+                    assertNotNull(other);
+                }
+            }
+        }
+        assertEquals(1, pooledConnection.getStatementPoolHitCount());
+        assertEquals(2, pooledConnection.getStatementPoolMissCount());
+        assertEquals(1d / 3, pooledConnection.getStatementPoolHitRatio());
+        pooledConnection.close();
+    }
+
+    @Test
+    void testStatementPoolExhausted() throws Exception {
+        pcds.setMaxPreparedStatements(1);
+        final PooledConnectionImpl pooledConnection = (PooledConnectionImpl) pcds.getPooledConnection();
+        try (Connection connection = pooledConnection.getConnection();
+                PreparedStatement stmt = connection.prepareStatement("select * from dual")) {
+            assertThrows(SQLException.class, () -> connection.prepareStatement("select * from dual"));
+        }
+        pooledConnection.close();
+    }
+
+    @Test
+    void testStatementPoolHitWhileAnotherThreadCreates() throws Exception {
+        final PooledConnectionImpl pooledConnection = (PooledConnectionImpl) pcds.getPooledConnection();
+        final PStmtKey otherKey = pooledConnection.createKey("select 'b' from dual");
+        pooledConnection.setStatementPool(new GenericKeyedObjectPool<PStmtKey, DelegatingPreparedStatement>(pooledConnection) {
+            @Override
+            public DelegatingPreparedStatement borrowObject(final PStmtKey key) throws Exception {
+                // another thread creates a statement on the same connection while this borrow is in progress
+                final Thread thread = new Thread(() -> {
+                    try {
+                        pooledConnection.destroyObject(otherKey, pooledConnection.makeObject(otherKey));
+                    } catch (final SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                thread.start();
+                thread.join();
+                return super.borrowObject(key);
+            }
+        });
+        try (Connection connection = pooledConnection.getConnection()) {
+            connection.prepareStatement("select * from dual").close();
+            connection.prepareStatement("select * from dual").close();
+        }
+        assertEquals(1, pooledConnection.getStatementPoolHitCount());
+        assertEquals(1, pooledConnection.getStatementPoolMissCount());
+        pooledConnection.close();
+    }
+
     @Test
     void testToStringWithoutConnectionProperties() throws ClassNotFoundException {
         final DriverAdapterCPDS cleanCpds = new DriverAdapterCPDS();
@@ -26,10 +26,18 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.PooledConnection;
 
 import org.apache.commons.dbcp2.cpdsadapter.DriverAdapterCPDS;
+import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -135,6 +143,48 @@ public class TestCPDSConnectionFactory {
         }
     }
 
+    /**
+     * Connections of a pool are created concurrently: each creation waits for all the others to be in progress.
+     */
+    @Test
+    void testParallelCreation() throws Exception {
+        final int parallelism = 4;
+        final CyclicBarrier barrier = new CyclicBarrier(parallelism);
+        final ConnectionPoolDataSourceProxy slowCpds = new ConnectionPoolDataSourceProxy(cpds.getDelegate()) {
+            @Override
+            public PooledConnection getPooledConnection(final String user, final String password) throws SQLException {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (final Exception e) {
+                    throw new SQLException(e);
+                }
+                return super.getPooledConnection(user, password);
+            }
+        };
+        final CPDSConnectionFactory factory = new CPDSConnectionFactory(slowCpds, null, Duration.ofMillis(-1), false, "userName",
+                "password".toCharArray());
+        try (GenericObjectPool<PooledConnectionAndInfo> pool = new GenericObjectPool<>(factory)) {
+            factory.setPool(pool);
+            pool.setMaxTotal(parallelism);
+            final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < parallelism; i++) {
+                    futures.add(executor.submit(() -> {
+                        pool.addObject();
+                        return null;
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(parallelism, pool.getNumIdle());
+        }
+    }
+
     @Test
     void testSetPasswordCharArray() {
         final CPDSConnectionFactory factory = new CPDSConnectionFactory(cpds, null, Duration.ofMillis(-1), false, "userName", "password".toCharArray());
@@ -180,4 +230,30 @@ public class TestCPDSConnectionFactory {
         }
     }
 
+    @Test
+    void testValidationSkipWindow() throws Exception {
+        final CPDSConnectionFactory factory = new CPDSConnectionFactory(cpds, "SELECT DUMMY FROM DUAL", Duration.ofMillis(-1), false, "userName",
+                "password".toCharArray());
+        final PooledObject<PooledConnectionAndInfo> p = factory.makeObject();
+        assertTrue(factory.validateObject(p));
+        p.getObject().getPooledConnection().close();
+        // validated a moment ago, so the broken connection is not checked
+        factory.setValidationSkipWindow(Duration.ofMinutes(1));
+        assertTrue(factory.validateObject(p));
+        factory.setValidationSkipWindow(Duration.ZERO);
+        assertFalse(factory.validateObject(p));
+    }
+
+    @Test
+    void testValidationSkipWindowIgnoresReturn() throws Exception {
+        final CPDSConnectionFactory factory = new CPDSConnectionFactory(cpds, "SELECT DUMMY FROM DUAL", Duration.ofMillis(-1), false, "userName",
+                "password".toCharArray());
+        factory.setValidationSkipWindow(Duration.ofMinutes(1));
+        final PooledObject<PooledConnectionAndInfo> p = factory.makeObject();
+        p.allocate();
+        p.getObject().getPooledConnection().close();
+        p.deallocate();
+        // returned a moment ago but never validated, so the broken connection is checked
+        assertFalse(factory.validateObject(p));
+    }
 }
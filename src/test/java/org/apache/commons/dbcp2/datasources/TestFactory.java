@@ -17,10 +17,15 @@
 
 package org.apache.commons.dbcp2.datasources;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
 import java.util.Hashtable;
 
+import javax.naming.BinaryRefAddr;
 import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -29,6 +34,7 @@ import javax.naming.Reference;
 import javax.naming.StringRefAddr;
 import javax.naming.spi.ObjectFactory;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -89,4 +95,22 @@ public class TestFactory {
         final Object obj2 = factory.getObjectInstance(refObj, name2, context, env);
         assertNotNull(obj2);
     }
+
+    @Test
+    void testPerUserWeight() throws Exception {
+        final HashMap<String, Integer> weights = new HashMap<>();
+        weights.put("u1", 3);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(weights);
+        }
+        final Reference refObj = new Reference(SharedPoolDataSource.class.getName());
+        refObj.add(new StringRefAddr("fairScheduling", "true"));
+        refObj.add(new BinaryRefAddr("perUserWeight", bytes.toByteArray()));
+        try (SharedPoolDataSource ds = (SharedPoolDataSource) new SharedPoolDataSourceFactory().getObjectInstance(refObj,
+                new CompositeName("weightedDB"), new InitialContext(), new Hashtable<>())) {
+            assertEquals(3, ds.getPerUserWeight("u1"));
+            assertEquals(1, ds.getPerUserWeight("u2"));
+        }
+    }
 }
@@ -36,8 +36,14 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.sql.DataSource;
+import javax.sql.PooledConnection;
 
 import org.apache.commons.dbcp2.TestConnectionPool;
 import org.apache.commons.dbcp2.TesterDriver;
@@ -168,6 +174,38 @@ public class TestPerUserPoolDataSource extends TestConnectionPool {
         }
     }
 
+    /**
+     * Concurrent first requests for a user must share a single pool.
+     */
+    @Test
+    void testConcurrentPoolRegistration() throws Exception {
+        final PerUserPoolDataSource tds = (PerUserPoolDataSource) ds;
+        final int threads = getMaxTotal();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    return ds.getConnection(user, "bar");
+                });
+            }
+            start.countDown();
+            final Connection[] connections = new Connection[threads];
+            for (int i = 0; i < threads; i++) {
+                connections[i] = (Connection) futures[i].get();
+            }
+            assertEquals(threads, tds.getNumActive(user));
+            for (final Connection connection : connections) {
+                connection.close();
+            }
+            assertEquals(0, tds.getNumActive(user));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Tests https://issues.apache.org/jira/browse/DBCP-597
      */
@@ -293,6 +331,30 @@ public class TestPerUserPoolDataSource extends TestConnectionPool {
         }
     }
 
+    @Test
+    void testGlobalMaxTotal() throws Exception {
+        final PerUserPoolDataSource puds = (PerUserPoolDataSource) ds;
+        puds.setGlobalMaxTotal(3);
+        puds.setDefaultMaxWait(Duration.ofMillis(100));
+        final Connection c1 = puds.getConnection("u1", "p1");
+        final Connection c2 = puds.getConnection("u1", "p1");
+        final Connection c3 = puds.getConnection("u1", "p1");
+        assertEquals(0, puds.getNumGlobalAvailable());
+        // no idle connection to reclaim
+        assertThrows(SQLException.class, () -> puds.getConnection("u2", "p2"));
+        c1.close();
+        assertEquals(1, puds.getNumIdle("u1"));
+        // u1 holds more than its share, its idle connection is closed for u2
+        try (Connection c4 = puds.getConnection("u2", "p2")) {
+            assertEquals(0, puds.getNumIdle("u1"));
+            assertEquals(1, puds.getNumActive("u2"));
+            assertEquals(0, puds.getNumGlobalAvailable());
+        }
+        c2.close();
+        c3.close();
+        assertEquals(3, puds.getNumIdle("u1") + puds.getNumIdle("u2") + puds.getNumGlobalAvailable());
+    }
+
     /**
      * Switching 'u1 to 'u2' and 'p1' to 'p2' will exhibit the bug detailed in https://issues.apache.org/bugzilla/show_bug.cgi?id=18905
      */
@@ -331,6 +393,27 @@ public class TestPerUserPoolDataSource extends TestConnectionPool {
         }
     }
 
+    @Test
+    void testMaxPoolIdleDuration() throws Exception {
+        final PerUserPoolDataSource puds = (PerUserPoolDataSource) ds;
+        puds.setMaxPoolIdleDuration(Duration.ofMillis(50));
+        puds.getConnection("u1", "p1").close();
+        assertEquals(1, puds.getNumIdle("u1"));
+        try (Connection c = puds.getConnection("u2", "p2")) {
+            final long deadline = System.currentTimeMillis() + 5_000;
+            while (puds.getNumIdle("u1") > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            // the unused pool is closed, the one with an active connection is kept
+            assertEquals(0, puds.getNumIdle("u1"));
+            assertEquals(1, puds.getNumActive("u2"));
+        }
+        // the pool is created again on demand
+        try (Connection c = puds.getConnection("u1", "p1")) {
+            assertEquals(1, puds.getNumActive("u1"));
+        }
+    }
+
     /**
      * Verify that defaultMaxWaitMillis = 0 means immediate failure when pool is exhausted.
      */
@@ -1527,6 +1610,35 @@ public class TestPerUserPoolDataSource extends TestConnectionPool {
 
     // -- per user time between eviction runs millis
 
+    @Test
+    void testReapedPoolIsRegisteredAgain() throws Exception {
+        final AtomicInteger physicalConnections = new AtomicInteger();
+        final DriverAdapterCPDS pcds = new DriverAdapterCPDS() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public PooledConnection getPooledConnection(final String pooledUserName, final String pooledUserPassword) throws SQLException {
+                physicalConnections.incrementAndGet();
+                return super.getPooledConnection(pooledUserName, pooledUserPassword);
+            }
+        };
+        pcds.setDriver("org.apache.commons.dbcp2.TesterDriver");
+        pcds.setUrl("jdbc:apache:commons:testdriver");
+        try (PerUserPoolDataSource puds = new PerUserPoolDataSource()) {
+            puds.setConnectionPoolDataSource(pcds);
+            puds.getConnection("u1", "p1").close();
+            // the pool is closed by the reaper after getPooledConnectionAndInfo looked it up
+            puds.getPool("u1").close();
+            final int before = physicalConnections.get();
+            try (Connection c = puds.getConnection("u1", "p1")) {
+                assertNotNull(c);
+                assertEquals(1, puds.getNumActive("u1"));
+            }
+            // only the new pool's registration check and connection, the closed pool is not taken for a password change
+            assertEquals(before + 2, physicalConnections.get());
+        }
+    }
+
     @Test
     void testSerialization() throws Exception {
         // make sure the pool has initialized
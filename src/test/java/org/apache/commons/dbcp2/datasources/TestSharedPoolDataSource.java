@@ -20,6 +20,7 @@ package org.apache.commons.dbcp2.datasources;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,7 +33,10 @@ import java.sql.Statement;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.naming.NamingException;
+import javax.sql.ConnectionPoolDataSource;
 import javax.sql.DataSource;
 
 import org.apache.commons.dbcp2.DelegatingStatement;
@@ -351,6 +355,71 @@ public class TestSharedPoolDataSource extends TestConnectionPool {
         }
     }
 
+    /**
+     * Borrowers presenting a new password at the same time verify it only once.
+     */
+    @Test
+    void testChangePasswordConcurrently() throws Exception {
+        final AtomicInteger tests = new AtomicInteger();
+        try (SharedPoolDataSource tds = new SharedPoolDataSource() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected ConnectionPoolDataSource testCPDS(final String userName, final String userPassword)
+                    throws NamingException, SQLException {
+                tests.incrementAndGet();
+                return super.testCPDS(userName, userPassword);
+            }
+        }) {
+            tds.setConnectionPoolDataSource(pcds);
+            tds.setMaxTotal(getMaxTotal());
+            tds.setDefaultMaxWait(getMaxWaitDuration());
+            final Connection[] connections = new Connection[3];
+            for (int i = 0; i < connections.length; i++) {
+                connections[i] = tds.getConnection("foo", "bar");
+            }
+            for (final Connection connection : connections) {
+                connection.close();
+            }
+            // registering the pool tested the data source once
+            tests.set(0);
+            TesterDriver.addUser("foo", "bay");
+            try {
+                final Thread[] threads = new Thread[connections.length];
+                for (int i = 0; i < threads.length; i++) {
+                    final int index = i;
+                    threads[i] = new Thread(() -> {
+                        try {
+                            connections[index] = tds.getConnection("foo", "bay");
+                        } catch (final SQLException e) {
+                            connections[index] = null;
+                        }
+                    });
+                    threads[i].start();
+                }
+                for (final Thread thread : threads) {
+                    thread.join(10_000);
+                }
+                assertEquals(1, tests.get());
+                for (final Connection connection : connections) {
+                    assertNotNull(connection);
+                    connection.close();
+                }
+                // No idle connection carries the old password
+                assertEquals(connections.length, tds.getNumIdle());
+                for (int i = 0; i < connections.length; i++) {
+                    connections[i] = tds.getConnection("foo", "bay");
+                }
+                assertEquals(1, tests.get());
+                for (final Connection connection : connections) {
+                    connection.close();
+                }
+            } finally {
+                TesterDriver.addUser("foo", "bar");
+            }
+        }
+    }
+
     /**
      * Tests pool close. Illustrates BZ 37359.
      *
@@ -365,6 +434,33 @@ public class TestSharedPoolDataSource extends TestConnectionPool {
         tds.close();
     }
 
+    @Test
+    void testCloseReleasesFairSchedulingWaiters() throws Exception {
+        final SharedPoolDataSource tds = (SharedPoolDataSource) ds;
+        tds.setMaxTotal(1);
+        tds.setDefaultMaxWait(Duration.ofMillis(-1));
+        tds.setFairScheduling(true);
+        try (Connection c = tds.getConnection("u1", "p1")) {
+            final SQLException[] failure = new SQLException[1];
+            final Thread thread = new Thread(() -> {
+                try {
+                    tds.getConnection("u2", "p2").close();
+                } catch (final SQLException e) {
+                    failure[0] = e;
+                }
+            });
+            thread.start();
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            // the borrower waits indefinitely for a slot until the data source is closed
+            tds.close();
+            thread.join(10_000);
+            assertFalse(thread.isAlive());
+            assertNotNull(failure[0]);
+        }
+    }
+
     @Override
     @Test
     public void testClosing() throws Exception {
@@ -469,6 +565,53 @@ public class TestSharedPoolDataSource extends TestConnectionPool {
         }
     }
 
+    @Test
+    void testFairScheduling() throws Exception {
+        final SharedPoolDataSource tds = (SharedPoolDataSource) ds;
+        tds.setMaxTotal(2);
+        tds.setDefaultMaxWait(Duration.ofSeconds(10));
+        tds.setFairScheduling(true);
+        tds.setMinTotalPerUser(1);
+        final Connection c1 = tds.getConnection("u1", "p1");
+        final Connection c2 = tds.getConnection("u1", "p1");
+        // u1 queues two more borrowers before u2 arrives
+        final String[][] credentials = { { "u1", "p1" }, { "u1", "p1" }, { "u2", "p2" } };
+        final Connection[] borrowed = new Connection[credentials.length];
+        final Thread[] threads = new Thread[credentials.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    borrowed[index] = tds.getConnection(credentials[index][0], credentials[index][1]);
+                } catch (final SQLException e) {
+                    // leaves the slot empty
+                }
+            });
+            threads[i].start();
+            while (threads[i].getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(1);
+            }
+        }
+        // u2 holds nothing, the first freed connection goes to it
+        c1.close();
+        threads[2].join(10_000);
+        assertNotNull(borrowed[2]);
+        assertNull(borrowed[0]);
+        assertNull(borrowed[1]);
+        assertTrue(tds.getMaxBorrowWaitDuration("u2").compareTo(Duration.ZERO) > 0);
+        assertEquals(Duration.ZERO, tds.getMaxBorrowWaitDuration("u3"));
+        c2.close();
+        borrowed[2].close();
+        for (int i = 0; i < 2; i++) {
+            threads[i].join(10_000);
+            assertNotNull(borrowed[i]);
+            borrowed[i].close();
+        }
+        assertEquals(0, tds.getNumActive());
+        // users holding and waiting for nothing are no longer tracked
+        assertEquals(Duration.ZERO, tds.getMaxBorrowWaitDuration("u2"));
+    }
+
     /**
      * Starting with a successful connection, then incorrect password, then correct password for same user illustrates JIRA: DBCP-245
      */
@@ -25,7 +25,14 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.transaction.TransactionManager;
 
@@ -108,6 +115,50 @@ public class TestPoolableManagedConnection {
         assertEquals(0, pool.getNumActive());
     }
 
+    /**
+     * Connections of a pool are created concurrently: each creation waits for all the others to be in progress.
+     */
+    @Test
+    void testParallelCreation() throws Exception {
+        final int parallelism = 4;
+        final CyclicBarrier barrier = new CyclicBarrier(parallelism);
+        final Properties properties = new Properties();
+        properties.setProperty(Constants.KEY_USER, "userName");
+        properties.setProperty(Constants.KEY_PASSWORD, "password");
+        final ConnectionFactory driverConnectionFactory = new DriverConnectionFactory(new TesterDriver(), "jdbc:apache:commons:testdriver",
+                properties);
+        final ConnectionFactory slowConnectionFactory = () -> {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                throw new SQLException(e);
+            }
+            return driverConnectionFactory.createConnection();
+        };
+        final PoolableManagedConnectionFactory factory = new PoolableManagedConnectionFactory(
+                new LocalXAConnectionFactory(transactionManager, slowConnectionFactory), null);
+        try (GenericObjectPool<PoolableConnection> parallelPool = new GenericObjectPool<>(factory)) {
+            factory.setPool(parallelPool);
+            parallelPool.setMaxTotal(parallelism);
+            final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < parallelism; i++) {
+                    futures.add(executor.submit(() -> {
+                        parallelPool.addObject();
+                        return null;
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(parallelism, parallelPool.getNumIdle());
+        }
+    }
+
     @Test
     void testPoolableConnection() throws Exception {
         // create a connection